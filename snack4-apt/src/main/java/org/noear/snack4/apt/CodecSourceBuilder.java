@@ -0,0 +1,259 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.apt;
+
+import java.util.List;
+
+/**
+ * 编解码器源码构建器
+ *
+ * <p>公开（或包内可见）字段直接访问；私有字段通过静态的 MethodHandle（invokeExact）访问</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+class CodecSourceBuilder {
+    private final String packageName;
+    private final String codecName;
+    private final String beanName;
+    private final List<PropertyInfo> properties;
+    private final StringBuilder buf = new StringBuilder();
+
+    CodecSourceBuilder(String packageName, String codecName, String beanName, List<PropertyInfo> properties) {
+        this.packageName = packageName;
+        this.codecName = codecName;
+        this.beanName = beanName;
+        this.properties = properties;
+    }
+
+    String build() {
+        if (packageName.isEmpty() == false) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+
+        line(0, "/**");
+        line(0, " * Generated by snack4-apt, do not edit.");
+        line(0, " */");
+        line(0, "@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        line(0, "public final class " + codecName + " implements org.noear.snack4.codec.BeanCodec<" + beanName + "> {");
+
+        buildFields();
+        buildStaticInit();
+        buildType();
+        buildCreate();
+        buildEncode();
+        buildDecode();
+
+        line(0, "}");
+        return buf.toString();
+    }
+
+    private void buildFields() {
+        for (PropertyInfo p : properties) {
+            if (p.encode == false && p.decode == false) {
+                continue;
+            }
+
+            line(1, "private static final java.lang.reflect.Type T_" + p.name + ";");
+
+            if (p.isPrivate) {
+                line(1, "private static final java.lang.invoke.MethodHandle G_" + p.name + ";");
+                line(1, "private static final java.lang.invoke.MethodHandle S_" + p.name + ";");
+            }
+        }
+
+        line(0, "");
+    }
+
+    private void buildStaticInit() {
+        line(1, "static {");
+        line(2, "try {");
+        line(3, "java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.lookup();");
+        line(3, "java.lang.reflect.Field field;");
+
+        for (PropertyInfo p : properties) {
+            if (p.encode == false && p.decode == false) {
+                continue;
+            }
+
+            if (p.isGeneric || p.isPrivate) {
+                line(3, "field = " + beanName + ".class.getDeclaredField(\"" + p.name + "\");");
+            }
+
+            if (p.isGeneric) {
+                line(3, "T_" + p.name + " = field.getGenericType();");
+            } else {
+                line(3, "T_" + p.name + " = " + p.typeName + ".class;");
+            }
+
+            if (p.isPrivate) {
+                line(3, "field.setAccessible(true);");
+                line(3, "G_" + p.name + " = lookup.unreflectGetter(field);");
+                line(3, "S_" + p.name + " = lookup.unreflectSetter(field);");
+            }
+        }
+
+        line(2, "} catch (Exception e) {");
+        line(3, "throw new ExceptionInInitializerError(e);");
+        line(2, "}");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void buildType() {
+        line(1, "@Override");
+        line(1, "public Class<" + beanName + "> getType() {");
+        line(2, "return " + beanName + ".class;");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void buildCreate() {
+        line(1, "@Override");
+        line(1, "public " + beanName + " create() {");
+        line(2, "return new " + beanName + "();");
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void buildEncode() {
+        line(1, "@Override");
+        line(1, "public void encode(org.noear.snack4.codec.BeanEncoder encoder, " + beanName + " bean, org.noear.snack4.ONode target) throws Throwable {");
+
+        for (PropertyInfo p : properties) {
+            if (p.encode) {
+                line(2, "encoder.encodeProperty(target, \"" + escape(p.alias) + "\", " + getExpr(p) + ", T_" + p.name + ");");
+            }
+        }
+
+        line(1, "}");
+        line(0, "");
+    }
+
+    private void buildDecode() {
+        line(1, "@Override");
+        line(1, "public void decode(org.noear.snack4.codec.BeanDecoder decoder, org.noear.snack4.ONode node, " + beanName + " target) throws Throwable {");
+        line(2, "org.noear.snack4.ONode n;");
+        line(2, "Object v;");
+
+        for (PropertyInfo p : properties) {
+            if (p.decode == false) {
+                continue;
+            }
+
+            line(0, "");
+            line(2, "n = node.get(\"" + escape(p.alias) + "\");");
+            line(2, "if (n != null && n.isNull() == false) {");
+            line(3, "v = decoder.decodeProperty(n, T_" + p.name + ", " + (p.isPrimitive ? "null" : getExpr(p, "target")) + ");");
+
+            if (p.isPrimitive) {
+                line(3, "if (v != null) {");
+                line(4, setExpr(p, unboxExpr(p.typeName)) + ";");
+                line(3, "}");
+            } else {
+                line(3, setExpr(p, "(" + p.typeName + ") v") + ";");
+            }
+
+            line(2, "}");
+        }
+
+        line(1, "}");
+    }
+
+    private String getExpr(PropertyInfo p) {
+        return getExpr(p, "bean");
+    }
+
+    private String getExpr(PropertyInfo p, String bean) {
+        if (p.isPrivate) {
+            return "(" + p.typeName + ") G_" + p.name + ".invokeExact(" + bean + ")";
+        } else {
+            return bean + "." + p.name;
+        }
+    }
+
+    private String setExpr(PropertyInfo p, String valueExpr) {
+        if (p.isPrivate) {
+            return "S_" + p.name + ".invokeExact(target, (" + p.typeName + ") " + valueExpr + ")";
+        } else {
+            return "target." + p.name + " = " + valueExpr;
+        }
+    }
+
+    private static String unboxExpr(String primitive) {
+        switch (primitive) {
+            case "boolean":
+                return "(Boolean) v";
+            case "char":
+                return "(Character) v";
+            default:
+                return "((Number) v)." + primitive + "Value()";
+        }
+    }
+
+    private static String escape(String str) {
+        StringBuilder tmp = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                tmp.append('\\').append(c);
+            } else if (c < 0x20) {
+                //用八进制转义（unicode 转义会先于词法分析处理）
+                tmp.append(String.format("\\%03o", (int) c));
+            } else {
+                tmp.append(c);
+            }
+        }
+        return tmp.toString();
+    }
+
+    private void line(int indent, String code) {
+        if (code.isEmpty() == false) {
+            for (int i = 0; i < indent; i++) {
+                buf.append("    ");
+            }
+            buf.append(code);
+        }
+        buf.append('\n');
+    }
+
+    /**
+     * 属性信息
+     */
+    static class PropertyInfo {
+        final String name;
+        final String alias;
+        final String typeName; //擦除后的类型名
+        final boolean isPrimitive;
+        final boolean isGeneric;
+        final boolean isPrivate;
+        final boolean encode;
+        final boolean decode;
+
+        PropertyInfo(String name, String alias, String typeName, boolean isPrimitive, boolean isGeneric,
+                     boolean isPrivate, boolean encode, boolean decode) {
+            this.name = name;
+            this.alias = alias;
+            this.typeName = typeName;
+            this.isPrimitive = isPrimitive;
+            this.isGeneric = isGeneric;
+            this.isPrivate = isPrivate;
+            this.encode = encode;
+            this.decode = decode;
+        }
+    }
+}
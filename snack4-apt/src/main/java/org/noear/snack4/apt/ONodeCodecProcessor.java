@@ -0,0 +1,336 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.apt;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 节点编解码器生成处理器（为有 @ONodeCodegen 或类上有 @ONodeAttr 的类，生成 BeanCodec，并通过 ServiceLoader 注册）
+ *
+ * <p>只生成可以确定与运行时（字段模式）结果一致的类：非泛型、无父类、只有无参构造器、没有 final 字段，
+ * 且属性的 @ONodeAttr 只使用了 name、ignore、encode、decode 等。其它的类跳过（有 @ONodeCodegen 的给出警告）</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+@SupportedAnnotationTypes({ONodeCodecProcessor.ANNO_CODEGEN, ONodeCodecProcessor.ANNO_ATTR})
+public class ONodeCodecProcessor extends AbstractProcessor {
+    static final String ANNO_CODEGEN = "org.noear.snack4.annotation.ONodeCodegen";
+    static final String ANNO_ATTR = "org.noear.snack4.annotation.ONodeAttr";
+    static final String ANNO_CREATOR = "org.noear.snack4.annotation.ONodeCreator";
+    static final String SERVICE_FILE = "META-INF/services/org.noear.snack4.codec.BeanCodec";
+
+    //类上 @ONodeAttr 允许的成员（只影响 JsonSchema 等）
+    private static final Set<String> CLASS_ATTR_ALLOWED = new HashSet<>(Arrays.asList(
+            "name", "title", "description", "required", "defaultValue"));
+    //字段上 @ONodeAttr 允许的成员
+    private static final Set<String> FIELD_ATTR_ALLOWED = new HashSet<>(Arrays.asList(
+            "name", "title", "description", "required", "defaultValue", "ignore", "encode", "decode"));
+
+    private final Set<String> codecNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (TypeElement anno : annotations) {
+            for (Element e : roundEnv.getElementsAnnotatedWith(anno)) {
+                if (e.getKind() == ElementKind.CLASS) {
+                    types.add((TypeElement) e);
+                }
+            }
+        }
+
+        for (TypeElement type : types) {
+            boolean marked = getAnnotation(type, ANNO_CODEGEN) != null;
+            List<CodecSourceBuilder.PropertyInfo> properties = new ArrayList<>();
+            String reason = checkType(type, properties);
+
+            if (reason != null) {
+                if (marked) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Skip generating BeanCodec (" + reason + "): " + type.getQualifiedName(), type);
+                }
+                continue;
+            }
+
+            try {
+                writeCodec(type, properties);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to generate BeanCodec: " + e.getMessage(), type);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 检查类型（收集属性）
+     *
+     * @return 不能生成的原因；可以生成时返回 null
+     */
+    private String checkType(TypeElement type, List<CodecSourceBuilder.PropertyInfo> properties) {
+        Set<Modifier> mods = type.getModifiers();
+
+        if (mods.contains(Modifier.ABSTRACT)) {
+            return "abstract class";
+        }
+
+        if (type.getTypeParameters().isEmpty() == false) {
+            return "generic class";
+        }
+
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return "private class";
+            }
+
+            if (e != type && e.getKind() != ElementKind.CLASS && e.getKind() != ElementKind.INTERFACE) {
+                return "unsupported enclosing type";
+            }
+        }
+
+        if (type.getNestingKind() == NestingKind.MEMBER && mods.contains(Modifier.STATIC) == false) {
+            return "inner class";
+        }
+
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return "local class";
+        }
+
+        TypeMirror superType = type.getSuperclass();
+        if (superType.getKind() != TypeKind.DECLARED ||
+                ((TypeElement) ((DeclaredType) superType).asElement()).getQualifiedName().contentEquals("java.lang.Object") == false) {
+            return "has superclass";
+        }
+
+        if (checkAttr(getAnnotation(type, ANNO_ATTR), CLASS_ATTR_ALLOWED) == false) {
+            return "unsupported class @ONodeAttr";
+        }
+
+        //只有无参构造器（与运行时选择的构造器一致）
+        List<ExecutableElement> constrs = ElementFilter.constructorsIn(type.getEnclosedElements());
+        if (constrs.size() != 1
+                || constrs.get(0).getParameters().isEmpty() == false
+                || constrs.get(0).getModifiers().contains(Modifier.PRIVATE)) {
+            return "requires only one non-private no-arg constructor";
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (getAnnotation(method, ANNO_CREATOR) != null) {
+                return "has @ONodeCreator";
+            }
+        }
+
+        if (getAnnotation(constrs.get(0), ANNO_CREATOR) != null) {
+            return "has @ONodeCreator";
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> fmods = field.getModifiers();
+
+            if (fmods.contains(Modifier.STATIC) || fmods.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+
+            if (fmods.contains(Modifier.FINAL)) {
+                return "has final field: " + field.getSimpleName();
+            }
+
+            AnnotationMirror attr = getAnnotation(field, ANNO_ATTR);
+            if (checkAttr(attr, FIELD_ATTR_ALLOWED) == false) {
+                return "unsupported @ONodeAttr on field: " + field.getSimpleName();
+            }
+
+            String name = field.getSimpleName().toString();
+            String alias = getAttrString(attr, "name");
+            boolean encode = true;
+            boolean decode = true;
+
+            if (getAttrBoolean(attr, "ignore", false)) {
+                encode = false;
+                decode = false;
+            } else {
+                encode = getAttrBoolean(attr, "encode", true);
+                decode = getAttrBoolean(attr, "decode", true);
+            }
+
+            TypeMirror fieldType = field.asType();
+
+            properties.add(new CodecSourceBuilder.PropertyInfo(
+                    name,
+                    (alias == null || alias.isEmpty()) ? name : alias,
+                    processingEnv.getTypeUtils().erasure(fieldType).toString(),
+                    fieldType.getKind().isPrimitive(),
+                    isGeneric(fieldType),
+                    fmods.contains(Modifier.PRIVATE),
+                    encode,
+                    decode));
+        }
+
+        return null;
+    }
+
+    private void writeCodec(TypeElement type, List<CodecSourceBuilder.PropertyInfo> properties) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1));
+        String codecName = simpleName.replace('$', '_') + "_ONodeCodec";
+        String codecFullName = (packageName.isEmpty() ? codecName : packageName + "." + codecName);
+
+        String source = new CodecSourceBuilder(packageName, codecName, type.getQualifiedName().toString(), properties)
+                .build();
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(codecFullName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source);
+        }
+
+        codecNames.add(codecFullName);
+    }
+
+    /**
+     * 书写 ServiceLoader 注册文件（合并已有的，便于增量编译）
+     */
+    private void writeServiceFile() {
+        if (codecNames.isEmpty()) {
+            return;
+        }
+
+        Filer filer = processingEnv.getFiler();
+        Set<String> names = new TreeSet<>(codecNames);
+
+        try {
+            FileObject old = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(old.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() == false && line.startsWith("#") == false) {
+                        names.add(line);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            //没有已有的文件
+        }
+
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String name : names) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /// ////////////
+
+    private static AnnotationMirror getAnnotation(Element element, String annoName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annoType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annoType.getQualifiedName().contentEquals(annoName)) {
+                return mirror;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 检查注解只使用了允许的成员
+     */
+    private static boolean checkAttr(AnnotationMirror attr, Set<String> allowed) {
+        if (attr == null) {
+            return true;
+        }
+
+        for (ExecutableElement member : attr.getElementValues().keySet()) {
+            if (allowed.contains(member.getSimpleName().toString()) == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Object getAttrValue(AnnotationMirror attr, String memberName) {
+        if (attr == null) {
+            return null;
+        }
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : attr.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(memberName)) {
+                return entry.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+
+    private static String getAttrString(AnnotationMirror attr, String memberName) {
+        Object val = getAttrValue(attr, memberName);
+        return val == null ? null : val.toString();
+    }
+
+    private static boolean getAttrBoolean(AnnotationMirror attr, String memberName, boolean def) {
+        Object val = getAttrValue(attr, memberName);
+        return val == null ? def : (Boolean) val;
+    }
+
+    /**
+     * 是否为泛型（有类型参数，需要运行时获取 Type）
+     */
+    private static boolean isGeneric(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isGeneric(((javax.lang.model.type.ArrayType) type).getComponentType());
+        }
+
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((DeclaredType) type).getTypeArguments().isEmpty() == false;
+        }
+
+        return false;
+    }
+}
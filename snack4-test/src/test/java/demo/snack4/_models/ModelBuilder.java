@@ -0,0 +1,37 @@
+package demo.snack4._models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * 编解码测试共用的模型构建
+ *
+ * @author noear 2026/10/17 created
+ */
+public class ModelBuilder {
+    public static UserModel buildUser(int id, String name) {
+        UserModel user = new UserModel();
+        user.id = id;
+        user.name = name;
+        return user;
+    }
+
+    /**
+     * 订单（含用户列表、子订单，及指向自己的循环引用）
+     */
+    public static OrderModel buildOrder() {
+        OrderModel sub = new OrderModel();
+        sub.order_id = 2;
+        sub.order_num = "s2";
+
+        OrderModel order = new OrderModel();
+        order.order_id = 1;
+        order.order_num = "s1";
+        order.order_time = new Date(0);
+        order.user = buildUser(1, "noear");
+        order.userList = new ArrayList<>(Arrays.asList(buildUser(2, "a"), null, buildUser(3, "中文")));
+        order.orderList = new ArrayList<>(Arrays.asList(sub, order));
+        return order;
+    }
+}
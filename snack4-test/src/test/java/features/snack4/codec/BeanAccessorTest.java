@@ -0,0 +1,156 @@
+package features.snack4.codec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.eggg.ClassEggg;
+import org.noear.eggg.PropertyEggg;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.codec.util.BeanAccessor;
+import org.noear.snack4.codec.util.EgggUtil;
+import org.noear.snack4.codec.util.PropertyAccessor;
+
+/**
+ * 生成的属性访问器测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class BeanAccessorTest {
+    public static class AccessModel {
+        public int id;
+        private long score;
+        private double rate;
+        private String name;
+        public final String code = "c1";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = "n:" + name;
+        }
+    }
+
+    static class HiddenModel {
+        private int id;
+
+        private HiddenModel() {
+        }
+
+        private int getId() {
+            return id;
+        }
+    }
+
+    public static class OtherModel {
+        public int id;
+    }
+
+    private PropertyEggg property(Class<?> clz, String name) {
+        return EgggUtil.getClassEggg(clz).getPropertyEgggByAlias(name);
+    }
+
+    @Test
+    public void case_field() throws Throwable {
+        ClassEggg classEggg = EgggUtil.getClassEggg(AccessModel.class);
+        BeanAccessor beanAccessor = BeanAccessor.from(classEggg);
+        Assertions.assertSame(beanAccessor, BeanAccessor.from(classEggg));
+
+        AccessModel bean = (AccessModel) beanAccessor.newInstance(classEggg.getCreator());
+
+        PropertyAccessor id = beanAccessor.get(property(AccessModel.class, "id").getFieldEggg());
+        PropertyAccessor score = beanAccessor.get(property(AccessModel.class, "score").getFieldEggg());
+        PropertyAccessor rate = beanAccessor.get(property(AccessModel.class, "rate").getFieldEggg());
+        Assertions.assertTrue(id.isGenerated());
+        Assertions.assertTrue(score.isGenerated());
+
+        id.setValue(bean, 1);
+        score.setLong(bean, 2L);
+        rate.setDouble(bean, 1.5D);
+        Assertions.assertEquals(1, bean.id);
+        Assertions.assertEquals(1, id.getInt(bean));
+        Assertions.assertEquals(2L, score.getValue(bean));
+        Assertions.assertEquals(1.5D, rate.getDouble(bean));
+
+        //需要转换或为 null 的，与反射访问的行为一致
+        id.setValue(bean, null);
+        Assertions.assertEquals(1, bean.id);
+        score.setValue(bean, 3);
+        Assertions.assertEquals(3L, bean.score);
+
+        //非原始类型的字段，仍用反射
+        PropertyAccessor code = beanAccessor.get(property(AccessModel.class, "code").getFieldEggg());
+        Assertions.assertFalse(code.isGenerated());
+        Assertions.assertEquals("c1", code.getValue(bean));
+
+        PropertyAccessor name = beanAccessor.get(property(AccessModel.class, "name").getFieldEggg());
+        Assertions.assertFalse(name.isGenerated());
+        name.setValue(bean, "x");
+        Assertions.assertEquals("x", name.getValue(bean));
+    }
+
+    @Test
+    public void case_method() throws Throwable {
+        BeanAccessor beanAccessor = BeanAccessor.from(EgggUtil.getClassEggg(AccessModel.class));
+        AccessModel bean = new AccessModel();
+
+        PropertyAccessor setter = beanAccessor.get(property(AccessModel.class, "name").getSetterEggg());
+        PropertyAccessor getter = beanAccessor.get(property(AccessModel.class, "name").getGetterEggg());
+        Assertions.assertTrue(setter.isGenerated());
+        Assertions.assertTrue(getter.isGenerated());
+
+        setter.setValue(bean, "a");
+        Assertions.assertEquals("n:a", getter.getValue(bean));
+
+        ClassEggg classEggg = EgggUtil.getClassEggg(HiddenModel.class);
+        HiddenModel hidden = (HiddenModel) BeanAccessor.from(classEggg).newInstance(classEggg.getCreator());
+        PropertyAccessor id = BeanAccessor.from(classEggg).get(property(HiddenModel.class, "id").getFieldEggg());
+        id.setInt(hidden, 5);
+        Assertions.assertEquals(5, hidden.getId());
+    }
+
+    @Test
+    public void case_disabled() throws Throwable {
+        BeanAccessor.setGenerateEnabled(false);
+
+        try {
+            ClassEggg classEggg = EgggUtil.getClassEggg(OtherModel.class);
+            PropertyAccessor id = BeanAccessor.from(classEggg).get(property(OtherModel.class, "id").getFieldEggg());
+            Assertions.assertFalse(id.isGenerated());
+
+            OtherModel other = new OtherModel();
+            id.setInt(other, 3);
+            Assertions.assertEquals(3, id.getInt(other));
+        } finally {
+            BeanAccessor.setGenerateEnabled(true);
+        }
+    }
+
+    @Test
+    public void case_codec() {
+        AccessModel bean = ONode.deserialize("{id:1,score:2,rate:0.5,name:'a'}", AccessModel.class);
+        Assertions.assertEquals(1, bean.id);
+        Assertions.assertEquals(2L, bean.score);
+        Assertions.assertEquals("a", bean.name);
+
+        Assertions.assertEquals("{\"id\":1,\"score\":2,\"rate\":0.5,\"name\":\"a\",\"code\":\"c1\"}", ONode.serialize(bean));
+    }
+
+    @Test
+    public void case_codecPrimitive() {
+        //原始类型属性直接读写（转换规则不变）
+        AccessModel bean = ONode.deserialize("{id:1.5,score:2.7,rate:3}", AccessModel.class);
+        Assertions.assertEquals(1, bean.id);
+        Assertions.assertEquals(2L, bean.score);
+        Assertions.assertEquals(3D, bean.rate);
+        Assertions.assertEquals("{\"id\":1,\"score\":2,\"rate\":3.0,\"code\":\"c1\"}", ONode.serialize(bean));
+
+        //有自定义编解码器时，仍然使用它们
+        Options opts = Options.of()
+                .addEncoder(Integer.class, (c, v, t) -> t.setValue("i" + v))
+                .addDecoder(Integer.TYPE, (c, o) -> o.getInt() + 100);
+        Assertions.assertEquals("{\"id\":\"i1\",\"score\":2,\"rate\":3.0,\"code\":\"c1\"}", ONode.serialize(bean, opts));
+        Assertions.assertEquals(101, ONode.<AccessModel>deserialize("{id:1}", AccessModel.class, opts).id);
+    }
+}
@@ -0,0 +1,205 @@
+package features.snack4.codec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.annotation.ONodeAttr;
+import org.noear.snack4.annotation.ONodeCodegen;
+import org.noear.snack4.codec.BeanCodec;
+import org.noear.snack4.codec.BeanDecoder;
+import org.noear.snack4.codec.BeanEncoder;
+import org.noear.snack4.codec.TypeRef;
+
+import java.util.*;
+
+/**
+ * 生成的编解码器（snack4-apt）测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class BeanCodecTest {
+    @ONodeCodegen
+    public static class CodegenModel {
+        public int id;
+        @ONodeAttr(name = "user_name")
+        public String name;
+        private long score;
+        private Boolean enabled;
+        public List<CodegenItem> orders;
+        public Map<String, Integer> extra;
+        public int[] nums;
+        @ONodeAttr(ignore = true)
+        public String secret;
+        @ONodeAttr(encode = false)
+        public String password;
+        public transient String temp;
+        public CodegenModel self;
+
+        public long getScore() {
+            return score;
+        }
+    }
+
+    @ONodeCodegen
+    public static class CodegenItem {
+        public String sn;
+        public double price;
+    }
+
+    @ONodeCodegen
+    public static class SkipModel { //有参数构造器，不生成
+        public String sn;
+
+        public SkipModel(String sn) {
+            this.sn = sn;
+        }
+    }
+
+    private CodegenModel buildModel() {
+        CodegenModel user = new CodegenModel();
+        user.id = 1;
+        user.name = "noear";
+        user.score = 2;
+        user.orders = new ArrayList<>();
+        CodegenItem order = new CodegenItem();
+        order.sn = "s1";
+        order.price = 1.5;
+        user.orders.add(order);
+        user.orders.add(null);
+        user.extra = new LinkedHashMap<>();
+        user.extra.put("a", 1);
+        user.nums = new int[]{1, 2};
+        user.secret = "s";
+        user.password = "p";
+        user.temp = "t";
+        user.self = user;
+        return user;
+    }
+
+    @Test
+    public void case_registered() {
+        BeanCodec codec = Options.DEF_OPTIONS.getBeanCodec(CodegenModel.class);
+        Assertions.assertNotNull(codec);
+        Assertions.assertEquals(CodegenModel.class, codec.getType());
+        Assertions.assertTrue(codec.create() instanceof CodegenModel);
+
+        Assertions.assertNotNull(Options.DEF_OPTIONS.getBeanCodec(CodegenItem.class));
+        Assertions.assertNull(Options.DEF_OPTIONS.getBeanCodec(SkipModel.class));
+    }
+
+    @Test
+    public void case_encode() {
+        CodegenModel user = buildModel();
+
+        Assertions.assertEquals("{\"id\":1,\"user_name\":\"noear\",\"score\":2,\"orders\":[{\"sn\":\"s1\",\"price\":1.5},null],\"extra\":{\"a\":1},\"nums\":[1,2]}",
+                ONode.serialize(user));
+
+        Assertions.assertEquals("{\"id\":1,\"user_name\":\"noear\",\"score\":2,\"enabled\":false,\"orders\":[{\"sn\":\"s1\",\"price\":1.5},null],\"extra\":{\"a\":1},\"nums\":[1,2]}",
+                ONode.serialize(user, Feature.Write_NullBooleanAsFalse));
+
+        String json = ONode.serialize(user, Feature.Write_Nulls, Feature.Write_ClassName);
+        Assertions.assertTrue(json.startsWith("{\"@type\":\"" + CodegenModel.class.getName() + "\",\"id\":1,"));
+        Assertions.assertTrue(json.contains("\"enabled\":null"));
+        Assertions.assertFalse(json.contains("password"));
+        Assertions.assertFalse(json.contains("temp"));
+    }
+
+    @Test
+    public void case_decode() {
+        String json = "{id:1,user_name:'noear',score:2,enabled:true,orders:[{sn:'s1',price:1.5},null],extra:{a:'1'},nums:[1,2],secret:'s',password:'p',temp:'t'}";
+        CodegenModel user = ONode.deserialize(json, CodegenModel.class);
+
+        Assertions.assertEquals(1, user.id);
+        Assertions.assertEquals("noear", user.name);
+        Assertions.assertEquals(2L, user.score);
+        Assertions.assertTrue(user.enabled);
+        Assertions.assertEquals(2, user.orders.size());
+        Assertions.assertEquals("s1", user.orders.get(0).sn);
+        Assertions.assertEquals(1, user.extra.get("a"));
+        Assertions.assertArrayEquals(new int[]{1, 2}, user.nums);
+        Assertions.assertNull(user.secret);
+        Assertions.assertEquals("p", user.password);
+        Assertions.assertNull(user.temp);
+
+        //null 不覆盖原始类型
+        user = ONode.deserialize("{id:null,score:'3'}", CodegenModel.class);
+        Assertions.assertEquals(0, user.id);
+        Assertions.assertEquals(3L, user.score);
+    }
+
+    @Test
+    public void case_fallback() {
+        CodegenModel user = buildModel();
+
+        //getter 模式，使用反射方式（结果一致）
+        String json = ONode.serialize(user);
+        Assertions.assertEquals(json, ONode.serialize(user, Feature.Encode_AllowUseGetter));
+
+        //未知属性检测，使用反射方式
+        Assertions.assertThrows(Throwable.class, () -> ONode.deserialize("{id:1,xxx:2}", CodegenModel.class, Feature.Write_FailOnUnknownProperties));
+    }
+
+    /**
+     * 计数的编解码器（包装生成的）
+     */
+    static class CountedCodec<T> implements BeanCodec<T> {
+        private final BeanCodec<T> real;
+        int encoded;
+        int decoded;
+
+        CountedCodec(BeanCodec<T> real) {
+            this.real = real;
+        }
+
+        @Override
+        public Class<T> getType() {
+            return real.getType();
+        }
+
+        @Override
+        public T create() {
+            return real.create();
+        }
+
+        @Override
+        public void encode(BeanEncoder encoder, T bean, ONode target) throws Throwable {
+            encoded++;
+            real.encode(encoder, bean, target);
+        }
+
+        @Override
+        public void decode(BeanDecoder decoder, ONode node, T target) throws Throwable {
+            decoded++;
+            real.decode(decoder, node, target);
+        }
+    }
+
+    @Test
+    public void case_streaming() {
+        CountedCodec<CodegenModel> codec = new CountedCodec<>((BeanCodec<CodegenModel>) Options.DEF_OPTIONS.getBeanCodec(CodegenModel.class));
+        Options opts = Options.of().addBeanCodec(codec);
+
+        List<CodegenModel> list = Arrays.asList(buildModel(), buildModel());
+        String json = ONode.serialize(list, opts);
+        Assertions.assertEquals("[" + ONode.serialize(buildModel()) + "," + ONode.serialize(buildModel()) + "]", json);
+
+        List<CodegenModel> list2 = ONode.deserialize(json, new TypeRef<List<CodegenModel>>() {
+        }, opts);
+        Assertions.assertEquals(2, list2.size());
+        Assertions.assertEquals("noear", list2.get(1).name);
+        Assertions.assertEquals(2L, list2.get(1).score);
+        Assertions.assertEquals("s1", list2.get(1).orders.get(0).sn);
+        Assertions.assertEquals(json, ONode.serialize(list2, opts));
+
+        //流式编解码，不经过节点（生成的编解码器只在节点方式下使用）
+        Assertions.assertEquals(0, codec.encoded);
+        Assertions.assertEquals(0, codec.decoded);
+
+        ONode.ofBean(list, opts).toBean(new TypeRef<List<CodegenModel>>() {
+        }.getType());
+        Assertions.assertEquals(2, codec.encoded);
+        Assertions.assertEquals(2, codec.decoded);
+    }
+}
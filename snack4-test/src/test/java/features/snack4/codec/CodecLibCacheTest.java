@@ -0,0 +1,126 @@
+package features.snack4.codec;
+
+import demo.snack4._models.ModelBuilder;
+import demo.snack4._models.UserModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.codec.ObjectDecoder;
+import org.noear.snack4.codec.ObjectEncoder;
+import org.noear.snack4.codec.ObjectPatternEncoder;
+import org.noear.snack4.codec.EncodeContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 编解码库解析缓存测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class CodecLibCacheTest {
+    @Test
+    public void case_cached() {
+        Options opts = Options.of();
+
+        //没有的也缓存
+        Assertions.assertNull(opts.getDecoder(UserModel.class));
+        Assertions.assertNull(opts.getDecoder(UserModel.class));
+        Assertions.assertNull(opts.getEncoder(ModelBuilder.buildUser(1, null)));
+
+        //模式匹配的
+        ObjectDecoder decoder = opts.getDecoder(TimeUnit.class);
+        Assertions.assertNotNull(decoder);
+        Assertions.assertSame(decoder, opts.getDecoder(TimeUnit.class));
+
+        ObjectEncoder encoder = opts.getEncoder(TimeUnit.SECONDS);
+        Assertions.assertNotNull(encoder);
+        Assertions.assertSame(encoder, opts.getEncoder(TimeUnit.DAYS));
+    }
+
+    @Test
+    public void case_invalidated() {
+        Options opts = Options.of();
+
+        Assertions.assertNull(opts.getDecoder(UserModel.class));
+        Assertions.assertEquals("{\"id\":1}", ONode.serialize(ModelBuilder.buildUser(1, null), opts));
+
+        opts.addDecoder(UserModel.class, (ctx, node) -> new UserModel());
+        Assertions.assertNotNull(opts.getDecoder(UserModel.class));
+
+        opts.addEncoder(UserModel.class, (ctx, value, target) -> target.setValue(value.id));
+        Assertions.assertEquals("1", ONode.serialize(ModelBuilder.buildUser(1, null), opts));
+
+        ObjectEncoder old = opts.getEncoder(TimeUnit.SECONDS);
+        opts.addEncoder(new ObjectPatternEncoder<TimeUnit>() {
+            @Override
+            public boolean canEncode(Object value) {
+                return value instanceof TimeUnit;
+            }
+
+            @Override
+            public ONode encode(EncodeContext ctx, TimeUnit value, ONode target) {
+                return target.setValue(value.ordinal());
+            }
+        });
+
+        Assertions.assertNotSame(old, opts.getEncoder(TimeUnit.SECONDS));
+        Assertions.assertEquals("3", ONode.serialize(TimeUnit.SECONDS, opts));
+    }
+
+    @Test
+    public void case_valueBased() {
+        Options opts = Options.of();
+
+        //按值判断的模式编码器（canEncode 每次都要问）
+        opts.addEncoder(new ObjectPatternEncoder<UserModel>() {
+            @Override
+            public boolean canEncode(Object value) {
+                return value instanceof UserModel && ((UserModel) value).id < 0;
+            }
+
+            @Override
+            public ONode encode(EncodeContext ctx, UserModel value, ONode target) {
+                return target.setValue(value.id);
+            }
+        });
+
+        Assertions.assertNull(opts.getEncoder(ModelBuilder.buildUser(1, null)));
+        Assertions.assertNotNull(opts.getEncoder(ModelBuilder.buildUser(-1, null)));
+        Assertions.assertNull(opts.getEncoder(ModelBuilder.buildUser(2, null)));
+
+        Assertions.assertEquals("{\"id\":1}", ONode.serialize(ModelBuilder.buildUser(1, null), opts));
+        Assertions.assertEquals("-1", ONode.serialize(ModelBuilder.buildUser(-1, null), opts));
+        Assertions.assertEquals("{\"id\":2}", ONode.serialize(ModelBuilder.buildUser(2, null), opts));
+    }
+
+    @Test
+    public void case_defaultCodec() {
+        Options opts = Options.of();
+
+        Assertions.assertTrue(opts.hasDefaultDecoder(int.class));
+        Assertions.assertTrue(opts.hasDefaultEncoder(1));
+        Assertions.assertFalse(opts.hasDefaultDecoder(UserModel.class));
+
+        opts.addDecoder(int.class, (ctx, node) -> node.getInt() + 1);
+        opts.addEncoder(Long.class, (ctx, value, target) -> target.setValue(String.valueOf(value)));
+        Assertions.assertFalse(opts.hasDefaultDecoder(int.class));
+        Assertions.assertFalse(opts.hasDefaultEncoder(1L));
+        Assertions.assertTrue(opts.hasDefaultEncoder(1));
+
+        //有按值判断的模式编码器时，一律为否
+        opts.addEncoder(new ObjectPatternEncoder<Integer>() {
+            @Override
+            public boolean canEncode(Object value) {
+                return value instanceof Integer && ((Integer) value) < 0;
+            }
+
+            @Override
+            public ONode encode(EncodeContext ctx, Integer value, ONode target) {
+                return target.setValue(0);
+            }
+        });
+
+        Assertions.assertFalse(opts.hasDefaultEncoder(1));
+    }
+}
@@ -0,0 +1,238 @@
+package features.snack4.codec;
+
+import demo.snack4._models.ModelBuilder;
+import demo.snack4._models.OrderModel;
+import demo.snack4._models.UserModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.annotation.ONodeAttr;
+import org.noear.snack4.codec.DecodeContext;
+import org.noear.snack4.codec.ObjectDecoder;
+import org.noear.snack4.codec.TypeRef;
+import org.noear.snack4.json.JsonReader;
+
+import java.util.*;
+
+/**
+ * 流式解码（不构建 ONode 树）测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class StreamDecodeTest {
+    public static class AttrModel {
+        public int id;
+        @ONodeAttr(name = "user_name")
+        public String name;
+        public Long score;
+        public List<String> tags;
+        public List<OrderModel> orders;
+        public Map<String, OrderModel> orderMap;
+        public OrderModel last;
+        public Object extra;
+        @ONodeAttr(decoder = UpperDecoder.class)
+        public String code;
+        public transient String temp;
+    }
+
+    public static class PointModel {
+        private final int x;
+        private final int y;
+
+        public PointModel(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public static class HolderModel {
+        public List<PointModel> points = new ArrayList<>();
+        public OrderModel order = new OrderModel();
+    }
+
+    public static class FillModel {
+        public List<Integer> list = new ArrayList<>(Collections.singletonList(0));
+        public Map<String, Integer> map = new LinkedHashMap<>();
+        public OrderModel order = new OrderModel();
+        public List<Integer> fresh;
+        public int n;
+    }
+
+    public static class PairModel {
+        private final int a;
+        public String b;
+        public List<Integer> list = new ArrayList<>();
+
+        public PairModel(int a) {
+            this.a = a;
+        }
+    }
+
+    public static class FailModel {
+        @ONodeAttr(decoder = FailDecoder.class)
+        public String code;
+    }
+
+    public static class FailDecoder implements ObjectDecoder<String> {
+        @Override
+        public String decode(DecodeContext<String> ctx, ONode node) {
+            throw new IllegalStateException("fail: " + node.getString());
+        }
+    }
+
+    public static class UpperDecoder implements ObjectDecoder<String> {
+        @Override
+        public String decode(DecodeContext<String> ctx, ONode node) {
+            return node.getString().toUpperCase();
+        }
+    }
+
+    static final String JSON = "{\"id\":1,\"user_name\":\"noear\",\"score\":null,\"tags\":[\"a\",\"b\"]," +
+            "\"orders\":[{\"order_num\":\"s1\",\"user\":{\"id\":1}},{\"order_num\":\"s2\",\"order_id\":2.0}]," +
+            "\"orderMap\":{\"k\":{\"order_num\":\"s3\",\"order_id\":3}},\"last\":{\"order_num\":\"s4\",\"unknown\":[1,{\"x\":2}]}," +
+            "\"extra\":{\"a\":[1,{\"b\":null}]},\"code\":\"abc\",\"temp\":\"t\",\"other\":{}}";
+
+    @Test
+    public void case_bean() {
+        AttrModel bean = ONode.deserialize(JSON, AttrModel.class);
+
+        Assertions.assertEquals(1, bean.id);
+        Assertions.assertEquals("noear", bean.name);
+        Assertions.assertNull(bean.score);
+        Assertions.assertEquals(Arrays.asList("a", "b"), bean.tags);
+        Assertions.assertEquals(2, bean.orders.size());
+        Assertions.assertEquals(1, bean.orders.get(0).user.id);
+        Assertions.assertEquals("s2", bean.orders.get(1).order_num);
+        Assertions.assertEquals(2, bean.orders.get(1).order_id);
+        Assertions.assertEquals("s3", bean.orderMap.get("k").order_num);
+        Assertions.assertEquals("s4", bean.last.order_num);
+        Assertions.assertEquals("ABC", bean.code);
+        Assertions.assertNull(bean.temp);
+        Assertions.assertTrue(bean.extra instanceof Map);
+
+        //与两阶段（先构建 ONode 树）的结果一致
+        assertSameAsTree(JSON, AttrModel.class, Options.of());
+        assertSameAsTree(ONode.serialize(ModelBuilder.buildOrder()), OrderModel.class, Options.of());
+    }
+
+    @Test
+    public void case_generic() {
+        List<UserModel> list = ONode.deserialize("[{\"name\":\"s1\"},{\"name\":\"s2\"}]", new TypeRef<List<UserModel>>() {
+        });
+
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertEquals("s2", list.get(1).name);
+
+        Map<String, List<Integer>> map = ONode.deserialize("{\"a\":[1,2],\"b\":[]}", new TypeRef<Map<String, List<Integer>>>() {
+        });
+
+        Assertions.assertEquals(Arrays.asList(1, 2), map.get("a"));
+        Assertions.assertTrue(map.get("b").isEmpty());
+
+        Object obj = ONode.deserialize("{\"a\":[1,{\"b\":2}]}", Object.class);
+        Assertions.assertEquals("{\"a\":[1,{\"b\":2}]}", ONode.serialize(obj));
+    }
+
+    @Test
+    public void case_constructor() {
+        HolderModel holder = ONode.deserialize("{\"points\":[{\"x\":1,\"y\":2},{\"y\":4,\"x\":3}],\"order\":{\"order_num\":\"s1\"}}", HolderModel.class);
+
+        Assertions.assertEquals(2, holder.points.size());
+        Assertions.assertEquals(3, holder.points.get(1).x);
+        Assertions.assertEquals(4, holder.points.get(1).y);
+        Assertions.assertEquals("s1", holder.order.order_num);
+    }
+
+    @Test
+    public void case_unknown() {
+        Options opts = Options.of(Feature.Write_FailOnUnknownProperties);
+
+        Assertions.assertThrows(RuntimeException.class, () -> {
+            ONode.deserialize("{\"name\":\"s1\",\"xxx\":1}", UserModel.class, opts);
+        });
+
+        UserModel user = ONode.deserialize("{\"name\":\"s1\",\"id\":1}", UserModel.class, opts);
+        Assertions.assertEquals("s1", user.name);
+    }
+
+    @Test
+    public void case_error() {
+        Assertions.assertThrows(RuntimeException.class, () -> {
+            ONode.deserialize("{\"name\":\"s1\",}", UserModel.class);
+        });
+
+        Assertions.assertThrows(RuntimeException.class, () -> {
+            ONode.deserialize("{\"name\":\"s1\"} x", UserModel.class);
+        });
+
+        Assertions.assertNull(ONode.deserialize(null, UserModel.class));
+        Assertions.assertNull(ONode.deserialize("null", UserModel.class));
+    }
+
+    private static void assertSameAsTree(String json, Class<?> type, Options opts) {
+        Object expected = ONode.ofJson(json, opts).toBean(type);
+        Object actual = ONode.deserialize(json, type, opts);
+
+        Assertions.assertEquals(ONode.serialize(expected), ONode.serialize(actual), json);
+    }
+
+    @Test
+    public void case_sameAsTree() {
+        //重复的键名：只取最后一次出现的值，深度填充基于属性原来的值
+        String[] fills = {
+                "{\"list\":[1],\"list\":[2]}",
+                "{\"list\":[1],\"list\":null}",
+                "{\"list\":\"[3]\",\"list\":[2]}",
+                "{\"map\":{\"a\":1},\"map\":{\"b\":2}}",
+                "{\"order\":{\"order_num\":\"a\"},\"order\":{\"order_id\":2}}",
+                "{\"fresh\":[1],\"fresh\":[2],\"n\":1,\"n\":2.5}",
+                "{\"fresh\":[1],\"fresh\":null,\"order\":null}",
+        };
+
+        for (String json : fills) {
+            assertSameAsTree(json, FillModel.class, Options.of());
+        }
+
+        FillModel fill = ONode.deserialize(fills[0], FillModel.class);
+        Assertions.assertEquals(Arrays.asList(0, 2), fill.list);
+
+        //带参数构造
+        Options opts = Options.of(Feature.Write_AllowParameterizedConstructor);
+        String[] pairs = {
+                "{\"a\":1,\"b\":\"x\",\"list\":[1],\"list\":[2]}",
+                "{\"b\":\"x\",\"a\":\"2\",\"a\":3}",
+                "{\"b\":\"x\"}",
+                "{}",
+        };
+
+        for (String json : pairs) {
+            assertSameAsTree(json, PairModel.class, opts);
+        }
+
+        assertSameAsTree("{\"y\":2,\"x\":1,\"x\":5,\"z\":3}", PointModel.class, Options.of());
+        assertSameAsTree("{\"points\":[{\"x\":1,\"y\":2}],\"points\":[{\"y\":4}]}", HolderModel.class, Options.of());
+    }
+
+    @Test
+    public void case_exception() {
+        //解码异常原样抛出（与 toBean 一致）
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, () -> {
+            ONode.deserialize("{\"code\":\"a\"}", FailModel.class);
+        });
+        Assertions.assertEquals("fail: a", e.getMessage());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            ONode.ofJson("{\"code\":\"a\"}").toBean(FailModel.class);
+        });
+    }
+
+    @Test
+    public void case_reader() throws Exception {
+        UserModel user = new JsonReader("{name:'s1',id:5}", null).readBean(UserModel.class);
+
+        Assertions.assertEquals("s1", user.name);
+        Assertions.assertEquals(5, user.id);
+    }
+}
@@ -0,0 +1,151 @@
+package features.snack4.codec;
+
+import demo.snack4._models.ModelBuilder;
+import demo.snack4._models.OrderModel;
+import demo.snack4._models.UserModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.annotation.ONodeAttr;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 流式编码（不构建 ONode 树）测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class StreamEncodeTest {
+    public static class AttrModel {
+        public int id = 1;
+        @ONodeAttr(name = "user_name")
+        public String name = "noear";
+        public Long score;
+        public List<String> tags;
+        public List<OrderModel> orders = Arrays.asList(ModelBuilder.buildOrder(), null);
+        public Map<String, Object> extra = new LinkedHashMap<>();
+        public int[] nums = {1, 2};
+        @ONodeAttr(format = "yyyy-MM-dd")
+        public Date birthday = new Date(0);
+        public AttrModel self = this; //循环引用
+        public transient String temp = "t";
+
+        {
+            extra.put("a", Arrays.asList(1, null, "b"));
+            extra.put("b", null);
+            extra.put("c", Collections.singletonMap("d", ModelBuilder.buildUser(3, "c")));
+        }
+    }
+
+    public static class FlatModel {
+        public String code = "c1";
+        @ONodeAttr(flat = true)
+        public UserModel user = ModelBuilder.buildUser(1, "noear");
+    }
+
+    public static class HolderModel {
+        public FlatModel flat = new FlatModel();
+        public List<FlatModel> list = Arrays.asList(new FlatModel(), null);
+    }
+
+    private void assertSame(Object bean, Options opts) {
+        String expected = ONode.ofBean(bean, opts).toJson();
+        Assertions.assertEquals(expected, ONode.serialize(bean, opts));
+    }
+
+    @Test
+    public void case_bean() {
+        for (Object bean : Arrays.asList(ModelBuilder.buildOrder(), new AttrModel())) {
+            assertSame(bean, Options.of());
+            assertSame(bean, Options.of(Feature.Write_Nulls));
+            assertSame(bean, Options.of(Feature.Write_NullListAsEmpty, Feature.Write_NullStringAsEmpty));
+            assertSame(bean, Options.of(Feature.Write_PrettyFormat, Feature.Write_Nulls));
+            assertSame(bean, Options.of(Feature.Write_UseSmlSnakeStyle));
+        }
+
+        String json = ONode.serialize(new AttrModel());
+        Assertions.assertTrue(json.startsWith("{\"id\":1,\"user_name\":\"noear\",\"orders\":[{\"user\":{\"id\":1,\"name\":\"noear\"},"));
+        Assertions.assertFalse(json.contains("self"));
+        Assertions.assertFalse(json.contains("temp"));
+
+        //循环引用的子订单为 null
+        Assertions.assertTrue(ONode.serialize(ModelBuilder.buildOrder()).endsWith("\"orderList\":[{\"order_num\":\"s2\",\"order_id\":2},null]}"));
+    }
+
+    @Test
+    public void case_className() {
+        AttrModel bean = new AttrModel();
+
+        assertSame(bean, Options.of(Feature.Write_ClassName));
+        assertSame(bean, Options.of(Feature.Write_ClassName, Feature.Write_NotRootClassName));
+        assertSame(bean, Options.of(Feature.Write_ClassName, Feature.Write_NotMapClassName));
+
+        String json = ONode.serialize(bean, Feature.Write_ClassName, Feature.Write_NotRootClassName);
+        Assertions.assertTrue(json.startsWith("{\"id\":1,"));
+        Assertions.assertTrue(json.contains("{\"@type\":\"" + OrderModel.class.getName() + "\",\"user\":{\"@type\":\"" + UserModel.class.getName() + "\",\"id\":1,"));
+    }
+
+    @Test
+    public void case_flat() {
+        HolderModel holder = new HolderModel();
+
+        assertSame(holder, Options.of());
+        assertSame(holder, Options.of(Feature.Write_Nulls));
+
+        Assertions.assertEquals("{\"code\":\"c1\",\"id\":1,\"name\":\"noear\"}", ONode.serialize(new FlatModel()));
+    }
+
+    @Test
+    public void case_encoder() {
+        Options opts = Options.of().addEncoder(OrderModel.class, (ctx, value, target) -> target.setValue(value.order_num));
+
+        AttrModel bean = new AttrModel();
+        assertSame(bean, opts);
+
+        String json = ONode.serialize(bean, opts);
+        Assertions.assertTrue(json.contains("\"orders\":[\"s1\",null]"));
+    }
+
+    public static class NameModel {
+        public int userId = 1;
+        @ONodeAttr(name = "名\"称")
+        public String userName = "a";
+    }
+
+    @Test
+    public void case_nameFragment() {
+        NameModel bean = new NameModel();
+
+        //同一个类在不同特性下交替编码（键名片段按特性值重建）
+        for (int i = 0; i < 2; i++) {
+            assertSame(bean, Options.of());
+            assertSame(bean, Options.of(Feature.Write_UseSmlSnakeStyle));
+            assertSame(bean, Options.of(Feature.Write_PrettyFormat));
+            assertSame(bean, Options.of(Feature.Write_UseSingleQuotes, Feature.Write_BrowserCompatible));
+            assertSame(bean, Options.of(Feature.Write_UnquotedFieldNames));
+        }
+
+        Assertions.assertEquals("{\"user_id\":1,\"名\\\"称\":\"a\"}", ONode.serialize(bean, Feature.Write_UseSmlSnakeStyle));
+
+        //UTF-8 字节书写（键名片段直接复制字节）
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ONode.serialize(bean, out, Feature.Write_UseSmlCamelStyle);
+        Assertions.assertEquals(ONode.serialize(bean, Feature.Write_UseSmlCamelStyle), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void case_value() {
+        assertSame(Arrays.asList(1, "a", null, ModelBuilder.buildUser(1, "s1")), Options.of());
+        assertSame(new Object[]{1, new int[]{2, 3}}, Options.of());
+        assertSame(Collections.singletonMap(1, "a"), Options.of());
+        assertSame("abc", Options.of());
+        assertSame(12L, Options.of());
+
+        Assertions.assertEquals("null", ONode.serialize(null));
+        Assertions.assertEquals("{\"a\":1}", ONode.serialize(ONode.ofJson("{a:1}")));
+    }
+}
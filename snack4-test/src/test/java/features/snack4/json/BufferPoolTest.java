@@ -0,0 +1,144 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonReader;
+import org.noear.snack4.json.util.BufferPool;
+import org.noear.snack4.json.util.KeyTable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 缓冲池测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class BufferPoolTest {
+    @Test
+    public void case_borrow() {
+        BufferPool pool = new BufferPool(3);
+        Assertions.assertEquals(4, pool.capacity());
+
+        Assertions.assertNull(pool.borrowChars());
+        Assertions.assertNull(pool.borrowBytes());
+        Assertions.assertEquals(0, pool.getHitCount());
+        Assertions.assertEquals(2, pool.getMissCount());
+
+        char[] chars = new char[BufferPool.MIN_BUFFER_SIZE];
+        byte[] bytes = new byte[BufferPool.MIN_BUFFER_SIZE];
+        pool.releaseChars(chars);
+        pool.releaseBytes(bytes);
+
+        Assertions.assertSame(chars, pool.borrowChars());
+        Assertions.assertSame(bytes, pool.borrowBytes());
+        Assertions.assertNull(pool.borrowChars());
+        Assertions.assertEquals(2, pool.getHitCount());
+        Assertions.assertEquals(3, pool.getMissCount());
+
+        //太小、太大的不回收
+        pool.releaseChars(new char[16]);
+        pool.releaseChars(new char[BufferPool.MAX_BUFFER_SIZE + 1]);
+        Assertions.assertNull(pool.borrowChars());
+
+        pool.resetCount();
+        Assertions.assertEquals(0, pool.getHitCount());
+        Assertions.assertEquals(0, pool.getMissCount());
+
+        //不复用
+        BufferPool.NONE.releaseChars(chars);
+        Assertions.assertNull(BufferPool.NONE.borrowChars());
+    }
+
+    @Test
+    public void case_readWrite() throws Exception {
+        BufferPool pool = new BufferPool(4);
+        Options opts = Options.of().bufferPool(pool);
+        String json = "{\"id\":1,\"name\":\"中文\",\"list\":[1,2,3]}";
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(json, JsonReader.read(new StringReader(json), opts).toJson());
+        }
+
+        //读取器的缓冲，归还后被之后的书写器、读取器借用（只有第一次未命中）
+        Assertions.assertEquals(1, pool.getMissCount());
+        Assertions.assertEquals(19, pool.getHitCount());
+
+        pool.resetCount();
+        for (int i = 0; i < 10; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ONode node = ONode.ofJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), opts);
+            node.toJson(out);
+            Assertions.assertEquals(json, new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+
+        //每次：字节读取缓冲、字符读取缓冲、字节书写缓冲（只有第一次的字节缓冲未命中）
+        Assertions.assertEquals(1, pool.getMissCount());
+        Assertions.assertEquals(29, pool.getHitCount());
+    }
+
+    @Test
+    public void case_keyTable() {
+        BufferPool pool = new BufferPool(2);
+        Options opts = Options.of().bufferPool(pool);
+        Assertions.assertNull(pool.borrowKeyTable());
+
+        //读取器的键名表，关闭时归还，之后的读取器复用（键名为同一个实例）
+        ONode n1 = ONode.ofJson("{\"name\":1}", opts);
+        KeyTable table = pool.borrowKeyTable();
+        Assertions.assertNotNull(table);
+        pool.releaseKeyTable(table);
+
+        ONode n2 = ONode.ofJson("{\"name\":2}", opts);
+        Assertions.assertSame(n1.getObject().keySet().iterator().next(), n2.getObject().keySet().iterator().next());
+        Assertions.assertSame(table, pool.borrowKeyTable());
+
+        //不复用时
+        Assertions.assertNull(BufferPool.NONE.borrowKeyTable());
+        Assertions.assertEquals("{\"name\":3}", ONode.ofJson("{\"name\":3}", Options.of().bufferPool(BufferPool.NONE)).toJson());
+    }
+
+    @Test
+    public void case_concurrent() throws Exception {
+        BufferPool pool = new BufferPool(8);
+        Set<Object> borrowed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        char[] buf = pool.borrowChars();
+                        if (buf == null) {
+                            buf = new char[BufferPool.MIN_BUFFER_SIZE];
+                        }
+
+                        //同一个缓冲，不能同时借给两个使用方
+                        if (borrowed.add(buf) == false) {
+                            return false;
+                        }
+                        borrowed.remove(buf);
+                        pool.releaseChars(buf);
+                    }
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> future : futures) {
+                Assertions.assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(8 * 20000, pool.getHitCount() + pool.getMissCount());
+        Assertions.assertTrue(pool.getHitCount() > 0);
+    }
+}
@@ -0,0 +1,48 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonReader;
+
+/**
+ * 字符数组（固定缓冲）读取测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class CharsReadTest {
+    @Test
+    public void case_chars_slice() throws Exception {
+        char[] chars = "xx{\"a\":\"hello\",\"b\":[1,2]}yy".toCharArray();
+
+        ONode oNode = JsonReader.read(chars, 2, chars.length - 4, null);
+        Assertions.assertEquals("hello", oNode.get("a").getString());
+        Assertions.assertEquals(2, oNode.get("b").size());
+    }
+
+    @Test
+    public void case_charSequence() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        buf.append("{\"name\":\"noear\",\"esc\":\"a\\nb\\u0041\"}");
+
+        ONode oNode = JsonReader.read(buf, null);
+        Assertions.assertEquals("noear", oNode.get("name").getString());
+        Assertions.assertEquals("a\nbA", oNode.get("esc").getString());
+    }
+
+    @Test
+    public void case_unclosed() throws Exception {
+        Assertions.assertThrows(JsonParseException.class, () -> JsonReader.read("{\"a\":\"hello", null));
+
+        ONode oNode = JsonReader.read("{\"a\":\"hello", Options.of(Feature.Read_AutoRepair));
+        Assertions.assertEquals("hello", oNode.get("a").getString());
+    }
+
+    @Test
+    public void case_trailing() throws Exception {
+        Assertions.assertThrows(JsonParseException.class, () -> JsonReader.read("{\"a\":1} x", null));
+    }
+}
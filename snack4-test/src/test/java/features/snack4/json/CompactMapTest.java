@@ -0,0 +1,177 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.util.CompactMap;
+
+import java.util.*;
+
+/**
+ * 紧凑映射测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class CompactMapTest {
+    @Test
+    public void case_order() {
+        ONode node = ONode.ofJson("{\"c\":1,\"a\":2,\"b\":3}");
+
+        Assertions.assertTrue(node.getObject() instanceof CompactMap);
+        Assertions.assertEquals("[c, a, b]", node.getObject().keySet().toString());
+
+        node.set("a", 9);
+        node.set("d", 4);
+        Assertions.assertEquals("{\"c\":1,\"a\":9,\"b\":3,\"d\":4}", node.toJson());
+
+        node.remove("c");
+        Assertions.assertEquals("{\"a\":9,\"b\":3,\"d\":4}", node.toJson());
+    }
+
+    @Test
+    public void case_random() {
+        //与 LinkedHashMap 对比（跨过线性查找与索引的分界）
+        Random random = new Random(17);
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        Map<String, Integer> actual = new CompactMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            String key = "k" + random.nextInt(40);
+            int op = random.nextInt(10);
+
+            if (op < 6) {
+                Assertions.assertEquals(expected.put(key, i), actual.put(key, i));
+            } else if (op < 9) {
+                Assertions.assertEquals(expected.remove(key), actual.remove(key));
+            } else {
+                Assertions.assertEquals(expected.get(key), actual.get(key));
+                Assertions.assertEquals(expected.containsKey(key), actual.containsKey(key));
+            }
+
+            Assertions.assertEquals(expected.size(), actual.size());
+        }
+
+        Assertions.assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(expected.hashCode(), actual.hashCode());
+        Assertions.assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void case_iterator() {
+        Map<String, Integer> map = new CompactMap<>();
+        for (int i = 0; i < 12; i++) {
+            map.put("k" + i, i);
+        }
+
+        Iterator<Map.Entry<String, Integer>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Integer> entry = it.next();
+            if (entry.getValue() % 2 == 0) {
+                it.remove();
+            } else {
+                entry.setValue(entry.getValue() * 10);
+            }
+        }
+
+        Assertions.assertEquals("{k1=10, k3=30, k5=50, k7=70, k9=90, k11=110}", map.toString());
+        Assertions.assertEquals(50, map.get("k5"));
+        Assertions.assertNull(map.get("k4"));
+
+        map.keySet().remove("k3");
+        map.values().remove(90);
+        Assertions.assertEquals("[k1, k5, k7, k11]", map.keySet().toString());
+
+        Assertions.assertThrows(ConcurrentModificationException.class, () -> {
+            for (String key : map.keySet()) {
+                map.put(key + "x", 0);
+            }
+        });
+    }
+
+    @Test
+    public void case_null() {
+        Map<String, Object> map = new CompactMap<>();
+        map.put(null, 1);
+        map.put("a", null);
+
+        Assertions.assertTrue(map.containsKey(null));
+        Assertions.assertTrue(map.containsKey("a"));
+        Assertions.assertTrue(map.containsValue(null));
+        Assertions.assertEquals(1, map.get(null));
+        Assertions.assertEquals(1, map.remove(null));
+        Assertions.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void case_shape() {
+        ONode node = ONode.ofJson("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3},{\"name\":\"d\",\"id\":4}]");
+
+        CompactMap<String, ONode> m0 = (CompactMap<String, ONode>) node.get(0).getObject();
+        CompactMap<String, ONode> m1 = (CompactMap<String, ONode>) node.get(1).getObject();
+        CompactMap<String, ONode> m2 = (CompactMap<String, ONode>) node.get(2).getObject();
+        CompactMap<String, ONode> m3 = (CompactMap<String, ONode>) node.get(3).getObject();
+
+        //相同结构（及前缀）共享形状，键顺序不同的不共享
+        Assertions.assertNotNull(m0.getShape());
+        Assertions.assertSame(m0.getShape(), m1.getShape());
+        Assertions.assertSame(m0.getShape(), m2.getShape());
+        Assertions.assertNotSame(m0.getShape(), m3.getShape());
+
+        Assertions.assertEquals(2, node.get(1).get("id").getInt());
+        Assertions.assertEquals("b", node.get(1).get("name").getString());
+        Assertions.assertTrue(node.get(2).get("name").isNull());
+        Assertions.assertEquals("[id]", m2.keySet().toString());
+        Assertions.assertEquals("[name, id]", m3.keySet().toString());
+
+        //修改时复制出自己的键数组，不影响其它对象
+        node.get(1).set("age", 10);
+        node.get(0).remove("id");
+        Assertions.assertNull(m1.getShape());
+        Assertions.assertEquals("[{\"name\":\"a\"},{\"id\":2,\"name\":\"b\",\"age\":10},{\"id\":3},{\"name\":\"d\",\"id\":4}]", node.toJson());
+        Assertions.assertEquals("[id]", m2.keySet().toString());
+    }
+
+    @Test
+    public void case_shape_large() {
+        StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+
+            buf.append('{');
+            for (int k = 0; k < 20; k++) {
+                if (k > 0) {
+                    buf.append(',');
+                }
+                buf.append("\"f").append(k).append("\":").append(i * 100 + k);
+            }
+            buf.append('}');
+        }
+        buf.append(']');
+
+        ONode node = ONode.ofJson(buf.toString());
+        CompactMap.Shape shape = ((CompactMap<String, ONode>) node.get(0).getObject()).getShape();
+
+        Assertions.assertEquals(17, shape.indexOf("f17"));
+        Assertions.assertEquals(-1, shape.indexOf("f20"));
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertSame(shape, ((CompactMap<String, ONode>) node.get(i).getObject()).getShape());
+            Assertions.assertEquals(i * 100 + 17, node.get(i).get("f17").getInt());
+            Assertions.assertFalse(node.get(i).hasKey("f20"));
+        }
+
+        Assertions.assertEquals(buf.toString(), node.toJson());
+    }
+
+    @Test
+    public void case_mapFactory() {
+        Options opts = Options.of().mapFactory(LinkedHashMap::new);
+        ONode node = ONode.ofJson("{\"a\":1}", opts);
+
+        Assertions.assertTrue(node.getObject() instanceof LinkedHashMap);
+    }
+}
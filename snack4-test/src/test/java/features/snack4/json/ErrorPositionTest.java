@@ -0,0 +1,68 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonReader;
+
+import java.io.Reader;
+
+/**
+ * 出错位置（行、列在出错时计算）测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class ErrorPositionTest {
+    //每次只读一个字符（行列需要跨缓冲累计）
+    private static Reader chunked(String json) {
+        return new Reader() {
+            int pos;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (pos >= json.length()) {
+                    return -1;
+                }
+                cbuf[off] = json.charAt(pos++);
+                return 1;
+            }
+
+            @Override
+            public void close() {
+
+            }
+        };
+    }
+
+    private void assertError(String json, String expected, Feature... features) {
+        Options opts = Options.of(features);
+
+        JsonParseException e1 = Assertions.assertThrows(JsonParseException.class, () -> ONode.ofJson(json, opts));
+        Assertions.assertTrue(e1.getMessage().endsWith(expected), e1.getMessage());
+
+        JsonParseException e2 = Assertions.assertThrows(JsonParseException.class, () -> JsonReader.read(chunked(json), opts));
+        Assertions.assertEquals(e1.getMessage(), e2.getMessage());
+    }
+
+    @Test
+    public void case_position() {
+        assertError("{\n  \"a\": 1,\r\n  \"b\": x\n}", "at line 3 column 7");
+        assertError("[1,\r2,\n3,\r\n4,", "at line 4 column 2");
+        assertError("{\"a\":\"x\ny\"}", "at line 2 column 0");
+        assertError("{\"a\" 1}", "at line 1 column 6");
+        assertError("[1 2]", "at line 1 column 3");
+        assertError("/* a\r\n b */[1,\n// c\n2 3]", "at line 4 column 2", Feature.Read_AllowComment);
+    }
+
+    @Test
+    public void case_crlf() {
+        //行计数不再影响内容（未转义的 \r\n 原样保留）
+        ONode node = ONode.ofJson("{\"a\":\"x\r\ny\"}", Feature.Read_AllowUnescapedControlCharacters);
+        Assertions.assertEquals("x\r\ny", node.get("a").getString());
+
+        Assertions.assertEquals("[1,2]", ONode.ofJson("\r\n[\r\n1,\r\n2\r\n]\r\n").toJson());
+    }
+}
@@ -0,0 +1,69 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.util.FeaturePlan;
+
+/**
+ * 特性计划测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class FeaturePlanTest {
+    @Test
+    public void case_cached() {
+        FeaturePlan plan = Options.DEF_OPTIONS.getFeaturePlan();
+        Assertions.assertSame(plan, Options.DEF_OPTIONS.getFeaturePlan());
+        Assertions.assertTrue(plan.Write_PlainNumber);
+        Assertions.assertFalse(plan.Write_PrettyFormat);
+        Assertions.assertEquals('"', plan.Write_QuoteChar);
+    }
+
+    @Test
+    public void case_rebuild() {
+        Options opts = Options.of();
+        FeaturePlan plan = opts.getFeaturePlan();
+
+        opts.addFeatures(Feature.Write_LongAsString, Feature.Write_UseSingleQuotes);
+        FeaturePlan plan2 = opts.getFeaturePlan();
+        Assertions.assertNotSame(plan, plan2);
+        Assertions.assertFalse(plan2.Write_PlainNumber);
+        Assertions.assertEquals("{'a':\"12345678901\"}", ONode.ofJson("{a:12345678901}", opts).toJson());
+
+        opts.removeFeatures(Feature.Write_LongAsString, Feature.Write_UseSingleQuotes);
+        Assertions.assertEquals("{\"a\":1}", ONode.ofJson("{a:1}", opts).toJson());
+
+        opts.addFeatures(Feature.Read_AllowEmptyKeys);
+        Assertions.assertEquals("{\"\":1}", ONode.ofJson("{'':1}", opts).toJson());
+    }
+
+    @Test
+    public void case_indent() {
+        Options opts = Options.of(Feature.Write_PrettyFormat).writeIndent("\t");
+
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            json.append('[');
+        }
+        for (int i = 0; i < 20; i++) {
+            json.append(']');
+        }
+
+        String out = ONode.ofJson(json.toString(), opts).toJson();
+        Assertions.assertTrue(out.contains("\n" + repeat("\t", 19) + "[\n" + repeat("\t", 19) + "]"));
+
+        Assertions.assertEquals("{\n\t\"a\": 1\n}", ONode.ofJson("{a:1}", opts).toJson());
+        Assertions.assertEquals("{\n  \"a\": 1\n}", ONode.ofJson("{a:1}", opts.writeIndent("  ")).toJson());
+    }
+
+    private static String repeat(String str, int count) {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            buf.append(str);
+        }
+        return buf.toString();
+    }
+}
@@ -0,0 +1,159 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonReader;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 数组元素流式遍历测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class IterateArrayTest {
+    public static class Item {
+        public int id;
+        public String name;
+    }
+
+    private static List<String> collect(String json, String path) {
+        List<String> list = new ArrayList<>();
+        for (ONode n : new JsonReader(json).iterateArray(path)) {
+            list.add(n.toJson());
+        }
+        return list;
+    }
+
+    @Test
+    public void case_root() {
+        Assertions.assertEquals("[1, \"a\", {\"b\":2}, [3]]", collect("[1,\"a\",{\"b\":2},[3]]", "$").toString());
+        Assertions.assertEquals("[]", collect(" [ ] ", "$").toString());
+    }
+
+    @Test
+    public void case_path() {
+        String json = "{\"meta\":{\"s\":\"x]}\\\"[{\",\"n\":[1,[2,{}]],\"d\":new Date(1)},\"data\":{\"list\":[{\"rows\":[7,8]},{\"rows\":[9]}]},\"tail\":1}";
+
+        Assertions.assertEquals("[7, 8]", collect(json, "$.data.list[0].rows").toString());
+        Assertions.assertEquals("[9]", collect(json, "data.list[1]['rows']").toString());
+        Assertions.assertEquals("[{\"rows\":[7,8]}, {\"rows\":[9]}]", collect(json, "$.data.list").toString());
+    }
+
+    @Test
+    public void case_missing() {
+        String json = "{\"a\":{\"b\":null},\"c\":[]}";
+
+        Assertions.assertTrue(collect(json, "$.x").isEmpty());
+        Assertions.assertTrue(collect(json, "$.a.b").isEmpty());
+        Assertions.assertTrue(collect(json, "$.a.b.c").isEmpty());
+        Assertions.assertTrue(collect(json, "$.c[3]").isEmpty());
+        Assertions.assertTrue(collect("", "$").isEmpty());
+    }
+
+    @Test
+    public void case_error() {
+        //类型不符
+        Assertions.assertThrows(JsonParseException.class, () -> collect("{\"a\":1}", "$.a"));
+        Assertions.assertThrows(JsonParseException.class, () -> collect("{\"a\":[1]}", "$[0]"));
+
+        //元素解析出错时抛出（之前的元素已读出）
+        Iterator<ONode> it = new JsonReader("[1,2,{\"a\":}]").iterateArray("$").iterator();
+        Assertions.assertEquals(1, it.next().getInt());
+        Assertions.assertEquals(2, it.next().getInt());
+        Assertions.assertThrows(JsonParseException.class, it::next);
+
+        Assertions.assertThrows(JsonParseException.class, () -> collect("[1 2]", "$"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new JsonReader("[]").iterateArray("$.a[x]"));
+
+        Iterable<ONode> once = new JsonReader("[1]").iterateArray("$");
+        once.iterator();
+        Assertions.assertThrows(IllegalStateException.class, once::iterator);
+    }
+
+    @Test
+    public void case_bean() {
+        String json = "{\"total\":2,\"items\":[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]}";
+
+        try (Stream<Item> stream = new JsonReader(json).streamArray("$.items", Item.class)) {
+            Assertions.assertEquals("a,b", stream.map(i -> i.name).collect(Collectors.joining(",")));
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        for (Item item : new JsonReader(json).<Item>iterateArray("items", Item.class)) {
+            ids.add(item.id);
+        }
+        Assertions.assertEquals("[1, 2]", ids.toString());
+    }
+
+    @Test
+    public void case_stream() {
+        //大数组（按行分段供给），逐个读出
+        int count = 20000;
+        Reader reader = new Reader() {
+            int row = -1;
+            String cur = "{\"data\":[";
+            int pos;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (pos == cur.length()) {
+                    row++;
+                    if (row > count) {
+                        return -1;
+                    }
+
+                    cur = row == count ? "]}" : (row > 0 ? "," : "") + "{\"id\":" + row + ",\"name\":\"n" + row + "\"}";
+                    pos = 0;
+                }
+
+                int n = Math.min(len, cur.length() - pos);
+                cur.getChars(pos, pos + n, cbuf, off);
+                pos += n;
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        long sum = 0;
+        int rows = 0;
+        for (ONode n : new JsonReader(reader, Options.of()).iterateArray("$.data")) {
+            sum += n.get("id").getLong();
+            rows++;
+        }
+
+        Assertions.assertEquals(count, rows);
+        Assertions.assertEquals((long) count * (count - 1) / 2, sum);
+    }
+
+    @Test
+    public void case_closeOnError() {
+        boolean[] closed = new boolean[1];
+        Reader reader = new java.io.StringReader("[1,x]") {
+            @Override
+            public void close() {
+                closed[0] = true;
+                super.close();
+            }
+        };
+
+        Assertions.assertThrows(SnackException.class, () -> {
+            for (ONode n : new JsonReader(reader, Options.of()).iterateArray("$")) {
+                n.getInt();
+            }
+        });
+        Assertions.assertTrue(closed[0]);
+    }
+}
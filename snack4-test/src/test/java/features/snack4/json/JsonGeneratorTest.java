@@ -0,0 +1,131 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 生成器测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class JsonGeneratorTest {
+    private static final String SAMPLE = "{\"id\":12345678901,\"name\":\"a'\\\"<b>\\u4e2d\",\"score\":1.5,\"ok\":true,\"none\":null," +
+            "\"tags\":[1,\"x\",null,{}],\"empty\":[],\"user\":{\"age\":18}}";
+
+    private static void writeSample(JsonGenerator gen) throws IOException {
+        gen.beginObject()
+                .name("id").value(12345678901L)
+                .name("name").value("a'\"<b>中")
+                .name("score").value(1.5D)
+                .name("ok").value(true)
+                .name("none").nullValue()
+                .name("tags").beginArray()
+                .value(1).value("x").nullValue().beginObject().endObject()
+                .endArray()
+                .name("empty").beginArray().endArray()
+                .name("user").beginObject().name("age").value(18).endObject()
+                .endObject();
+    }
+
+    private static String generate(Options opts) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = new JsonGenerator(writer, opts)) {
+            writeSample(gen);
+        }
+        return writer.toString();
+    }
+
+    @Test
+    public void case_sameAsToJson() throws IOException {
+        Feature[][] cases = {
+                {},
+                {Feature.Write_Nulls},
+                {Feature.Write_PrettyFormat, Feature.Write_Nulls},
+                {Feature.Write_UseSingleQuotes},
+                {Feature.Write_BrowserCompatible},
+                {Feature.Write_LongAsString},
+                {Feature.Write_NumbersAsString},
+                {Feature.Write_BooleanAsNumber},
+                {Feature.Write_NumberTypeSuffix},
+                {Feature.Write_UnquotedFieldNames},
+        };
+
+        for (Feature[] features : cases) {
+            Options opts = Options.of(features);
+            String expected = ONode.ofJson(SAMPLE, opts).toJson();
+
+            Assertions.assertEquals(expected, generate(opts), () -> opts.getFeatures() + "");
+        }
+    }
+
+    @Test
+    public void case_outputStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = new JsonGenerator(out, Options.of())) {
+            writeSample(gen);
+        }
+
+        Assertions.assertEquals(ONode.ofJson(SAMPLE).toJson(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void case_rawAndNode() throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = new JsonGenerator(writer, null)) {
+            gen.beginArray()
+                    .rawValue("{\"raw\":1}")
+                    .value(ONode.ofJson("{\"a\":[1,2]}"))
+                    .value((String) null)
+                    .endArray();
+
+            //多个根值按行分隔
+            gen.value(1).value("x");
+        }
+
+        Assertions.assertEquals("[{\"raw\":1},{\"a\":[1,2]},null]\n1\n\"x\"", writer.toString());
+    }
+
+    @Test
+    public void case_stream() throws IOException {
+        //大输出（不构建树）
+        int count = 50000;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = new JsonGenerator(out, Options.of())) {
+            gen.beginArray();
+            for (int i = 0; i < count; i++) {
+                gen.beginObject().name("id").value(i).name("v").value(i * 0.5D).endObject();
+            }
+            gen.endArray();
+        }
+
+        ONode node = ONode.ofJson(new String(out.toByteArray(), StandardCharsets.UTF_8));
+        Assertions.assertEquals(count, node.size());
+        Assertions.assertEquals(count - 1, node.get(count - 1).get("id").getInt());
+        Assertions.assertEquals(2.5D, node.get(5).get("v").getDouble());
+    }
+
+    @Test
+    public void case_illegal() throws IOException {
+        JsonGenerator gen = new JsonGenerator(new StringWriter(), null);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> gen.name("a"));
+        Assertions.assertThrows(IllegalStateException.class, gen::endObject);
+
+        gen.beginObject();
+        Assertions.assertThrows(IllegalStateException.class, () -> gen.value(1));
+        Assertions.assertThrows(IllegalStateException.class, gen::endArray);
+
+        gen.name("a");
+        Assertions.assertThrows(IllegalStateException.class, () -> gen.name("b"));
+        Assertions.assertThrows(IllegalStateException.class, gen::endObject);
+    }
+}
@@ -0,0 +1,191 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonLinesReader;
+import org.noear.snack4.json.JsonParseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Json Lines 并行读取测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class JsonLinesReaderTest {
+    public static class Item {
+        public int id;
+        public String name;
+    }
+
+    private static byte[] lines(int count) {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            buf.append("{\"id\":").append(i).append(",\"name\":\"名").append(i).append("\"}\n");
+            if (i % 100 == 0) {
+                buf.append("\n  \r\n");
+            }
+        }
+        return buf.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void case_ordered() throws Exception {
+        int count = 5000;
+        List<Integer> ids = new ArrayList<>();
+
+        try (JsonLinesReader reader = new JsonLinesReader(new ByteArrayInputStream(lines(count)), null).chunkSize(256)) {
+            for (ONode node : reader.iterable()) {
+                ids.add(node.get("id").getInt());
+                Assertions.assertEquals("名" + node.get("id").getInt(), node.get("name").getString());
+            }
+        }
+
+        Assertions.assertEquals(count, ids.size());
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(i, ids.get(i));
+        }
+    }
+
+    @Test
+    public void case_unordered() throws Exception {
+        int count = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try (JsonLinesReader reader = new JsonLinesReader(new ByteArrayInputStream(lines(count)), Options.of())
+                .executor(executor)
+                .ordered(false)
+                .chunkSize(1000)) {
+            Set<Integer> ids = new HashSet<>();
+            for (Item item : reader.<Item>iterable(Item.class)) {
+                Assertions.assertTrue(ids.add(item.id));
+            }
+
+            Assertions.assertEquals(count, ids.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void case_stream() {
+        ByteBuffer buffer = ByteBuffer.wrap("[1]\n{\"id\":2,\"name\":\"b\"}\n\"x\"".getBytes(StandardCharsets.UTF_8));
+
+        try (Stream<ONode> stream = new JsonLinesReader(buffer, null).stream()) {
+            Assertions.assertEquals("[1]|{\"id\":2,\"name\":\"b\"}|\"x\"", stream.map(ONode::toJson).collect(Collectors.joining("|")));
+        }
+
+        try (Stream<Item> stream = new JsonLinesReader(new ByteArrayInputStream(lines(10)), null).stream(Item.class)) {
+            Assertions.assertEquals(45, stream.mapToInt(i -> i.id).sum());
+        }
+    }
+
+    @Test
+    public void case_longLine() {
+        StringBuilder buf = new StringBuilder("{\"big\":\"");
+        for (int i = 0; i < 10000; i++) {
+            buf.append('x');
+        }
+        buf.append("\"}\n{\"id\":1}");
+
+        List<ONode> list = new ArrayList<>();
+        new JsonLinesReader(new ByteArrayInputStream(buf.toString().getBytes(StandardCharsets.UTF_8)), null)
+                .chunkSize(16)
+                .iterable()
+                .forEach(list::add);
+
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertEquals(10000, list.get(0).get("big").getString().length());
+        Assertions.assertEquals(1, list.get(1).get("id").getInt());
+    }
+
+    @Test
+    public void case_error() {
+        boolean[] closed = new boolean[1];
+        InputStream in = new ByteArrayInputStream("{\"id\":1}\n{\"id\":}\n{\"id\":3}\n".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        JsonLinesReader reader = new JsonLinesReader(in, null).chunkSize(4);
+        Iterator<ONode> it = reader.iterable().iterator();
+
+        Assertions.assertEquals(1, it.next().get("id").getInt());
+        JsonParseException e = Assertions.assertThrows(JsonParseException.class, it::hasNext);
+        Assertions.assertTrue(e.getMessage().contains("line at byte offset 9"), e.getMessage());
+        Assertions.assertTrue(closed[0]);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> reader.iterable().iterator());
+    }
+
+    @Test
+    public void case_oneValuePerLine() {
+        //每行必须正好一个值，且与块大小无关
+        String[] bad = {
+                "[1]\n1 2\n[3]\n",
+                "[1]\n{\"a\":\n1}\n",
+                "[1]\n\uFEFF[2]\n"
+        };
+
+        for (String json : bad) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+            for (int chunkSize = 1; chunkSize <= bytes.length + 1; chunkSize++) {
+                JsonLinesReader reader = new JsonLinesReader(new ByteArrayInputStream(bytes), null).chunkSize(chunkSize);
+                List<ONode> list = new ArrayList<>();
+
+                JsonParseException e = Assertions.assertThrows(JsonParseException.class, () -> reader.iterable().forEach(list::add));
+                Assertions.assertTrue(e.getMessage().contains("byte offset 4"), e.getMessage());
+                Assertions.assertEquals(1, list.size());
+            }
+        }
+
+        //输入开头的 BOM 略过
+        byte[] bom = "\uFEFF[1]\n[2]\n".getBytes(StandardCharsets.UTF_8);
+        for (int chunkSize = 1; chunkSize <= bom.length + 1; chunkSize++) {
+            try (Stream<ONode> stream = new JsonLinesReader(new ByteArrayInputStream(bom), null).chunkSize(chunkSize).stream()) {
+                Assertions.assertEquals("[1]|[2]", stream.map(ONode::toJson).collect(Collectors.joining("|")));
+            }
+        }
+    }
+
+    @Test
+    public void case_backPressure() {
+        AtomicInteger submitted = new AtomicInteger();
+        int count = 1000;
+
+        JsonLinesReader reader = new JsonLinesReader(new ByteArrayInputStream(lines(count)), null)
+                .executor(r -> {
+                    submitted.incrementAndGet();
+                    r.run();
+                })
+                .chunkSize(64)
+                .maxPendingChunks(2);
+
+        Iterator<ONode> it = reader.iterable().iterator();
+        it.next();
+
+        //只预读有限的块
+        Assertions.assertTrue(submitted.get() <= 3, "submitted: " + submitted.get());
+
+        int rows = 1;
+        while (it.hasNext()) {
+            it.next();
+            rows++;
+        }
+        Assertions.assertEquals(count, rows);
+    }
+}
@@ -0,0 +1,242 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonParser;
+import org.noear.snack4.json.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 拉取式解析器测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class JsonParserTest {
+    private static List<String> tokens(JsonParser parser) throws IOException {
+        List<String> list = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.Name) {
+                list.add(parser.currentName() + ":");
+            } else if (token.isScalar()) {
+                list.add(String.valueOf(parser.getString()));
+            } else {
+                list.add(token.name());
+            }
+        }
+        return list;
+    }
+
+    @Test
+    public void case_tokens() throws IOException {
+        String json = "{\"a\":1,\"b\":[true,null,\"x\\ny\",-2.5,12345678901],\"c\":{},\"d\":[]}";
+
+        try (JsonParser parser = new JsonParser(json)) {
+            Assertions.assertEquals("[StartObject, a:, 1, b:, StartArray, true, null, x\ny, -2.5, 12345678901, EndArray, c:, StartObject, EndObject, d:, StartArray, EndArray, EndObject]",
+                    tokens(parser).toString());
+        }
+    }
+
+    @Test
+    public void case_values() throws IOException {
+        JsonParser parser = new JsonParser("[1,12345678901,1.5,12345678901234567890]");
+
+        Assertions.assertEquals(JsonToken.StartArray, parser.nextToken());
+        Assertions.assertEquals(JsonToken.Number, parser.nextToken());
+        Assertions.assertEquals(1, parser.getInt());
+        Assertions.assertEquals(Integer.class, parser.getNumber().getClass());
+
+        parser.nextToken();
+        Assertions.assertEquals(12345678901L, parser.getLong());
+
+        parser.nextToken();
+        Assertions.assertEquals(1.5D, parser.getDouble());
+
+        parser.nextToken();
+        Assertions.assertEquals("12345678901234567890", parser.getString());
+
+        Assertions.assertEquals(JsonToken.EndArray, parser.nextToken());
+        Assertions.assertNull(parser.nextToken());
+
+        Assertions.assertThrows(IllegalStateException.class, parser::getLong);
+    }
+
+    @Test
+    public void case_overflow() throws IOException {
+        JsonParser parser = new JsonParser("[2147483647,2147483648,-2147483649,12345678901234567890,1.9]");
+        parser.nextToken();
+
+        parser.nextToken();
+        Assertions.assertEquals(Integer.MAX_VALUE, parser.getInt());
+
+        //超出范围的整数不截断
+        parser.nextToken();
+        Assertions.assertThrows(ArithmeticException.class, parser::getInt);
+        Assertions.assertEquals(2147483648L, parser.getLong());
+
+        parser.nextToken();
+        Assertions.assertThrows(ArithmeticException.class, parser::getInt);
+
+        parser.nextToken();
+        Assertions.assertThrows(ArithmeticException.class, parser::getInt);
+        Assertions.assertThrows(ArithmeticException.class, parser::getLong);
+
+        //小数截断
+        parser.nextToken();
+        Assertions.assertEquals(1, parser.getInt());
+    }
+
+    @Test
+    public void case_currentName() throws IOException {
+        JsonParser parser = new JsonParser("{\"user\":{\"id\":1},\"tags\":[\"a\"]}");
+
+        Assertions.assertEquals(JsonToken.StartObject, parser.nextToken());
+        Assertions.assertNull(parser.currentName());
+        Assertions.assertEquals(JsonToken.Name, parser.nextToken());
+        Assertions.assertEquals(JsonToken.StartObject, parser.nextToken());
+        Assertions.assertEquals("user", parser.currentName());
+        Assertions.assertEquals(JsonToken.Name, parser.nextToken());
+        Assertions.assertEquals("id", parser.currentName());
+        Assertions.assertEquals(JsonToken.Number, parser.nextToken());
+        Assertions.assertEquals("id", parser.currentName());
+        Assertions.assertEquals(2, parser.getDepth());
+        Assertions.assertEquals(JsonToken.EndObject, parser.nextToken());
+        Assertions.assertEquals("user", parser.currentName());
+        Assertions.assertEquals(JsonToken.Name, parser.nextToken());
+        Assertions.assertEquals(JsonToken.StartArray, parser.nextToken());
+        Assertions.assertEquals("tags", parser.currentName());
+        Assertions.assertEquals(JsonToken.String, parser.nextToken());
+        Assertions.assertNull(parser.currentName());
+    }
+
+    @Test
+    public void case_skipChildren() throws IOException {
+        String json = "{\"big\":{\"x\":[1,{\"y\":\"a\\\"]}\"}],\"z\":'q'},\"id\":7,\"arr\":[[1],[2]],\"name\":\"n\"}";
+
+        try (JsonParser parser = new JsonParser(json)) {
+            long id = 0;
+            String name = null;
+
+            Assertions.assertEquals(JsonToken.StartObject, parser.nextToken());
+            while (parser.nextToken() == JsonToken.Name) {
+                String key = parser.currentName();
+                JsonToken token = parser.nextToken();
+
+                if ("id".equals(key)) {
+                    id = parser.getLong();
+                } else if ("name".equals(key)) {
+                    name = parser.getString();
+                } else {
+                    Assertions.assertTrue(token == JsonToken.StartObject || token == JsonToken.StartArray);
+                    parser.skipChildren();
+                    Assertions.assertTrue(parser.currentToken() == JsonToken.EndObject || parser.currentToken() == JsonToken.EndArray);
+                    Assertions.assertEquals(key, parser.currentName());
+                }
+            }
+
+            Assertions.assertEquals(JsonToken.EndObject, parser.currentToken());
+            Assertions.assertEquals(7, id);
+            Assertions.assertEquals("n", name);
+            Assertions.assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    public void case_features() throws IOException {
+        Options opts = Options.of(Feature.Read_AllowComment);
+        String json = "{a:'x',b:[1, /* c */2]}";
+
+        try (JsonParser parser = new JsonParser(json, opts)) {
+            Assertions.assertEquals("[StartObject, a:, x, b:, StartArray, 1, 2, EndArray, EndObject]", tokens(parser).toString());
+        }
+
+        Options opts2 = Options.of(Feature.Read_DisableSingleQuotes);
+        Assertions.assertThrows(JsonParseException.class, () -> tokens(new JsonParser("['x']", opts2)));
+    }
+
+    @Test
+    public void case_multiRoot() throws IOException {
+        try (JsonParser parser = new JsonParser("{\"a\":1}\n{\"a\":2}\n3", Options.of())) {
+            Assertions.assertEquals("[StartObject, a:, 1, EndObject, StartObject, a:, 2, EndObject, 3]", tokens(parser).toString());
+        }
+    }
+
+    @Test
+    public void case_error() {
+        Assertions.assertThrows(JsonParseException.class, () -> tokens(new JsonParser("{\"a\":1,}")));
+        Assertions.assertThrows(JsonParseException.class, () -> tokens(new JsonParser("[1 2]")));
+        Assertions.assertThrows(JsonParseException.class, () -> tokens(new JsonParser("[1,?]")));
+    }
+
+    @Test
+    public void case_stream() throws IOException {
+        //大文档（按行分段供给），只提取字段
+        int count = 20000;
+        Reader reader = new Reader() {
+            int row = -1;
+            String cur = "[";
+            int pos;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (pos == cur.length()) {
+                    row++;
+                    if (row > count) {
+                        return -1;
+                    }
+
+                    cur = row == count ? "]" : (row > 0 ? "," : "") + "{\"id\":" + row + ",\"text\":\"" + row + "\\u0041\",\"tags\":[1,2,3]}";
+                    pos = 0;
+                }
+
+                int n = Math.min(len, cur.length() - pos);
+                cur.getChars(pos, pos + n, cbuf, off);
+                pos += n;
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        long sum = 0;
+        int rows = 0;
+        try (JsonParser parser = new JsonParser(reader, Options.of())) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.Name) {
+                    String key = parser.currentName();
+                    parser.nextToken();
+
+                    if ("id".equals(key)) {
+                        sum += parser.getLong();
+                        rows++;
+                    } else if ("text".equals(key)) {
+                        Assertions.assertTrue(parser.getString().endsWith("A"));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        Assertions.assertEquals(count, rows);
+        Assertions.assertEquals((long) count * (count - 1) / 2, sum);
+    }
+
+    @Test
+    public void case_reader() throws IOException {
+        try (JsonParser parser = new JsonParser(new StringReader("[\"a\",new Date(1000)]"), Options.of())) {
+            Assertions.assertEquals("[StartArray, a, 1000, EndArray]", tokens(parser).toString());
+        }
+    }
+}
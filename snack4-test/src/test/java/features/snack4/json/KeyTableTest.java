@@ -0,0 +1,57 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.util.KeyTable;
+
+import java.util.Iterator;
+
+/**
+ * 键名表测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class KeyTableTest {
+    private static String firstKey(ONode oNode) {
+        Iterator<String> keys = oNode.getObject().keySet().iterator();
+        return keys.next();
+    }
+
+    @Test
+    public void case_reader() throws Exception {
+        ONode oNode = ONode.ofJson("[{\"userName\":1},{\"userName\":2},{userName:3}]");
+
+        String k0 = firstKey(oNode.get(0));
+        Assertions.assertEquals("userName", k0);
+        Assertions.assertSame(k0, firstKey(oNode.get(1)));
+        Assertions.assertSame(k0, firstKey(oNode.get(2)));
+    }
+
+    @Test
+    public void case_shared() throws Exception {
+        Options opts = Options.of().keyTable(KeyTable.SHARED);
+
+        ONode n1 = ONode.ofJson("{\"sharedKey\":1}", opts);
+        ONode n2 = ONode.ofJson("{\"sharedKey\":2}", opts);
+
+        Assertions.assertSame(firstKey(n1), firstKey(n2));
+    }
+
+    @Test
+    public void case_table() {
+        KeyTable table = new KeyTable(16);
+        char[] chars = "xxabcxx".toCharArray();
+
+        String k1 = table.get(chars, 2, 3);
+        Assertions.assertEquals("abc", k1);
+        Assertions.assertSame(k1, table.get("abc".toCharArray(), 0, 3));
+        Assertions.assertEquals("", table.get(chars, 0, 0));
+
+        //冲突覆盖后也必须返回正确的值
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals("k" + i, table.get(("k" + i).toCharArray(), 0, ("k" + i).length()));
+        }
+    }
+}
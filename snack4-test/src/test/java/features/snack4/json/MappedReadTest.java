@@ -0,0 +1,152 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonReader;
+import org.noear.snack4.json.util.MappedUtf8Reader;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 内存映射文件读取测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class MappedReadTest {
+    private static final String SAMPLE = "{\"name\":\"中文ä😀\",\"list\":[1,2.5,\"x😀y\",null,true],\"obj\":{\"k\":\"€\"}}";
+
+    private static Path write(byte[] bytes) throws IOException {
+        Path file = Files.createTempFile("snack4-mapped", ".json");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+        return file;
+    }
+
+    private static String readAll(Reader reader, int bufSize) throws IOException {
+        StringBuilder buf = new StringBuilder();
+        char[] chars = new char[bufSize];
+        int n;
+        while ((n = reader.read(chars, 0, chars.length)) >= 0) {
+            buf.append(chars, 0, n);
+        }
+        return buf.toString();
+    }
+
+    @Test
+    public void case_read() throws IOException {
+        Path file = write(SAMPLE.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(ONode.ofJson(SAMPLE).toJson(), ONode.ofJson(file, Options.of()).toJson());
+        Assertions.assertEquals(ONode.ofJson(SAMPLE).toJson(), JsonReader.read(file, null).toJson());
+    }
+
+    /**
+     * 小段的读取器（让多字节序列跨段）
+     */
+    private static MappedUtf8Reader small(Path file, int seg) throws IOException {
+        return new MappedUtf8Reader(file, seg, 4) {
+        };
+    }
+
+    @Test
+    public void case_segments() throws IOException {
+        //小段，让多字节序列跨段
+        Path file = write(SAMPLE.getBytes(StandardCharsets.UTF_8));
+
+        for (int seg = 4; seg < 12; seg++) {
+            for (int bufSize = 1; bufSize < 5; bufSize++) {
+                try (MappedUtf8Reader reader = small(file, seg)) {
+                    Assertions.assertEquals(SAMPLE, readAll(reader, bufSize), "seg: " + seg + ", buf: " + bufSize);
+                }
+            }
+
+            try (MappedUtf8Reader reader = small(file, seg)) {
+                Assertions.assertEquals(ONode.ofJson(SAMPLE).toJson(), new JsonReader(reader, null).read().toJson());
+            }
+        }
+    }
+
+    @Test
+    public void case_segmentsLarge() throws IOException {
+        //最小段大小的文件（稀疏文件，前面是 0 字节），"😀" 跨段
+        byte[] sample = SAMPLE.getBytes(StandardCharsets.UTF_8);
+        int prefix = MappedUtf8Reader.MIN_SEGMENT_SIZE - 19;
+        Path file = Files.createTempFile("snack4-mapped", ".json");
+
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.seek(prefix);
+                raf.write(sample);
+            }
+
+            try (MappedUtf8Reader reader = new MappedUtf8Reader(file, MappedUtf8Reader.MIN_SEGMENT_SIZE)) {
+                Assertions.assertEquals(prefix, reader.skip(prefix));
+                Assertions.assertEquals(SAMPLE, readAll(reader, 3));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void case_segmentSize() throws IOException {
+        Path file = write(SAMPLE.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MappedUtf8Reader(file, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MappedUtf8Reader(file, MappedUtf8Reader.MIN_SEGMENT_SIZE - 1));
+
+        try (MappedUtf8Reader reader = new MappedUtf8Reader(file, MappedUtf8Reader.MIN_SEGMENT_SIZE)) {
+            Assertions.assertEquals(ONode.ofJson(SAMPLE).toJson(), new JsonReader(reader, null).read().toJson());
+        }
+    }
+
+    @Test
+    public void case_bomAndInvalid() throws IOException {
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, '[', '1', ']'};
+        Assertions.assertEquals("[1]", ONode.ofJson(write(bom), null).toJson());
+
+        //非法或截断的序列替换为 U+FFFD
+        byte[] bad = {'"', (byte) 0xFF, 'a', (byte) 0xE4, (byte) 0xB8};
+        try (MappedUtf8Reader reader = small(write(bad), 4)) {
+            Assertions.assertEquals("\"\uFFFDa\uFFFD", readAll(reader, 16));
+        }
+
+        try (MappedUtf8Reader reader = new MappedUtf8Reader(write(new byte[0]))) {
+            Assertions.assertEquals(0, reader.size());
+            Assertions.assertEquals("", readAll(reader, 16));
+        }
+    }
+
+    @Test
+    public void case_iterateArray() throws IOException {
+        int count = 10000;
+        StringBuilder buf = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            buf.append("{\"id\":").append(i).append(",\"name\":\"名").append(i).append("\"}");
+        }
+        buf.append("]}");
+
+        Path file = write(buf.toString().getBytes(StandardCharsets.UTF_8));
+
+        long sum = 0;
+        int rows = 0;
+        for (ONode n : new JsonReader(file, Options.of()).iterateArray("$.data")) {
+            Assertions.assertEquals("名" + n.get("id").getInt(), n.get("name").getString());
+            sum += n.get("id").getLong();
+            rows++;
+        }
+
+        Assertions.assertEquals(count, rows);
+        Assertions.assertEquals((long) count * (count - 1) / 2, sum);
+    }
+}
@@ -0,0 +1,84 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * 数字读取测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class NumberReadTest {
+    private static Object read(String json) {
+        return ONode.ofJson(json).getValue();
+    }
+
+    @Test
+    public void case_integer() {
+        Assertions.assertEquals(0, read("0"));
+        Assertions.assertEquals(0, read("-0"));
+        Assertions.assertEquals(Integer.MAX_VALUE, read("2147483647"));
+        Assertions.assertEquals(Integer.MIN_VALUE, read("-2147483648"));
+        Assertions.assertEquals(2147483648L, read("2147483648"));
+        Assertions.assertEquals(Long.MAX_VALUE, read("9223372036854775807"));
+        Assertions.assertEquals(-922337203685477580L, read("-922337203685477580"));
+    }
+
+    @Test
+    public void case_integer_overflow() {
+        //19 位数字超出 long 范围
+        Assertions.assertEquals(new BigInteger("9999999999999999999"), read("9999999999999999999"));
+        Assertions.assertEquals(new BigInteger("-9223372036854775808"), read("-9223372036854775808"));
+        Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), read("123456789012345678901234567890"));
+    }
+
+    @Test
+    public void case_decimal() {
+        Assertions.assertEquals(1.5D, read("1.5"));
+        Assertions.assertEquals(-0.0D, read("-0.0"));
+        Assertions.assertEquals(1.0E10D, read("1e10"));
+        Assertions.assertEquals(1.0E-10D, read("1E-10"));
+        Assertions.assertEquals(0.1D, read("0.1"));
+        Assertions.assertEquals(1.7976931348623E308D, read("1.7976931348623E308"));
+        Assertions.assertEquals(4.9E-324D, read("4.9E-324"));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, read("1e400"));
+        Assertions.assertEquals(new BigDecimal("3.14159265358979323846"), read("3.14159265358979323846"));
+    }
+
+    @Test
+    public void case_decimal_random() {
+        //与 Double.parseDouble 逐位一致
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong() & 0x7FFFFFFFFFFFFFFFL);
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                continue;
+            }
+
+            String str = Double.toString(d);
+            Object val = read(str);
+            if (val instanceof Double) {
+                Assertions.assertEquals(d, (Double) val, str);
+            }
+
+            str = (random.nextInt(100000) + 1) + "e" + (random.nextInt(600) - 300);
+            Assertions.assertEquals(Double.parseDouble(str), (Double) read(str), str);
+        }
+    }
+
+    @Test
+    public void case_features() {
+        Assertions.assertEquals(new BigDecimal("1.5"), ONode.ofJson("1.5", Options.of(Feature.Read_UseBigDecimalMode)).getValue());
+        Assertions.assertEquals(new BigInteger("12"), ONode.ofJson("12", Options.of(Feature.Read_UseBigIntegerMode)).getValue());
+        Assertions.assertEquals(7, ONode.ofJson("007", Options.of(Feature.Read_AllowZeroLeadingNumbers)).getValue());
+        Assertions.assertEquals(12L, read("12L"));
+        Assertions.assertEquals(12.0D, read("12D"));
+    }
+}
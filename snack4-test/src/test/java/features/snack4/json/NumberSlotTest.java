@@ -0,0 +1,125 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 数字原始存放（不装箱）测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class NumberSlotTest {
+    @Test
+    public void case_read() {
+        ONode node = ONode.ofJson("[1,-2147483649,1.5,12345678901234567890,1.5F,2L,3D,1e400]");
+
+        Assertions.assertEquals(Integer.class, node.get(0).getNumberRawType());
+        Assertions.assertEquals(Long.class, node.get(1).getNumberRawType());
+        Assertions.assertEquals(Double.class, node.get(2).getNumberRawType());
+        Assertions.assertNull(node.get(3).getNumberRawType());
+        Assertions.assertNull(node.get(4).getNumberRawType());
+        Assertions.assertEquals(Long.class, node.get(5).getNumberRawType());
+        Assertions.assertEquals(Double.class, node.get(6).getNumberRawType());
+
+        //取值时才装箱（类型不变）
+        Assertions.assertEquals(1, node.get(0).getValue());
+        Assertions.assertEquals(-2147483649L, node.get(1).getValue());
+        Assertions.assertEquals(1.5D, node.get(2).getValue());
+        Assertions.assertEquals(new BigInteger("12345678901234567890"), node.get(3).getValue());
+        Assertions.assertEquals(1.5F, node.get(4).getValue());
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, node.get(7).getValue());
+
+        Assertions.assertEquals("[1,-2147483649,1.5,12345678901234567890,1.5,2,3.0,Infinity]", node.toJson());
+        Assertions.assertEquals("[1,-2147483649L,1.5D,1.5F]",
+                ONode.ofJson("[1,-2147483649,1.5,1.5F]", Options.of(Feature.Write_NumberTypeSuffix)).toJson());
+    }
+
+    @Test
+    public void case_getters() {
+        ONode d = ONode.ofDouble(null, 3.9E10);
+        Assertions.assertEquals(Integer.valueOf(Double.valueOf(3.9E10).intValue()), d.getInt());
+        Assertions.assertEquals(39000000000L, d.getLong());
+        Assertions.assertEquals(Double.valueOf(3.9E10).shortValue(), d.getShort());
+        Assertions.assertEquals(Double.valueOf(3.9E10).byteValue(), d.getByte());
+        Assertions.assertEquals(3.9E10F, d.getFloat());
+        Assertions.assertEquals("3.9E10", d.getString());
+        Assertions.assertTrue(d.getBoolean());
+
+        ONode l = ONode.ofLong(null, Long.MAX_VALUE);
+        Assertions.assertEquals(Long.valueOf(Long.MAX_VALUE).intValue(), l.getInt());
+        Assertions.assertEquals(Long.valueOf(Long.MAX_VALUE).floatValue(), l.getFloat());
+        Assertions.assertEquals(Long.valueOf(Long.MAX_VALUE).doubleValue(), l.getDouble());
+        Assertions.assertEquals(String.valueOf(Long.MAX_VALUE), l.getString());
+        Assertions.assertEquals(Long.MAX_VALUE, l.getDate().getTime());
+
+        ONode i = ONode.ofInt(null, -5);
+        Assertions.assertEquals(-5, i.getInt());
+        Assertions.assertFalse(i.getBoolean());
+        Assertions.assertEquals(-5, i.getNumber().intValue());
+        Assertions.assertEquals(Integer.valueOf(-5), i.getValueAs());
+
+        //与装箱存放的相等
+        Assertions.assertEquals(new ONode(null, -5), i);
+        Assertions.assertEquals(new ONode(null, -5).hashCode(), i.hashCode());
+        Assertions.assertTrue(i.hasValue(-5));
+    }
+
+    @Test
+    public void case_equals() {
+        //与装箱值的 equals、hashCode 规则一致（类型不同则不等）
+        Assertions.assertEquals(ONode.ofLong(null, 5L), ONode.ofLong(null, 5L));
+        Assertions.assertNotEquals(ONode.ofInt(null, 5), ONode.ofLong(null, 5L));
+        Assertions.assertNotEquals(ONode.ofDouble(null, 0D), ONode.ofDouble(null, -0D));
+        Assertions.assertEquals(ONode.ofDouble(null, Double.NaN), ONode.ofDouble(null, Double.longBitsToDouble(0x7ff8000000000001L)));
+
+        Assertions.assertEquals(Long.valueOf(-3L).hashCode(), ONode.ofLong(null, -3L).hashCode());
+        Assertions.assertEquals(Double.valueOf(1.5D).hashCode(), ONode.ofDouble(null, 1.5D).hashCode());
+        Assertions.assertEquals(Integer.valueOf(-7).hashCode(), ONode.ofInt(null, -7).hashCode());
+
+        Assertions.assertTrue(ONode.ofLong(null, 9L).equals(9L));
+        Assertions.assertFalse(ONode.ofLong(null, 9L).equals(9));
+        Assertions.assertFalse(ONode.ofInt(null, 9).equals(null));
+        Assertions.assertTrue(ONode.ofDouble(null, 2.5D).equals(2.5D));
+
+        //与非原始存放的数字比较
+        Assertions.assertNotEquals(ONode.ofInt(null, 1), new ONode(null, new BigDecimal("1")));
+        Assertions.assertEquals(new ONode(null, new BigDecimal("1")), new ONode(null, new BigDecimal("1")));
+    }
+
+    @Test
+    public void case_mutate() {
+        ONode node = new ONode(null, 12L);
+        Assertions.assertEquals(Long.class, node.getNumberRawType());
+
+        //数字节点不会被当作空值转为对象、数组
+        node.asObject();
+        node.asArray();
+        Assertions.assertTrue(node.isNumber());
+        Assertions.assertEquals(12L, node.getValue());
+
+        node.setValue(new BigDecimal("1.25"));
+        Assertions.assertNull(node.getNumberRawType());
+        Assertions.assertEquals(new BigDecimal("1.25"), node.getValue());
+
+        node.setValue(2.5D);
+        Assertions.assertEquals(Double.class, node.getNumberRawType());
+        Assertions.assertEquals("2.5", node.toJson());
+
+        node.clear();
+        Assertions.assertTrue(node.isNull());
+        Assertions.assertNull(node.getValue());
+        Assertions.assertNull(node.getNumber(null));
+
+        node.asObject().set("a", 1);
+        Assertions.assertEquals("{\"a\":1}", node.toJson());
+
+        ONode copy = new ONode().fill(ONode.ofInt(null, 7));
+        Assertions.assertEquals(7, copy.getValue());
+    }
+}
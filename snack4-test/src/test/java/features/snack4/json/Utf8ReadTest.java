@@ -0,0 +1,130 @@
+package features.snack4.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.json.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * UTF-8 字节读取测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class Utf8ReadTest {
+    static final String JSON = "{\"name\":\"诺尔\",\"emoji\":\"a😀b\",\"tags\":[\"é\",\"ß\",1,2.5,true,null]}";
+
+    @Test
+    public void case_bytes() throws Exception {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        ONode oNode = ONode.ofJson(bytes, null);
+
+        Assertions.assertEquals("诺尔", oNode.get("name").getString());
+        Assertions.assertEquals("a😀b", oNode.get("emoji").getString());
+        Assertions.assertEquals("é", oNode.get("tags").get(0).getString());
+        Assertions.assertEquals(ONode.ofJson(JSON).toJson(), oNode.toJson());
+    }
+
+    @Test
+    public void case_bytes_slice() throws Exception {
+        byte[] body = JSON.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[body.length + 6];
+        System.arraycopy(body, 0, bytes, 3, body.length);
+
+        ONode oNode = JsonReader.read(bytes, 3, body.length, null);
+        Assertions.assertEquals("诺尔", oNode.get("name").getString());
+    }
+
+    @Test
+    public void case_stream_byteByByte() throws Exception {
+        //每次只返回一个字节，检查多字节序列跨块的情况
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        InputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+
+        ONode oNode = ONode.ofJson(in, null);
+        Assertions.assertEquals(ONode.ofJson(JSON).toJson(), oNode.toJson());
+    }
+
+    @Test
+    public void case_stream_large() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        buf.append('[');
+        for (int i = 0; i < 5000; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            buf.append("{\"id\":").append(i).append(",\"v\":\"值😀").append(i).append("\"}");
+        }
+        buf.append(']');
+
+        ONode oNode = ONode.ofJson(new ByteArrayInputStream(buf.toString().getBytes(StandardCharsets.UTF_8)), null);
+        Assertions.assertEquals(5000, oNode.size());
+        Assertions.assertEquals("值😀4999", oNode.get(4999).get("v").getString());
+    }
+
+    @Test
+    public void case_bom() throws Exception {
+        byte[] body = "{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[body.length + 3];
+        bytes[0] = (byte) 0xEF;
+        bytes[1] = (byte) 0xBB;
+        bytes[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, bytes, 3, body.length);
+
+        Assertions.assertEquals(1, ONode.ofJson(bytes, null).get("a").getInt());
+        Assertions.assertEquals(1, ONode.ofJson(new ByteArrayInputStream(bytes), null).get("a").getInt());
+    }
+
+    @Test
+    public void case_malformed() throws Exception {
+        byte[] bytes = new byte[]{'"', 'a', (byte) 0xC3, '"'};
+        Assertions.assertEquals("a�", ONode.ofJson(bytes, null).getString());
+    }
+
+    @Test
+    public void case_malformedAsJdk() throws Exception {
+        //非法序列的替换与 JDK 解码器一致（最长有效前缀）
+        byte[][] samples = {
+                {(byte) 0xED, (byte) 0xA0, (byte) 0x80},
+                {(byte) 0xF4, (byte) 0xA0, (byte) 0x88},
+                {(byte) 0xE0, (byte) 0x80, (byte) 0x80},
+                {(byte) 0xF0, (byte) 0x80, (byte) 0x80, (byte) 0x80},
+                {(byte) 0xF5, (byte) 0x80},
+                {(byte) 0xC0, (byte) 0xAF},
+                {(byte) 0xE4, (byte) 0xB8, 'a'},
+                {(byte) 0xF0, (byte) 0x9F, (byte) 0x98},
+                {(byte) 0xED, (byte) 0x9F, (byte) 0xBF, (byte) 0xEE, (byte) 0x80, (byte) 0x80},
+                {(byte) 0xF4, (byte) 0x8F, (byte) 0xBF, (byte) 0xBF, (byte) 0x80},
+        };
+
+        for (byte[] sample : samples) {
+            byte[] bytes = new byte[sample.length + 3];
+            bytes[0] = '"';
+            bytes[1] = 'x';
+            System.arraycopy(sample, 0, bytes, 2, sample.length);
+            bytes[bytes.length - 1] = '"';
+
+            String expected = new String(bytes, 1, bytes.length - 2, StandardCharsets.UTF_8);
+            Assertions.assertEquals(expected, ONode.ofJson(bytes, null).getString());
+            Assertions.assertEquals(expected, ONode.ofJson(new ByteArrayInputStream(bytes), null).getString());
+
+            Path file = Files.createTempFile("snack4-utf8", ".json");
+            try {
+                Files.write(file, bytes);
+                Assertions.assertEquals(expected, ONode.ofJson(file, null).getString());
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+}
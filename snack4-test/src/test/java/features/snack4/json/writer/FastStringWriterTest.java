@@ -0,0 +1,129 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonWriter;
+import org.noear.snack4.json.util.FastStringWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * 快速字符串书写器（与片段批量书写）测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class FastStringWriterTest {
+    @Test
+    public void case_writer() {
+        FastStringWriter writer = new FastStringWriter(2);
+        writer.write('a');
+        writer.write("bcdef");
+        writer.write("xyz", 1, 2);
+        writer.write(new char[]{'1', '2', '3'}, 1, 1);
+        writer.append("sb", 0, 1).append('!').append(new StringBuilder("ok"), 0, 2).append(null);
+
+        Assertions.assertEquals("abcdefyz2s!oknull", writer.toString());
+        Assertions.assertEquals(17, writer.size());
+
+        writer.reset();
+        writer.write("x");
+        Assertions.assertEquals("x", writer.toString());
+    }
+
+    private void assertSame(String str, Options opts) throws IOException {
+        ONode node = new ONode(opts).set("k\"1", str);
+
+        FastStringWriter fast = new FastStringWriter();
+        new JsonWriter(opts, fast).write(node);
+
+        StringWriter std = new StringWriter();
+        new JsonWriter(opts, std).write(node);
+
+        Assertions.assertEquals(std.toString(), fast.toString());
+        Assertions.assertEquals(std.toString(), node.toJson());
+    }
+
+    @Test
+    public void case_escape() throws IOException {
+        String str = "abc\"def\\g\nh\ti\u0001j\u007fk中文'l";
+
+        assertSame(str, Options.of());
+        assertSame(str, Options.of(Feature.Write_BrowserCompatible));
+        assertSame(str, Options.of(Feature.Write_UseSingleQuotes));
+        assertSame(str, Options.of(Feature.Write_UseRawBackslash));
+        assertSame("", Options.of());
+        assertSame("\n", Options.of());
+
+        Assertions.assertEquals("{\"k\\\"1\":\"abc\\\"def\\\\g\\nh\\ti\\u0001j\\u007Fk中文'l\"}",
+                new ONode().set("k\"1", str).toJson());
+        Assertions.assertEquals("\"\\u4E2D\\u6587a\"",
+                ONode.ofBean("中文a", Options.of(Feature.Write_BrowserCompatible)).toJson());
+    }
+
+    //逐字符的转义参考实现（查表转义前的分支写法）
+    private String escapeRef(String s, char quoteChar, boolean browser, boolean rawBackslash) {
+        StringBuilder buf = new StringBuilder();
+        for (char c : s.toCharArray()) {
+            if (c == quoteChar) {
+                buf.append('\\').append(c);
+            } else if (c == '\n') {
+                buf.append("\\n");
+            } else if (c == '\r') {
+                buf.append("\\r");
+            } else if (c == '\t') {
+                buf.append("\\t");
+            } else if (c == '\f') {
+                buf.append("\\f");
+            } else if (c == '\b') {
+                buf.append("\\b");
+            } else if (c == '\\') {
+                buf.append(rawBackslash ? "\\" : "\\\\");
+            } else if (c < 32 || c == 127 || (c > 127 && browser)) {
+                buf.append(String.format("\\u%04X", (int) c));
+            } else {
+                buf.append(c);
+            }
+        }
+        return buf.toString();
+    }
+
+    @Test
+    public void case_escapeTable() {
+        StringBuilder buf = new StringBuilder();
+        for (char c = 0; c < 300; c++) {
+            buf.append(c).append("ab");
+        }
+        buf.append("中文\uD83D\uDE00");
+        String str = buf.toString();
+
+        for (boolean single : new boolean[]{false, true}) {
+            for (boolean browser : new boolean[]{false, true}) {
+                for (boolean raw : new boolean[]{false, true}) {
+                    Options opts = Options.of();
+                    if (single) {
+                        opts.addFeatures(Feature.Write_UseSingleQuotes);
+                    }
+                    if (browser) {
+                        opts.addFeatures(Feature.Write_BrowserCompatible);
+                    }
+                    if (raw) {
+                        opts.addFeatures(Feature.Write_UseRawBackslash);
+                    }
+
+                    char quoteChar = single ? '\'' : '"';
+                    String expected = quoteChar + escapeRef(str, quoteChar, browser, raw) + quoteChar;
+                    Assertions.assertEquals(expected, ONode.ofBean(str, opts).toJson(), single + "," + browser + "," + raw);
+
+                    //不加引号的键名，按双引号转义
+                    opts.addFeatures(Feature.Write_UnquotedFieldNames);
+                    String json = new ONode(opts).set(str, 1).toJson();
+                    Assertions.assertEquals("{" + escapeRef(str, '"', browser, raw) + ":1}", json);
+                }
+            }
+        }
+    }
+}
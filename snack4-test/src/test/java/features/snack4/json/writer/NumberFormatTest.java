@@ -0,0 +1,91 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.util.NumberFormatUtil;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 数字格式化测试用例（与 toString 一致）
+ *
+ * @author noear 2026/10/17 created
+ */
+public class NumberFormatTest {
+    private final char[] buf = new char[32];
+
+    private void assertInt(int v) {
+        int end = NumberFormatUtil.writeInt(v, buf, 1);
+        Assertions.assertEquals(Integer.toString(v), new String(buf, 1, end - 1));
+    }
+
+    private void assertLong(long v) {
+        int end = NumberFormatUtil.writeLong(v, buf, 1);
+        Assertions.assertEquals(Long.toString(v), new String(buf, 1, end - 1));
+    }
+
+    private void assertDouble(double v) {
+        int end = NumberFormatUtil.writeDouble(v, buf, 1);
+        if (end < 0) {
+            //不能快速书写的（由调用方使用 Double.toString）
+            Assertions.assertFalse(NumberFormatUtil.isShortestDoubleEnabled() && Double.isFinite(v), String.valueOf(v));
+        } else {
+            Assertions.assertEquals(Double.toString(v), new String(buf, 1, end - 1));
+        }
+    }
+
+    @Test
+    public void case_int() {
+        for (int v : new int[]{0, 1, -1, 9, 10, 99, 100, -100, 12345, 999999999, 1000000000,
+                Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1}) {
+            assertInt(v);
+        }
+
+        for (long v : new long[]{0, -1, Integer.MAX_VALUE, Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L,
+                999999999999999999L, 1000000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1}) {
+            assertLong(v);
+        }
+
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            assertInt(random.nextInt());
+            assertLong(random.nextLong());
+            assertLong(random.nextLong() >> random.nextInt(64));
+        }
+    }
+
+    @Test
+    public void case_double() {
+        for (double v : new double[]{0.0, -0.0, 1.0, -1.0, 0.1, 0.2, 0.3, 100.0, 1.5, 1e7, 9999999.0, 1e-3, 1e-4,
+                123456.789, 1e22, 1e23, 2e23, 1e16, 9007199254740993.0, Double.MAX_VALUE, Double.MIN_VALUE,
+                Double.MIN_NORMAL, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            assertDouble(v);
+        }
+
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            assertDouble(Double.longBitsToDouble(random.nextLong()));
+            assertDouble(random.nextDouble() * Math.pow(10, random.nextInt(20) - 10));
+            assertDouble(random.nextInt(1000000) / 100.0);
+            assertDouble((double) (random.nextLong() >> random.nextInt(64)));
+        }
+    }
+
+    @Test
+    public void case_json() {
+        Object[] values = {1, -2, (short) 3, (byte) 4, Long.MIN_VALUE, 0.1, -1.0E-5, 1.0E7, 12.0, 1.5F, Double.NaN};
+        ONode node = ONode.ofBean(Arrays.asList(values));
+
+        Assertions.assertEquals("[1,-2,3,4,-9223372036854775808,0.1,-1.0E-5,1.0E7,12.0,1.5,NaN]", node.toJson());
+
+        Assertions.assertEquals("[\"-9223372036854775808\",\"0.1\",\"12.0\"]",
+                ONode.ofBean(Arrays.asList(Long.MIN_VALUE, 0.1, 12.0), Options.of(Feature.Write_LongAsString, Feature.Write_DoubleAsString)).toJson());
+
+        Assertions.assertEquals("[1,2L,0.5D,1.5F]",
+                ONode.ofBean(Arrays.asList(1, 2L, 0.5, 1.5F), Options.of(Feature.Write_NumberTypeSuffix)).toJson());
+    }
+}
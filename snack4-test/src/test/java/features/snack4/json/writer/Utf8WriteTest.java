@@ -0,0 +1,113 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonWriter;
+import org.noear.snack4.json.util.Utf8Writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * UTF-8 字节书写测试用例
+ *
+ * @author noear 2026/10/17 created
+ */
+public class Utf8WriteTest {
+    private static final String TEXT = "abc中文😀é\uD800x\uDC00yz";
+
+    private byte[] write(String str, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8Writer writer = new Utf8Writer(out, new byte[bufferSize]);
+        writer.write(str);
+        writer.write('-');
+        writer.write(str.toCharArray(), 1, str.length() - 1);
+        writer.append(str, 0, 3);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void case_encode() throws IOException {
+        String str = TEXT;
+        String expected = str + "-" + str.substring(1) + str.substring(0, 3);
+
+        for (int size : new int[]{4, 5, 7, 64, 8192}) {
+            Assertions.assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), write(str, size), "size=" + size);
+        }
+
+        //随机字符（含代理对），与 String.getBytes 一致
+        Random random = new Random(1);
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            int r = random.nextInt(10);
+            if (r < 6) {
+                buf.append((char) (32 + random.nextInt(90)));
+            } else if (r < 8) {
+                buf.append((char) (0x80 + random.nextInt(0xD7FF - 0x80)));
+            } else if (r < 9) {
+                buf.appendCodePoint(0x10000 + random.nextInt(0x10000));
+            } else {
+                buf.append((char) (0xD800 + random.nextInt(0x800)));
+            }
+        }
+
+        String str2 = buf.toString();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8Writer writer = new Utf8Writer(out, new byte[33]);
+        writer.write(str2);
+        writer.flush();
+        Assertions.assertArrayEquals(str2.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    public void case_toJson() throws IOException {
+        ONode node = new ONode().set("name", TEXT).set("list", Arrays.asList(1, 2, "中"));
+        byte[] expected = node.toJson().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        node.toJson(out);
+        Assertions.assertArrayEquals(expected, out.toByteArray());
+
+        out = new ByteArrayOutputStream();
+        node.toJson(Channels.newChannel(out));
+        Assertions.assertArrayEquals(expected, out.toByteArray());
+
+        out = new ByteArrayOutputStream();
+        JsonWriter.write(node, Options.DEF_OPTIONS, out);
+        Assertions.assertArrayEquals(expected, out.toByteArray());
+
+        ByteBuffer target = ByteBuffer.allocate(1024);
+        node.toJson(target);
+        target.flip();
+        Assertions.assertEquals(new String(expected, StandardCharsets.UTF_8), StandardCharsets.UTF_8.decode(target).toString());
+
+        Assertions.assertThrows(BufferOverflowException.class, () -> node.toJson(ByteBuffer.allocate(4)));
+    }
+
+    public static class UserModel {
+        public int id = 1;
+        public String name = "中文";
+        public List<String> tags = Arrays.asList("a", "b");
+    }
+
+    @Test
+    public void case_serialize() {
+        UserModel user = new UserModel();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ONode.serialize(user, out);
+        Assertions.assertEquals(ONode.serialize(user), new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        out = new ByteArrayOutputStream();
+        ONode.serialize(null, out);
+        Assertions.assertEquals("null", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -21,14 +21,22 @@ import org.noear.snack4.codec.TypeRef;
 import org.noear.snack4.codec.util.DateUtil;
 import org.noear.snack4.json.JsonReader;
 import org.noear.snack4.json.JsonWriter;
+import org.noear.snack4.json.util.FastStringWriter;
+import org.noear.snack4.json.util.Utf8Writer;
 import org.noear.snack4.jsonpath.JsonPathProvider;
 import org.noear.snack4.jsonpath.PathSource;
 import org.noear.snack4.util.Asserts;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -50,6 +58,12 @@ public final class ONode {
     }
 
     private Object value;
+    //数字的原始存放（Integer、Long、Double 不装箱；numType 不为 null 时有效，此时 value 为 null）。
+    //代价是每个节点（包括字符串与容器节点）多 8 字节（按对象对齐可能更多）；
+    //省下的是包装对象（16 至 24 字节），所以只对 Integer 缓存之外的整数、长整数与浮点数合算。
+    //与 type 一样为 transient（是 value 的另一种存放，按字段反射序列化时两者都不保留）
+    private transient long numBits;
+    private transient Class<?> numType;
     private transient DataType type;
     private transient Options options;
 
@@ -69,9 +83,73 @@ public final class ONode {
     }
 
     public ONode(Options opts, Object value) {
-        this.value = value;
         this.type = DataType.resolveType(value);
         this.options = opts == null ? Options.DEF_OPTIONS : opts;
+        assign(value);
+    }
+
+    /**
+     * 整数节点（原始存放，不装箱）
+     *
+     * @since 4.0.54
+     */
+    public static ONode ofInt(Options opts, int value) {
+        ONode node = new ONode(opts);
+        node.setNumberBits(Integer.class, value);
+        return node;
+    }
+
+    /**
+     * 长整数节点（原始存放，不装箱）
+     *
+     * @since 4.0.54
+     */
+    public static ONode ofLong(Options opts, long value) {
+        ONode node = new ONode(opts);
+        node.setNumberBits(Long.class, value);
+        return node;
+    }
+
+    /**
+     * 浮点数节点（原始存放，不装箱）
+     *
+     * @since 4.0.54
+     */
+    public static ONode ofDouble(Options opts, double value) {
+        ONode node = new ONode(opts);
+        node.setNumberBits(Double.class, Double.doubleToRawLongBits(value));
+        return node;
+    }
+
+    private void setNumberBits(Class<?> numType, long numBits) {
+        this.value = null;
+        this.numType = numType;
+        this.numBits = numBits;
+        this.type = DataType.Number;
+    }
+
+    /**
+     * 赋值（Integer、Long、Double 转为原始存放）
+     */
+    private void assign(Object value) {
+        Class<?> clz = (value == null ? null : value.getClass());
+
+        if (clz == Integer.class) {
+            this.value = null;
+            this.numType = clz;
+            this.numBits = (Integer) value;
+        } else if (clz == Long.class) {
+            this.value = null;
+            this.numType = clz;
+            this.numBits = (Long) value;
+        } else if (clz == Double.class) {
+            this.value = null;
+            this.numType = clz;
+            this.numBits = Double.doubleToRawLongBits((Double) value);
+        } else {
+            this.value = value;
+            this.numType = null;
+        }
     }
 
     public DataType type() {
@@ -136,11 +214,80 @@ public final class ONode {
     }
 
     public Object getValue() {
+        if (numType != null) {
+            //原始存放的数字，取值时才装箱
+            if (numType == Integer.class) {
+                return (int) numBits;
+            } else if (numType == Long.class) {
+                return numBits;
+            } else {
+                return Double.longBitsToDouble(numBits);
+            }
+        }
+
         return value;
     }
 
     public <T> T getValueAs() {
-        return (T) value;
+        return (T) getValue();
+    }
+
+    /**
+     * 获取数字的原始存放类型（Integer.class、Long.class、Double.class；不是原始存放时为 null）
+     *
+     * @since 4.0.54
+     */
+    public Class<?> getNumberRawType() {
+        return numType;
+    }
+
+    /**
+     * 获取原始存放的数字（整数为值本身，浮点数为 Double.doubleToRawLongBits；getNumberRawType 不为 null 时有效）
+     *
+     * @since 4.0.54
+     */
+    public long getNumberRawBits() {
+        return numBits;
+    }
+
+    private int numberIntValue() {
+        if (numType == Double.class) {
+            return (int) Double.longBitsToDouble(numBits);
+        } else if (numType != null) {
+            return (int) numBits;
+        } else {
+            return ((Number) value).intValue();
+        }
+    }
+
+    private long numberLongValue() {
+        if (numType == Double.class) {
+            return (long) Double.longBitsToDouble(numBits);
+        } else if (numType != null) {
+            return numBits;
+        } else {
+            return ((Number) value).longValue();
+        }
+    }
+
+    private float numberFloatValue() {
+        if (numType == Double.class) {
+            return (float) Double.longBitsToDouble(numBits);
+        } else if (numType != null) {
+            return (float) numBits;
+        } else {
+            return ((Number) value).floatValue();
+        }
+    }
+
+    private double numberDoubleValue() {
+        if (numType == Double.class) {
+            return Double.longBitsToDouble(numBits);
+        } else if (numType != null) {
+            return (double) numBits;
+        } else {
+            return ((Number) value).doubleValue();
+        }
     }
 
 
@@ -165,7 +312,7 @@ public final class ONode {
     }
 
     public ONode asObject() {
-        if (value == null) {
+        if (value == null && numType == null) {
             value = options.createMap();
             type = DataType.Object;
         }
@@ -174,7 +321,7 @@ public final class ONode {
     }
 
     public ONode asObject(Supplier<Map> factory) {
-        if (value == null) {
+        if (value == null && numType == null) {
             value = factory.get();
             type = DataType.Object;
         }
@@ -183,7 +330,7 @@ public final class ONode {
     }
 
     public ONode asArray() {
-        if (value == null) {
+        if (value == null && numType == null) {
             value = options.createList();
             type = DataType.Array;
         }
@@ -192,7 +339,7 @@ public final class ONode {
     }
 
     public ONode asArray(Supplier<List> factory) {
-        if (value == null) {
+        if (value == null && numType == null) {
             value = factory.get();
             type = DataType.Array;
         }
@@ -209,7 +356,7 @@ public final class ONode {
         if (isBoolean()) {
             return (Boolean) value;
         } else if (isNumber()) {
-            return getNumber().longValue() > 0;
+            return numberLongValue() > 0;
         } else if (isString()) {
             String str = getValueAs();
             if (str.length() > 0) {
@@ -223,14 +370,14 @@ public final class ONode {
     }
 
     public Number getNumber() {
-        return (Number) value;
+        return (Number) getValue();
     }
 
     public Number getNumber(Number def) {
-        if (value == null) {
+        if (value == null && numType == null) {
             return def;
         } else {
-            return (Number) value;
+            return (Number) getValue();
         }
     }
 
@@ -242,6 +389,16 @@ public final class ONode {
         if (isString()) {
             return (String) value;
         } else if (isNumber()) {
+            if (numType != null) {
+                if (numType == Integer.class) {
+                    return Integer.toString((int) numBits);
+                } else if (numType == Long.class) {
+                    return Long.toString(numBits);
+                } else {
+                    return Double.toString(Double.longBitsToDouble(numBits));
+                }
+            }
+
             if (value instanceof BigDecimal) {
                 if (options.hasFeature(Feature.Write_BigDecimalAsPlain)) {
                     return ((BigDecimal) value).toPlainString();
@@ -270,7 +427,7 @@ public final class ONode {
         if (isDate()) {
             return (Date) value;
         } else if (isNumber()) {
-            return new Date(getNumber().longValue());
+            return new Date(numberLongValue());
         } else if (isString()) {
             Date tmp = DateUtil.parseTry(getString());
             return tmp != null ? tmp : def;
@@ -285,7 +442,7 @@ public final class ONode {
 
     public Byte getByte(Byte def) {
         if (isNumber()) {
-            return getNumber().byteValue();
+            return numType != null ? (byte) numberIntValue() : getNumber().byteValue();
         } else if (isEmpty()) {
             return def;
         } else if (isString()) {
@@ -301,7 +458,7 @@ public final class ONode {
 
     public Short getShort(Short def) {
         if (isNumber()) {
-            return getNumber().shortValue();
+            return numType != null ? (short) numberIntValue() : getNumber().shortValue();
         } else if (isEmpty()) {
             return def;
         } else if (isString()) {
@@ -317,7 +474,7 @@ public final class ONode {
 
     public Integer getInt(Integer def) {
         if (isNumber()) {
-            return getNumber().intValue();
+            return numberIntValue();
         } else if (isEmpty()) {
             return def;
         } else if (isString()) {
@@ -335,7 +492,7 @@ public final class ONode {
 
     public Long getLong(Long def) {
         if (isNumber()) {
-            return getNumber().longValue();
+            return numberLongValue();
         } else if (isEmpty()) {
             return def;
         } else if (isString()) {
@@ -355,7 +512,7 @@ public final class ONode {
 
     public Float getFloat(Float def) {
         if (isNumber()) {
-            return getNumber().floatValue();
+            return numberFloatValue();
         } else if (isEmpty()) {
             return def;
         } else if (isString()) {
@@ -373,7 +530,7 @@ public final class ONode {
 
     public Double getDouble(Double def) {
         if (isNumber()) {
-            return getNumber().doubleValue();
+            return numberDoubleValue();
         } else if (isEmpty()) {
             return def;
         } else if (isString()) {
@@ -424,8 +581,8 @@ public final class ONode {
     }
 
     public ONode setValue(Object value) {
-        this.value = value;
         this.type = DataType.resolveValueType(value);
+        assign(value);
         return this;
     }
 
@@ -433,6 +590,8 @@ public final class ONode {
         ONode oNode = ONode.ofBean(source, options);
 
         this.value = oNode.value;
+        this.numType = oNode.numType;
+        this.numBits = oNode.numBits;
         this.type = oNode.type;
         return this;
     }
@@ -601,6 +760,7 @@ public final class ONode {
             ((List<?>) value).clear();
         } else {
             this.value = null;
+            this.numType = null;
             this.type = DataType.Null;
         }
     }
@@ -745,6 +905,63 @@ public final class ONode {
         }
     }
 
+    /**
+     * 解析 UTF-8 字节
+     *
+     * @since 4.0.54
+     */
+    public static ONode ofJson(byte[] bytes, Options opts) {
+        try {
+            if (bytes == null) {
+                return new ONode();
+            }
+
+            return JsonReader.read(bytes, opts);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    /**
+     * 解析 UTF-8 输入流
+     *
+     * @since 4.0.54
+     */
+    public static ONode ofJson(InputStream in, Options opts) {
+        try {
+            if (in == null) {
+                return new ONode();
+            }
+
+            return JsonReader.read(in, opts);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    /**
+     * 解析 UTF-8 文件（内存映射）
+     *
+     * @since 4.0.54
+     */
+    public static ONode ofJson(Path file, Options opts) {
+        try {
+            if (file == null) {
+                return new ONode();
+            }
+
+            return JsonReader.read(file, opts);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
     /// ///////////
 
     public <T> T bindTo(T target) {
@@ -792,6 +1009,44 @@ public final class ONode {
         }
     }
 
+    /**
+     * 转为 json 并以 UTF-8 字节书写到输出流（不关闭输出流）
+     *
+     * @since 4.0.54
+     */
+    public void toJson(OutputStream out) {
+        toJsonUtf8(new Utf8Writer(out, options.getBufferPool()));
+    }
+
+    /**
+     * 转为 json 并以 UTF-8 字节书写到字节通道（不关闭通道）
+     *
+     * @since 4.0.54
+     */
+    public void toJson(WritableByteChannel channel) {
+        toJsonUtf8(new Utf8Writer(channel, options.getBufferPool()));
+    }
+
+    /**
+     * 转为 json 并以 UTF-8 字节书写到字节缓冲（空间不足时抛出 BufferOverflowException）
+     *
+     * @since 4.0.54
+     */
+    public void toJson(ByteBuffer target) {
+        toJsonUtf8(new Utf8Writer(target, options.getBufferPool()));
+    }
+
+    private void toJsonUtf8(Utf8Writer writer) {
+        try {
+            JsonWriter.write(this, options, writer);
+            writer.close();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -823,8 +1078,18 @@ public final class ONode {
         if (isValue()) {
             if (o instanceof ONode) {
                 ONode o1 = (ONode) o;
+
+                if (numType != null && o1.numType != null) {
+                    //都是原始存放的数字，直接比较（不装箱）
+                    return numType == o1.numType && numberBitsEquals(o1.numBits);
+                }
+
                 return o1.isValue() && Objects.equals(getValue(), ((ONode) o).getValue());
             } else {
+                if (numType != null) {
+                    return o != null && numType == o.getClass() && numberBitsEquals(toNumberBits((Number) o));
+                }
+
                 return Objects.equals(getValue(), o);
             }
         }
@@ -839,10 +1104,42 @@ public final class ONode {
 
     @Override
     public int hashCode() {
+        if (numType != null) {
+            //与包装类的 hashCode 一致（不装箱）
+            if (numType == Integer.class) {
+                return (int) numBits;
+            } else if (numType == Long.class) {
+                return Long.hashCode(numBits);
+            } else {
+                return Double.hashCode(Double.longBitsToDouble(numBits));
+            }
+        }
+
         if (isNull()) {
             return 0;
         } else {
-            return value.hashCode();
+            return getValue().hashCode();
+        }
+    }
+
+    /**
+     * 原始存放的数字是否相等（numType 相同时；与包装类的 equals 一致，NaN 等于 NaN）
+     */
+    private boolean numberBitsEquals(long otherBits) {
+        if (numBits == otherBits) {
+            return true;
+        }
+
+        return numType == Double.class
+                && Double.isNaN(Double.longBitsToDouble(numBits))
+                && Double.isNaN(Double.longBitsToDouble(otherBits));
+    }
+
+    private static long toNumberBits(Number num) {
+        if (num instanceof Double) {
+            return Double.doubleToRawLongBits((Double) num);
+        } else {
+            return num.longValue();
         }
     }
 
@@ -945,7 +1242,57 @@ public final class ONode {
     }
 
     public static String serialize(Object object, Options opts) {
-        return ONode.ofBean(object, opts).toJson();
+        if (object == null || object instanceof ONode) {
+            return ONode.ofBean(object, opts).toJson();
+        }
+
+        try {
+            //直接书写（不构建完整的 ONode 树）
+            FastStringWriter writer = new FastStringWriter((opts == null ? Options.DEF_OPTIONS : opts).getBufferPool());
+            new JsonWriter(opts, writer).writeBean(object);
+            String json = writer.toString();
+            writer.close();
+            return json;
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * 序列化并以 UTF-8 字节书写到输出流（不关闭输出流）
+     *
+     * @since 4.0.54
+     */
+    public static void serialize(Object object, OutputStream out, Feature... features) {
+        if (Asserts.isEmpty(features)) {
+            serialize(object, out, Options.DEF_OPTIONS);
+        } else {
+            serialize(object, out, Options.of(features));
+        }
+    }
+
+    /**
+     * 序列化并以 UTF-8 字节书写到输出流（不关闭输出流；直接书写，内存占用以缓冲大小为界）
+     *
+     * @since 4.0.54
+     */
+    public static void serialize(Object object, OutputStream out, Options opts) {
+        if (object == null || object instanceof ONode) {
+            ONode.ofBean(object, opts).toJson(out);
+            return;
+        }
+
+        try {
+            Utf8Writer writer = new Utf8Writer(out, (opts == null ? Options.DEF_OPTIONS : opts).getBufferPool());
+            new JsonWriter(opts, writer).writeBean(object);
+            writer.close();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
     }
 
     public static <T> T deserialize(String json, Feature... features) {
@@ -969,7 +1316,16 @@ public final class ONode {
     }
 
     public static <T> T deserialize(String json, Type type, Options opts) {
-        return ONode.ofJson(json, opts).toBean(type);
+        if (json == null) {
+            return null;
+        }
+
+        try {
+            //直接从读取器解码（不构建完整的 ONode 树；解码异常原样抛出，与 toBean 一致）
+            return new JsonReader(json, opts).readBean(type);
+        } catch (IOException ex) {
+            throw new SnackException(ex);
+        }
     }
 
     public static <T> T deserialize(String json, TypeRef<T> type, Feature... features) {
@@ -981,6 +1337,6 @@ public final class ONode {
     }
 
     public static <T> T deserialize(String json, TypeRef<T> type, Options opts) {
-        return ONode.ofJson(json, opts).toBean(type);
+        return deserialize(json, type.getType(), opts);
     }
 }
\ No newline at end of file
@@ -16,6 +16,10 @@
 package org.noear.snack4;
 
 import org.noear.snack4.codec.*;
+import org.noear.snack4.json.util.FeaturePlan;
+import org.noear.snack4.json.util.BufferPool;
+import org.noear.snack4.json.util.KeyTable;
+import org.noear.snack4.util.CompactMap;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
@@ -67,8 +71,15 @@ public final class Options {
     private ZoneId zoneId = DEF_ZONE;
     private TimeZone timeZone = DEF_TIME_ZONE;
 
-    private Supplier<Map> mapFactory = LinkedHashMap::new;
+    //对象存放（默认紧凑映射；需要 LinkedHashMap 等时可替换）
+    private Supplier<Map> mapFactory = CompactMap::new;
     private Supplier<List> listFactory = ArrayList::new;
+    //键名表（为 null 时，每个读取器使用自己的）
+    private KeyTable keyTable;
+    //缓冲池（读取器、书写器复用缓冲）
+    private BufferPool bufferPool = BufferPool.SHARED;
+    //特性计划（按特性值与缩进缓存，变化时重建）
+    private volatile FeaturePlan featurePlan;
 
 
     private boolean readonly;
@@ -102,6 +113,8 @@ public final class Options {
         tmp.timeZone = this.timeZone;
         tmp.mapFactory = this.mapFactory;
         tmp.listFactory = this.listFactory;
+        tmp.keyTable = this.keyTable;
+        tmp.bufferPool = this.bufferPool;
 
         // 将旧 options 的特有编解码器填充到新 options 的 codecLib 中
         tmp.codecLib.fill(this.codecLib);
@@ -143,6 +156,22 @@ public final class Options {
         return featuresValue;
     }
 
+    /**
+     * 获取特性计划（供读写器使用；只读选项相当于固定缓存）
+     *
+     * @since 4.0.54
+     */
+    public FeaturePlan getFeaturePlan() {
+        FeaturePlan tmp = featurePlan;
+
+        if (tmp == null || tmp.matches(featuresValue, writeIndent) == false) {
+            tmp = new FeaturePlan(featuresValue, writeIndent);
+            featurePlan = tmp;
+        }
+
+        return tmp;
+    }
+
     public Locale getLocale() {
         return locale;
     }
@@ -185,6 +214,24 @@ public final class Options {
         return codecLib.getEncoder(value);
     }
 
+    /**
+     * 是否使用默认解码器
+     *
+     * @since 4.0.54
+     */
+    public boolean hasDefaultDecoder(Class<?> clazz) {
+        return codecLib.hasDefaultDecoder(clazz);
+    }
+
+    /**
+     * 是否使用默认编码器
+     *
+     * @since 4.0.54
+     */
+    public boolean hasDefaultEncoder(Object value) {
+        return codecLib.hasDefaultEncoder(value);
+    }
+
     /**
      * 获取创建器
      */
@@ -192,6 +239,15 @@ public final class Options {
         return codecLib.getCreator(clazz);
     }
 
+    /**
+     * 获取对象编解码器
+     *
+     * @since 4.0.54
+     */
+    public BeanCodec<?> getBeanCodec(Class<?> clazz) {
+        return codecLib.getBeanCodec(clazz);
+    }
+
     /**
      * 获取缩进字符串
      */
@@ -199,6 +255,24 @@ public final class Options {
         return writeIndent;
     }
 
+    /**
+     * 获取键名表
+     *
+     * @since 4.0.54
+     */
+    public KeyTable getKeyTable() {
+        return keyTable;
+    }
+
+    /**
+     * 获取缓冲池
+     *
+     * @since 4.0.54
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     public <T> Map<String, T> createMap() {
         return mapFactory.get();
     }
@@ -365,6 +439,20 @@ public final class Options {
         return this;
     }
 
+    /**
+     * 注册对象编解码器（一般由 snack4-apt 生成，并自动注册）
+     *
+     * @since 4.0.54
+     */
+    public <T> Options addBeanCodec(BeanCodec<T> codec) {
+        if (readonly) {
+            throw new UnsupportedOperationException(DEF_UNSUPPORTED_HINT);
+        }
+
+        codecLib.addBeanCodec(codec);
+        return this;
+    }
+
     /**
      * 注册自定义创建器
      */
@@ -389,6 +477,34 @@ public final class Options {
         return this;
     }
 
+    /**
+     * 设置键名表（多个读取器共享，例如 KeyTable.SHARED）
+     *
+     * @since 4.0.54
+     */
+    public Options keyTable(KeyTable keyTable) {
+        if (readonly) {
+            throw new UnsupportedOperationException(DEF_UNSUPPORTED_HINT);
+        }
+
+        this.keyTable = keyTable;
+        return this;
+    }
+
+    /**
+     * 设置缓冲池（默认为 BufferPool.SHARED；BufferPool.NONE 为不复用）
+     *
+     * @since 4.0.54
+     */
+    public Options bufferPool(BufferPool bufferPool) {
+        if (readonly) {
+            throw new UnsupportedOperationException(DEF_UNSUPPORTED_HINT);
+        }
+
+        this.bufferPool = Objects.requireNonNull(bufferPool, "bufferPool");
+        return this;
+    }
+
     public Options mapFactory(Supplier<Map> mapFactory) {
         this.mapFactory = mapFactory;
         return this;
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.codec;
+
+import org.noear.snack4.ONode;
+
+/**
+ * 对象编解码器（由 snack4-apt 在编译时生成，通过 ServiceLoader 注册到 CodecLib）
+ *
+ * <p>在 BeanEncoder、BeanDecoder 中替代运行时的属性扫描与反射访问（仅限字段模式）；
+ * 循环引用、类名（@type）、空值等处理保持不变。属性值的编解码上下文不带属性注解信息。
+ * 流式编解码（BeanStreamEncoder、BeanStreamDecoder）不使用它，用自己缓存的属性计划与生成的属性访问器（结果一致）</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public interface BeanCodec<T> {
+    /**
+     * 对象类型
+     */
+    Class<T> getType();
+
+    /**
+     * 新建实例
+     */
+    T create();
+
+    /**
+     * 编码属性
+     *
+     * @param encoder 编码器（通过 encodeProperty 编码属性值）
+     * @param bean    对象
+     * @param target  目标节点（对象）
+     */
+    void encode(BeanEncoder encoder, T bean, ONode target) throws Throwable;
+
+    /**
+     * 解码属性
+     *
+     * @param decoder 解码器（通过 decodeProperty 解码属性值）
+     * @param node    源节点（对象）
+     * @param target  目标对象
+     */
+    void decode(BeanDecoder decoder, ONode node, T target) throws Throwable;
+}
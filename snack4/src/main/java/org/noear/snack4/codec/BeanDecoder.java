@@ -87,6 +87,13 @@ public class BeanDecoder {
     private final boolean Decode_AllowUseSetter;
     private final boolean Decode_IgnoreError;
 
+    /**
+     * 供流式解码委托使用（没有根节点）
+     */
+    BeanDecoder(Options opts) {
+        this(null, null, null, opts);
+    }
+
     private BeanDecoder(ONode source, Type type, Object target, Options opts) {
         this.source0 = source;
         this.targetType0 = type;
@@ -111,6 +118,20 @@ public class BeanDecoder {
         }
     }
 
+    /**
+     * 解码值（供流式解码委托使用）
+     */
+    Object decodeValue(ONode node, TypeEggg typeEggg, Object target, ONodeAttrHolder attr) throws Throwable {
+        return decodeValueFromNode(node, typeEggg, target, attr);
+    }
+
+    /**
+     * 解码对象属性（供流式解码委托使用）
+     */
+    Object decodeBean(ONode node, TypeEggg typeEggg, Object target) throws Throwable {
+        return decodeBeanFromNode(node, typeEggg, target);
+    }
+
     // 类型转换核心
     private Object decodeValueFromNode(ONode node, TypeEggg typeEggg, Object target, ONodeAttrHolder attr) throws Throwable {
         if (node.isNull()) {
@@ -213,25 +234,12 @@ public class BeanDecoder {
                     throw new CodecException("can not convert bean to type: " + typeEggg.getType());
                 }
 
-                ConstrEggg constrEggg = typeEggg.getClassEggg().getCreator();
-                if (constrEggg == null) {
-                    throw new CodecException("Create instance failed: " + typeEggg.getType().getName());
-                }
-
-                constrEggg = matchBestConstructor(typeEggg.getClassEggg(), constrEggg, node);
-
-                if (constrEggg.getParamCount() == 0) {
-                    target = constrEggg.newInstance();
+                //生成的编解码器（只有无参构造器）
+                BeanCodec beanCodec = opts0.getBeanCodec(typeEggg.getType());
+                if (beanCodec != null) {
+                    target = beanCodec.create();
                 } else {
-                    if (constrEggg.isSecurity() == false //有参数
-                            && opts0.hasFeature(Feature.Write_AllowParameterizedConstructor) == false //不支持参数
-                            && typeEggg.getClassEggg().isLikeRecordClass() == false)  //不像记录类
-                    {
-                        throw new CodecException("Parameterized constructor are not allowed: " + typeEggg.getType());
-                    }
-
-                    Object[] args = getConstrArgs(constrEggg, node);
-                    target = constrEggg.newInstance(args);
+                    target = newInstance(typeEggg, node);
                 }
             }
         }
@@ -247,10 +255,47 @@ public class BeanDecoder {
         return target;
     }
 
+    private Object newInstance(TypeEggg typeEggg, ONode node) throws Throwable {
+        Object target;
+
+        ConstrEggg constrEggg = typeEggg.getClassEggg().getCreator();
+        if (constrEggg == null) {
+            throw new CodecException("Create instance failed: " + typeEggg.getType().getName());
+        }
+
+        constrEggg = matchBestConstructor(typeEggg.getClassEggg(), constrEggg, node);
+
+        if (constrEggg.getParamCount() == 0) {
+            target = BeanAccessor.from(typeEggg.getClassEggg()).newInstance(constrEggg);
+        } else {
+            if (constrEggg.isSecurity() == false //有参数
+                    && opts0.hasFeature(Feature.Write_AllowParameterizedConstructor) == false //不支持参数
+                    && typeEggg.getClassEggg().isLikeRecordClass() == false)  //不像记录类
+            {
+                throw new CodecException("Parameterized constructor are not allowed: " + typeEggg.getType());
+            }
+
+            Object[] args = getConstrArgs(constrEggg, node);
+            target = constrEggg.newInstance(args);
+        }
+
+        return target;
+    }
+
     private Object decodeBeanFromNode(ONode node, TypeEggg typeEggg, Object target) throws Throwable {
         boolean failOnUnknownProperties = opts0.hasFeature(Feature.Write_FailOnUnknownProperties);
 
+        //生成的编解码器（仅限字段模式）
+        if (failOnUnknownProperties == false && Decode_AllowUseSetter == false) {
+            BeanCodec beanCodec = opts0.getBeanCodec(target.getClass());
+            if (beanCodec != null) {
+                beanCodec.decode(this, node, target);
+                return target;
+            }
+        }
+
         ClassEggg classEggg = typeEggg.getClassEggg();
+        BeanAccessor beanAccessor = BeanAccessor.from(classEggg);
 
         if (failOnUnknownProperties) {
             //以数据为主，才能支持 Read_FailOnUnknownProperties
@@ -268,7 +313,7 @@ public class BeanDecoder {
                 PropertyEggg pe = classEggg.getPropertyEgggByAlias(kv.getKey());
 
                 if (pe != null) {
-                    decodeBeanPropertyFromNode(node, pe, target);
+                    decodeBeanPropertyFromNode(node, pe, target, beanAccessor);
                 } else {
                     throw new CodecException("Unknown property : " + kv.getKey());
                 }
@@ -282,14 +327,14 @@ public class BeanDecoder {
                     }
                 }
 
-                decodeBeanPropertyFromNode(node, pe, target);
+                decodeBeanPropertyFromNode(node, pe, target, beanAccessor);
             }
         }
 
         return target;
     }
 
-    private void decodeBeanPropertyFromNode(ONode node, PropertyEggg pe, Object target) throws Throwable {
+    private void decodeBeanPropertyFromNode(ONode node, PropertyEggg pe, Object target, BeanAccessor beanAccessor) throws Throwable {
         final Property property;
         if (Decode_OnlyUseSetter) {
             property = pe.getSetterEggg();
@@ -299,10 +344,10 @@ public class BeanDecoder {
             property = pe.getFieldEggg();
         }
 
-        decodeBeanPropertyFromNode0(node, property, target);
+        decodeBeanPropertyFromNode0(node, property, target, beanAccessor);
     }
 
-    private void decodeBeanPropertyFromNode0(ONode node, Property property, Object target) throws Throwable {
+    private void decodeBeanPropertyFromNode0(ONode node, Property property, Object target, BeanAccessor beanAccessor) throws Throwable {
         if (property == null || property.isTransient() || property.<ONodeAttrHolder>getDigest().isDecode() == false) {
             return;
         }
@@ -310,9 +355,18 @@ public class BeanDecoder {
 
         ONode oNode = (property.<ONodeAttrHolder>getDigest().isFlat() ? node : node.get(property.getAlias()));
 
+        decodePropertyValue(oNode, beanAccessor.get(property), target);
+    }
+
+    /**
+     * 解码属性值（节点为 null 时忽略）
+     */
+    void decodePropertyValue(ONode oNode, PropertyAccessor accessor, Object target) throws Throwable {
         if (oNode != null && !oNode.isNull()) {
+            Property property = accessor.getProperty();
+
             //深度填充：获取字段当前的值，作为递归调用的 target
-            Object exisValue = property.getValue(target);
+            Object exisValue = accessor.getValue(target);
             Object propValue = null;
 
             ONodeAttrHolder attr = property.<ONodeAttrHolder>getDigest();
@@ -340,8 +394,31 @@ public class BeanDecoder {
                 propValue = decodeValueFromNode(oNode, property.getTypeEggg(), exisValue, property.getDigest());
             }
 
-            property.setValue(target, propValue);
+            accessor.setValue(target, propValue);
+        }
+    }
+
+
+    /**
+     * 解码属性值（供生成的 BeanCodec 使用；节点为 null 时由调用方忽略）
+     *
+     * @param oNode     属性节点
+     * @param type      属性类型
+     * @param exisValue 属性当前的值（深度填充）
+     * @since 4.0.54
+     */
+    public Object decodeProperty(ONode oNode, Type type, Object exisValue) throws Throwable {
+        TypeEggg typeEggg = EgggUtil.getTypeEggg(type);
+
+        if (exisValue == null && typeEggg.isPrimitive() == false) {
+            // 尝试从字段类型的类级别 @ONodeAttr 注解获取 creator
+            ONodeAttrHolder clzAttr = typeEggg.getClassEggg().getDigest();
+            if (clzAttr != null && clzAttr.getCreator() != null) {
+                exisValue = clzAttr.getCreator().create(opts0, oNode, typeEggg.getType());
+            }
         }
+
+        return decodeValueFromNode(oNode, typeEggg, exisValue, null);
     }
 
 
@@ -353,15 +430,7 @@ public class BeanDecoder {
             elementType = typeEggg.getActualTypeArguments()[0];
         }
 
-        if (elementType instanceof WildcardType) {
-            WildcardType tmp = (WildcardType) elementType;
-
-            if (Asserts.isEmpty(tmp.getLowerBounds())) {
-                elementType = tmp.getUpperBounds()[0];
-            } else {
-                elementType = tmp.getLowerBounds()[0];
-            }
-        }
+        elementType = resolveWildcard(elementType);
 
         Collection coll = (Collection) target;
 
@@ -423,15 +492,7 @@ public class BeanDecoder {
                 valueType = targetTypeEggg.getActualTypeArguments()[1];
             }
 
-            if (valueType instanceof WildcardType) {
-                WildcardType tmp = (WildcardType) valueType;
-
-                if (Asserts.isEmpty(tmp.getLowerBounds())) {
-                    valueType = tmp.getUpperBounds()[0];
-                } else {
-                    valueType = tmp.getLowerBounds()[0];
-                }
-            }
+            valueType = resolveWildcard(valueType);
 
             TypeEggg keyTypeEggg = EgggUtil.getTypeEggg(keyType);
             TypeEggg valueTypeEggg = EgggUtil.getTypeEggg(valueType);
@@ -460,8 +521,23 @@ public class BeanDecoder {
         }
     }
 
+    // 通配类型转为边界类型
+    static Type resolveWildcard(Type type) {
+        if (type instanceof WildcardType) {
+            WildcardType tmp = (WildcardType) type;
+
+            if (Asserts.isEmpty(tmp.getLowerBounds())) {
+                return tmp.getUpperBounds()[0];
+            } else {
+                return tmp.getLowerBounds()[0];
+            }
+        }
+
+        return type;
+    }
+
     // Map键类型转换
-    private Object decodeKey(String key, TypeEggg keyType) {
+    Object decodeKey(String key, TypeEggg keyType) {
         if (keyType.getType() == String.class || keyType.getType() == Object.class) return key;
         if (keyType.getType() == Integer.class || keyType.getType() == int.class) return Integer.parseInt(key);
         if (keyType.getType() == Long.class || keyType.getType() == long.class) return Long.parseLong(key);
@@ -27,6 +27,7 @@ import org.noear.snack4.codec.util.*;
 import org.noear.snack4.util.Asserts;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Type;
 import java.util.*;
 
 /**
@@ -70,9 +71,20 @@ public class BeanEncoder {
     private final boolean Encode_AllowUseGetter;
 
     private BeanEncoder(Object value, Options opts) {
+        this(value, opts, new IdentityHashMap<>());
+    }
+
+    /**
+     * 供流式编码委托使用（共用循环引用检测）
+     */
+    BeanEncoder(Options opts, Map<Object, Object> visited) {
+        this(null, opts, visited);
+    }
+
+    private BeanEncoder(Object value, Options opts, Map<Object, Object> visited) {
         this.source0 = value;
         this.opts0 = opts == null ? Options.DEF_OPTIONS : opts;
-        this.visited = new IdentityHashMap<>();
+        this.visited = visited;
 
         this.Write_Nulls = opts0.hasFeature(Feature.Write_Nulls);
         this.Encode_OnlyUseGetter =  opts0.hasFeature(Feature.Encode_OnlyUseGetter) || opts0.hasFeature(Feature.Read_OnlyUseGetter);
@@ -99,6 +111,13 @@ public class BeanEncoder {
         }
     }
 
+    /**
+     * 编码值（供流式编码委托使用）
+     */
+    ONode encodeValue(Object value, ONodeAttrHolder attr) throws Throwable {
+        return encodeValueToNode(value, attr);
+    }
+
     // 值转ONode处理
     private ONode encodeValueToNode(Object value, ONodeAttrHolder attr) throws Throwable {
         if (value == null) {
@@ -153,7 +172,15 @@ public class BeanEncoder {
                 tmp.set(opts0.getTypePropertyName(), bean.getClass().getName());
             }
 
+            //生成的编解码器（仅限字段模式）
+            BeanCodec beanCodec = (Encode_AllowUseGetter ? null : opts0.getBeanCodec(bean.getClass()));
+            if (beanCodec != null) {
+                beanCodec.encode(this, bean, tmp);
+                return tmp;
+            }
+
             ClassEggg classEggg = EgggUtil.getTypeEggg(bean.getClass()).getClassEggg();
+            BeanAccessor beanAccessor = BeanAccessor.from(classEggg);
 
             for (PropertyEggg pw : classEggg.getPropertyEgggs()) {
                 final Property property;
@@ -174,7 +201,7 @@ public class BeanEncoder {
                     continue;
                 }
 
-                ONode propertyNode = encodeBeanPropertyToNode(bean, property);
+                ONode propertyNode = encodeBeanPropertyToNode(bean, beanAccessor.get(property));
 
                 if (propertyNode != null) {
                     if (attr.isFlat()) {
@@ -193,8 +220,14 @@ public class BeanEncoder {
         return tmp;
     }
 
-    private ONode encodeBeanPropertyToNode(Object bean, Property property) throws Throwable {
-        Object propValue = property.getValue(bean);
+    private ONode encodeBeanPropertyToNode(Object bean, PropertyAccessor accessor) throws Throwable {
+        return encodePropertyValue(accessor.getValue(bean), accessor.getProperty());
+    }
+
+    /**
+     * 编码属性值（返回 null 时表示不输出）
+     */
+    ONode encodePropertyValue(Object propValue, Property property) throws Throwable {
         ONode propNode = null;
 
         ONodeAttrHolder attr = property.getDigest();
@@ -203,33 +236,7 @@ public class BeanEncoder {
             propNode = attr.getEncoder().encode(new EncodeContext(opts0, attr, propValue), propValue, new ONode(opts0));
         } else {
             if (propValue == null) {
-                TypeEggg ptw = property.getTypeEggg();
-                //分类控制
-                if (ptw.getType() == List.class) {
-                    if ((opts0.hasFeature(Feature.Write_NullListAsEmpty) || attr.hasFeature(Feature.Write_NullListAsEmpty))) {
-                        propValue = new ArrayList<>();
-                    }
-                } else if (ptw.isString()) {
-                    if ((opts0.hasFeature(Feature.Write_NullStringAsEmpty) || attr.hasFeature(Feature.Write_NullStringAsEmpty))) {
-                        propValue = "";
-                    }
-                } else if (ptw.isBoolean()) {
-                    if ((opts0.hasFeature(Feature.Write_NullBooleanAsFalse) || attr.hasFeature(Feature.Write_NullBooleanAsFalse))) {
-                        propValue = false;
-                    }
-                } else if (ptw.isNumber()) {
-                    if ((opts0.hasFeature(Feature.Write_NullNumberAsZero) || attr.hasFeature(Feature.Write_NullNumberAsZero))) {
-                        if (ptw.getType() == Long.class) {
-                            propValue = 0L;
-                        } else if (ptw.getType() == Double.class) {
-                            propValue = 0D;
-                        } else if (ptw.getType() == Float.class) {
-                            propValue = 0F;
-                        } else {
-                            propValue = 0;
-                        }
-                    }
-                }
+                propValue = getNullValue(property.getTypeEggg(), attr);
 
                 //托底控制
                 if (propValue == null) {
@@ -254,6 +261,69 @@ public class BeanEncoder {
         return propNode;
     }
 
+    /**
+     * 空值替代（按属性类型与特性）
+     */
+    private Object getNullValue(TypeEggg ptw, ONodeAttrHolder attr) {
+        //分类控制
+        if (ptw.getType() == List.class) {
+            if (hasFeature(Feature.Write_NullListAsEmpty, attr)) {
+                return new ArrayList<>();
+            }
+        } else if (ptw.isString()) {
+            if (hasFeature(Feature.Write_NullStringAsEmpty, attr)) {
+                return "";
+            }
+        } else if (ptw.isBoolean()) {
+            if (hasFeature(Feature.Write_NullBooleanAsFalse, attr)) {
+                return false;
+            }
+        } else if (ptw.isNumber()) {
+            if (hasFeature(Feature.Write_NullNumberAsZero, attr)) {
+                if (ptw.getType() == Long.class) {
+                    return 0L;
+                } else if (ptw.getType() == Double.class) {
+                    return 0D;
+                } else if (ptw.getType() == Float.class) {
+                    return 0F;
+                } else {
+                    return 0;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private boolean hasFeature(Feature feature, ONodeAttrHolder attr) {
+        return opts0.hasFeature(feature) || (attr != null && attr.hasFeature(feature));
+    }
+
+    /**
+     * 编码属性（供生成的 BeanCodec 使用；空值处理与反射方式一致）
+     *
+     * @param target 目标节点（对象）
+     * @param name   属性名
+     * @param value  属性值
+     * @param type   属性类型
+     * @since 4.0.54
+     */
+    public void encodeProperty(ONode target, String name, Object value, Type type) throws Throwable {
+        if (value == null) {
+            value = getNullValue(EgggUtil.getTypeEggg(type), null);
+
+            if (value == null && Write_Nulls == false) {
+                return;
+            }
+        }
+
+        ONode propNode = encodeValueToNode(value, null);
+
+        if (propNode != null) {
+            target.set(name, propNode);
+        }
+    }
+
     // 处理数组类型
     private ONode encodeArrayToNode(Object array) throws Throwable {
         ONode tmp = new ONode(opts0).asArray();
@@ -301,7 +371,7 @@ public class BeanEncoder {
         }
     }
 
-    private boolean isWriteClassName(Options opts, Object obj) {
+    static boolean isWriteClassName(Options opts, Object obj) {
         if (obj == null) {
             return false;
         }
@@ -0,0 +1,717 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.codec;
+
+import org.noear.eggg.*;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.annotation.ONodeAttrHolder;
+import org.noear.snack4.codec.util.BeanAccessor;
+import org.noear.snack4.codec.util.EgggUtil;
+import org.noear.snack4.codec.util.PropertyAccessor;
+import org.noear.snack4.json.JsonReader;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象流式解码器（由 JsonReader 直接驱动，不构建完整的 ONode 树）
+ *
+ * <p>对象、集合、Map 边读边解码；标量值读成单个节点后交给 BeanDecoder（转换规则保持一致）。
+ * 需要节点数据的情况（自定义解码器、自定义创建器、flat 属性、@type 等），只把当前子树读成 ONode 再交给 BeanDecoder</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class BeanStreamDecoder {
+    /**
+     * 从读取器解码为 Java Object
+     *
+     * @param reader 读取器
+     * @param type   类型
+     * @param opts   选项
+     */
+    public static <T> T decode(JsonReader reader, Type type, Options opts) throws IOException {
+        if (type == null) {
+            reader.readValue();
+            return null;
+        }
+
+        BeanStreamDecoder decoder = new BeanStreamDecoder(reader, opts);
+
+        try {
+            return (T) decoder.decodeValue(EgggUtil.getTypeEggg(type), null, null);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CodecException("Failed to decode bean from json", e);
+        }
+    }
+
+    //不能流式解码（需要回退到子树）
+    private static final Object NOT_STREAMED = new Object();
+    private static final Map<ClassEggg, BeanPlan[]> planCached = new ConcurrentHashMap<>();
+
+    private final JsonReader reader;
+    private final Options opts;
+    private final BeanDecoder delegate;
+
+    private final int planMode;
+    private final boolean Read_AutoType;
+    private final boolean Write_FailOnUnknownProperties;
+    private final boolean Write_AllowParameterizedConstructor;
+    //int、long、double 是否使用默认解码器（按需确定；0 未确定，1 是，2 否）
+    private final byte[] numberDirect = new byte[4];
+    //对象属性值数组（按嵌套深度复用）
+    private Object[][] valuesStack = new Object[8][];
+    private int valuesDepth;
+
+    private BeanStreamDecoder(JsonReader reader, Options opts) {
+        this.reader = reader;
+        this.opts = opts == null ? Options.DEF_OPTIONS : opts;
+        this.delegate = new BeanDecoder(this.opts);
+
+        //与 BeanDecoder 的属性选择规则保持一致
+        if (this.opts.hasFeature(Feature.Decode_OnlyUseSetter) || this.opts.hasFeature(Feature.Write_OnlyUseSetter)) {
+            this.planMode = BeanPlan.MODE_ONLY_SETTER;
+        } else if (this.opts.hasFeature(Feature.Decode_AllowUseSetter) || this.opts.hasFeature(Feature.Write_AllowUseSetter)) {
+            this.planMode = BeanPlan.MODE_ALLOW_SETTER;
+        } else {
+            this.planMode = BeanPlan.MODE_FIELD;
+        }
+
+        this.Read_AutoType = this.opts.hasFeature(Feature.Read_AutoType);
+        this.Write_FailOnUnknownProperties = this.opts.hasFeature(Feature.Write_FailOnUnknownProperties);
+        this.Write_AllowParameterizedConstructor = this.opts.hasFeature(Feature.Write_AllowParameterizedConstructor);
+    }
+
+    private Object decodeValue(TypeEggg typeEggg, Object target, ONodeAttrHolder attr) throws Throwable {
+        char c = reader.peekValue();
+
+        if (c == '{' || c == '[') {
+            Object val = (c == '{' ? decodeObject(typeEggg, target, attr) : decodeArray(typeEggg, target, attr));
+
+            if (val != NOT_STREAMED) {
+                return val;
+            }
+        }
+
+        //标量或不能流式解码的，读成节点（子树）后委托
+        return delegate.decodeValue(reader.readValue(), typeEggg, target, attr);
+    }
+
+    private Object decodeObject(TypeEggg typeEggg, Object target, ONodeAttrHolder attr) throws Throwable {
+        if (Read_AutoType || typeEggg.getType() == ONode.class) {
+            return NOT_STREAMED;
+        }
+
+        if (typeEggg.getType() == Object.class) {
+            typeEggg = EgggUtil.getTypeEggg(LinkedHashMap.class);
+        }
+
+        Class<?> clz = typeEggg.getType();
+
+        if (opts.getDecoder(clz) != null) {
+            return NOT_STREAMED;
+        }
+
+        if (Map.class.isAssignableFrom(clz)) {
+            if (target == null) {
+                target = newInstance(typeEggg, attr);
+            }
+
+            if (target instanceof Map) {
+                return decodeMap(typeEggg, (Map) target);
+            } else {
+                return NOT_STREAMED;
+            }
+        }
+
+        if (Collection.class.isAssignableFrom(clz) || clz.isInterface()) {
+            return NOT_STREAMED;
+        }
+
+        //有生成的编解码器的，也用自己的计划（属性访问器已生成，行为一致），不回退为节点
+        BeanPlan plan = getPlan(typeEggg);
+        if (plan.streamable == false) {
+            return NOT_STREAMED;
+        }
+
+        if (target == null) {
+            if (hasCreator(clz, attr) || plan.creator == null) {
+                return NOT_STREAMED;
+            }
+
+            if (plan.creator.getParamCount() > 0) {
+                return decodeRecord(typeEggg, plan);
+            }
+
+            target = plan.accessor.newInstance(plan.creator);
+        } else if (target instanceof Map || target instanceof Collection) {
+            return NOT_STREAMED;
+        }
+
+        return decodeBean(plan, target);
+    }
+
+    private Object decodeArray(TypeEggg typeEggg, Object target, ONodeAttrHolder attr) throws Throwable {
+        if (typeEggg.getType() == Object.class) {
+            typeEggg = EgggUtil.getTypeEggg(ArrayList.class);
+        }
+
+        Class<?> clz = typeEggg.getType();
+
+        if (Collection.class.isAssignableFrom(clz) == false || opts.getDecoder(clz) != null) {
+            return NOT_STREAMED;
+        }
+
+        if (target == null) {
+            target = newInstance(typeEggg, attr);
+        }
+
+        if (target instanceof Collection == false) {
+            return NOT_STREAMED;
+        }
+
+        Type elementType = Object.class;
+        if (typeEggg.isParameterizedType()) {
+            elementType = typeEggg.getActualTypeArguments()[0];
+        }
+
+        TypeEggg elementTypeEggg = EgggUtil.getTypeEggg(BeanDecoder.resolveWildcard(elementType));
+
+        Collection coll = (Collection) target;
+        if (coll == Collections.EMPTY_LIST) {
+            coll = new ArrayList();
+        } else if (coll == Collections.EMPTY_SET) {
+            coll = new HashSet();
+        }
+
+        reader.beginArray();
+        while (reader.nextElement()) {
+            char c = reader.peekValue();
+            Object item = NOT_STREAMED;
+
+            //填充集合时，元素为新创建的，所以 target 传 null
+            if (c == '{') {
+                item = decodeObject(elementTypeEggg, null, null);
+            } else if (c == '[') {
+                item = decodeArray(elementTypeEggg, null, null);
+            }
+
+            if (item != NOT_STREAMED) {
+                coll.add(item);
+            } else {
+                ONode n1 = reader.readValue();
+
+                if (n1.isUndefined() == false) {
+                    coll.add(delegate.decodeValue(n1, elementTypeEggg, null, null));
+                }
+            }
+
+            if (reader.endMember(']') == false) {
+                break;
+            }
+        }
+
+        return coll;
+    }
+
+    private Object decodeMap(TypeEggg typeEggg, Map target) throws Throwable {
+        Type keyType = Object.class;
+        Type valueType = Object.class;
+        if (typeEggg.isParameterizedType()) {
+            keyType = typeEggg.getActualTypeArguments()[0];
+            valueType = typeEggg.getActualTypeArguments()[1];
+        }
+
+        TypeEggg keyTypeEggg = EgggUtil.getTypeEggg(keyType);
+        TypeEggg valueTypeEggg = EgggUtil.getTypeEggg(BeanDecoder.resolveWildcard(valueType));
+
+        Map map = (target == Collections.EMPTY_MAP ? new LinkedHashMap<>() : target);
+
+        reader.beginObject();
+        String key;
+        while ((key = reader.nextName()) != null) {
+            if (key.equals(opts.getTypePropertyName())) {
+                reader.readValue();
+            } else {
+                //Map 的值是新对象，递归调用时 target 传 null
+                Object k = delegate.decodeKey(key, keyTypeEggg);
+                Object v = decodeValue(valueTypeEggg, null, null);
+                map.put(k, v);
+            }
+
+            if (reader.endMember('}') == false) {
+                break;
+            }
+        }
+
+        return map;
+    }
+
+    /**
+     * 解码对象属性（与先构建 ONode 树再解码的结果一致：重复的键名只取最后一次出现的值，
+     * 深度填充总是基于属性原来的值；所以先读完整个对象，再按属性顺序设置）
+     */
+    private Object decodeBean(BeanPlan plan, Object target) throws Throwable {
+        Object[] values = borrowValues(plan.slots.length);
+
+        try {
+            reader.beginObject();
+            String key;
+            while ((key = reader.nextName()) != null) {
+                PropertySlot slot = plan.properties.get(key);
+
+                if (slot == null) {
+                    if (Write_FailOnUnknownProperties
+                            && plan.aliases.contains(key) == false
+                            && key.equals(opts.getTypePropertyName()) == false) {
+                        throw new CodecException("Unknown property : " + key);
+                    }
+
+                    reader.readValue();
+                } else {
+                    values[slot.index] = readProperty(slot, target);
+                }
+
+                if (reader.endMember('}') == false) {
+                    break;
+                }
+            }
+
+            for (PropertySlot slot : plan.slots) {
+                Object value = values[slot.index];
+
+                if (value != null) {
+                    applyProperty(slot, target, value);
+                }
+            }
+        } finally {
+            releaseValues(values, plan.slots.length);
+        }
+
+        return target;
+    }
+
+    /**
+     * 读取属性值（不修改对象）
+     *
+     * @return ONode（交给 BeanDecoder 或按原始类型设置）；PendingValue（流式解码的结果）
+     */
+    private Object readProperty(PropertySlot slot, Object target) throws Throwable {
+        if (slot.direct) {
+            char c = reader.peekValue();
+
+            if (c == '{' || c == '[') {
+                Property property = slot.accessor.getProperty();
+                Object exisValue = slot.accessor.getValue(target);
+
+                if (exisValue == null) {
+                    Object propValue = (c == '{' ?
+                            decodeObject(property.getTypeEggg(), null, property.getDigest()) :
+                            decodeArray(property.getTypeEggg(), null, property.getDigest()));
+
+                    if (propValue != NOT_STREAMED) {
+                        return new PendingValue(PendingValue.SET, propValue);
+                    }
+                } else if (c == '[' && exisValue instanceof Collection) {
+                    //深度填充：先解码到临时集合，设置时再添加到原来的集合
+                    Object propValue = decodeArray(property.getTypeEggg(), new ArrayList<>(), property.getDigest());
+
+                    if (propValue != NOT_STREAMED) {
+                        return new PendingValue(PendingValue.ADD_ALL, propValue);
+                    }
+                } else if (c == '{' && exisValue instanceof Map) {
+                    Object propValue = decodeObject(property.getTypeEggg(), new LinkedHashMap<>(), property.getDigest());
+
+                    if (propValue != NOT_STREAMED) {
+                        return new PendingValue(PendingValue.PUT_ALL, propValue);
+                    }
+                }
+
+                //深度填充到原来的对象（或不能流式解码的），读成子树
+            }
+        }
+
+        return reader.readValue();
+    }
+
+    /**
+     * 设置属性值
+     */
+    private void applyProperty(PropertySlot slot, Object target, Object value) throws Throwable {
+        if (value instanceof ONode) {
+            ONode oNode = (ONode) value;
+
+            if (slot.primitive != PropertySlot.PRIMITIVE_NONE
+                    && slot.direct
+                    && oNode.getNumberRawType() != null
+                    && isNumberDirect(slot.primitive)) {
+                //原始存放的数字，直接设置（不装箱）
+                setNumber(slot, target, oNode);
+            } else {
+                delegate.decodePropertyValue(oNode, slot.accessor, target);
+            }
+
+            return;
+        }
+
+        PendingValue pending = (PendingValue) value;
+        Object propValue = pending.value;
+
+        if (pending.kind == PendingValue.ADD_ALL) {
+            Collection coll = (Collection) slot.accessor.getValue(target);
+            if (coll == Collections.EMPTY_LIST) {
+                coll = new ArrayList();
+            } else if (coll == Collections.EMPTY_SET) {
+                coll = new HashSet();
+            }
+
+            coll.addAll((Collection) propValue);
+            propValue = coll;
+        } else if (pending.kind == PendingValue.PUT_ALL) {
+            Map map = (Map) slot.accessor.getValue(target);
+            if (map == Collections.EMPTY_MAP) {
+                map = new LinkedHashMap();
+            }
+
+            map.putAll((Map) propValue);
+            propValue = map;
+        }
+
+        slot.accessor.setValue(target, propValue);
+    }
+
+    /**
+     * 借用属性值数组（按嵌套深度复用）
+     */
+    private Object[] borrowValues(int size) {
+        if (valuesDepth == valuesStack.length) {
+            valuesStack = Arrays.copyOf(valuesStack, valuesDepth * 2);
+        }
+
+        Object[] values = valuesStack[valuesDepth];
+        if (values == null || values.length < size) {
+            values = new Object[Math.max(size, 8)];
+            valuesStack[valuesDepth] = values;
+        }
+
+        valuesDepth++;
+        return values;
+    }
+
+    private void releaseValues(Object[] values, int size) {
+        Arrays.fill(values, 0, size, null);
+        valuesDepth--;
+    }
+
+    /**
+     * 设置原始类型属性（转换规则与 ONode.getInt、getLong、getDouble 一致）
+     */
+    private static void setNumber(PropertySlot slot, Object target, ONode oNode) throws Throwable {
+        boolean isDouble = (oNode.getNumberRawType() == Double.class);
+        long bits = oNode.getNumberRawBits();
+
+        if (slot.primitive == PropertySlot.PRIMITIVE_INT) {
+            slot.accessor.setInt(target, isDouble ? (int) Double.longBitsToDouble(bits) : (int) bits);
+        } else if (slot.primitive == PropertySlot.PRIMITIVE_LONG) {
+            slot.accessor.setLong(target, isDouble ? (long) Double.longBitsToDouble(bits) : bits);
+        } else {
+            slot.accessor.setDouble(target, isDouble ? Double.longBitsToDouble(bits) : (double) bits);
+        }
+    }
+
+    /**
+     * 数字类型是否使用默认解码器（是的话，原始类型属性可直接设置）
+     */
+    private boolean isNumberDirect(int primitive) {
+        byte state = numberDirect[primitive];
+
+        if (state == 0) {
+            Class<?> type;
+            if (primitive == PropertySlot.PRIMITIVE_INT) {
+                type = int.class;
+            } else if (primitive == PropertySlot.PRIMITIVE_LONG) {
+                type = long.class;
+            } else {
+                type = double.class;
+            }
+
+            state = (opts.hasDefaultDecoder(type) ? (byte) 1 : (byte) 2);
+            numberDirect[primitive] = state;
+        }
+
+        return state == 1;
+    }
+
+    /**
+     * 带参数构造的（像 java record, kotlin data）：参数边读边解码，其它属性在创建后设置
+     */
+    private Object decodeRecord(TypeEggg typeEggg, BeanPlan plan) throws Throwable {
+        ConstrEggg constrEggg = plan.creator;
+
+        if (plan.recordable == false) {
+            return NOT_STREAMED;
+        }
+
+        if (constrEggg.isSecurity() == false
+                && Write_AllowParameterizedConstructor == false
+                && typeEggg.getClassEggg().isLikeRecordClass() == false) {
+            //交给 BeanDecoder（由它报错）
+            return NOT_STREAMED;
+        }
+
+        Object[] args = new Object[constrEggg.getParamCount()];
+        ONode others = null;
+
+        reader.beginObject();
+        String key;
+        while ((key = reader.nextName()) != null) {
+            Integer idx = plan.params.get(key);
+
+            if (idx != null) {
+                ParamEggg p = constrEggg.getParamEgggAt(idx);
+                args[idx] = decodeValue(p.getTypeEggg(), null, p.getDigest());
+            } else {
+                if (others == null) {
+                    others = new ONode(opts).asObject();
+                }
+
+                others.set(key, reader.readValue());
+            }
+
+            if (reader.endMember('}') == false) {
+                break;
+            }
+        }
+
+        Object target = constrEggg.newInstance(args);
+
+        if (others != null) {
+            delegate.decodeBean(others, typeEggg, target);
+        }
+
+        return target;
+    }
+
+    /**
+     * 创建实例（只使用不依赖节点数据的方式）
+     *
+     * @return 不能创建时返回 null
+     */
+    private Object newInstance(TypeEggg typeEggg, ONodeAttrHolder attr) throws Throwable {
+        Class<?> clz = typeEggg.getType();
+
+        ObjectCreator creator = (attr == null ? null : attr.getCreator());
+        if (creator == null) {
+            creator = opts.getCreator(clz);
+        }
+
+        if (creator != null) {
+            if (CodecLib.isDefaultCreator(creator)) {
+                return creator.create(opts, null, clz);
+            } else {
+                return null;
+            }
+        }
+
+        if (clz.isInterface()) {
+            return null;
+        }
+
+        ConstrEggg constrEggg = typeEggg.getClassEggg().getCreator();
+        if (constrEggg == null || constrEggg.getParamCount() > 0) {
+            return null;
+        }
+
+        return BeanAccessor.from(typeEggg.getClassEggg()).newInstance(constrEggg);
+    }
+
+    private boolean hasCreator(Class<?> clz, ONodeAttrHolder attr) {
+        if (attr != null && attr.getCreator() != null) {
+            return true;
+        }
+
+        return opts.getCreator(clz) != null;
+    }
+
+    private BeanPlan getPlan(TypeEggg typeEggg) {
+        BeanPlan[] plans = planCached.computeIfAbsent(typeEggg.getClassEggg(), k -> new BeanPlan[3]);
+        BeanPlan plan = plans[planMode];
+
+        if (plan == null) {
+            plan = new BeanPlan(typeEggg, planMode);
+            plans[planMode] = plan;
+        }
+
+        return plan;
+    }
+
+    /**
+     * 对象解码计划（按类及属性选择方式缓存）
+     */
+    static class BeanPlan {
+        static final int MODE_FIELD = 0;
+        static final int MODE_ALLOW_SETTER = 1;
+        static final int MODE_ONLY_SETTER = 2;
+
+        //是否可以流式解码（有 flat 属性等，则不能）
+        final boolean streamable;
+        final ConstrEggg creator;
+        final BeanAccessor accessor;
+        //带参数构造时，是否可以直接确定构造器
+        final boolean recordable;
+        final Map<String, Integer> params = new HashMap<>();
+        final Map<String, PropertySlot> properties = new HashMap<>();
+        //按属性顺序（与 BeanDecoder 的设置顺序一致）
+        final PropertySlot[] slots;
+        //所有已知的属性别名（用于 Write_FailOnUnknownProperties）
+        final Set<String> aliases = new HashSet<>();
+
+        BeanPlan(TypeEggg typeEggg, int mode) {
+            ClassEggg classEggg = typeEggg.getClassEggg();
+
+            this.creator = classEggg.getCreator();
+            this.accessor = BeanAccessor.from(classEggg);
+
+            boolean hasParams = creator != null && creator.getParamCount() > 0;
+            boolean streamable = true;
+
+            if (hasParams) {
+                for (int j = 0; j < creator.getParamCount(); j++) {
+                    params.put(creator.getParamEgggAt(j).getAlias(), j);
+                }
+
+                aliases.addAll(params.keySet());
+            }
+
+            for (PropertyEggg pe : classEggg.getPropertyEgggs()) {
+                aliases.add(pe.getAlias());
+
+                if (hasParams && creator.hasParamEgggByAlias(pe.getAlias())) {
+                    continue;
+                }
+
+                final Property property;
+                if (mode == MODE_ONLY_SETTER) {
+                    property = pe.getSetterEggg();
+                } else if (mode == MODE_ALLOW_SETTER && pe.getSetterEggg() != null) {
+                    property = pe.getSetterEggg();
+                } else {
+                    property = pe.getFieldEggg();
+                }
+
+                if (property == null || property.isTransient() || property.<ONodeAttrHolder>getDigest().isDecode() == false) {
+                    continue;
+                }
+
+                ONodeAttrHolder attr = property.getDigest();
+
+                if (attr.isFlat()
+                        || property.getAlias().equals(pe.getAlias()) == false
+                        || properties.containsKey(property.getAlias())) {
+                    //flat 需要整个节点；别名不一致或重复的，按数据驱动时结果会不同
+                    streamable = false;
+                    break;
+                }
+
+                properties.put(property.getAlias(), new PropertySlot(properties.size(), accessor.get(property), isDirect(property, attr)));
+            }
+
+            this.slots = new PropertySlot[properties.size()];
+            for (PropertySlot slot : properties.values()) {
+                slots[slot.index] = slot;
+            }
+
+            this.streamable = streamable;
+            this.recordable = hasParams &&
+                    (creator.isSecurity() || typeEggg.getType().getDeclaredConstructors().length == 1);
+        }
+
+        /**
+         * 是否可以直接流式解码（没有属性解码器与创建器）
+         */
+        private static boolean isDirect(Property property, ONodeAttrHolder attr) {
+            if (attr.getDecoder() != null || attr.getCreator() != null) {
+                return false;
+            }
+
+            if (property.getTypeEggg().isPrimitive()) {
+                return true;
+            }
+
+            ONodeAttrHolder clzAttr = property.getTypeEggg().getClassEggg().getDigest();
+            return clzAttr == null || clzAttr.getCreator() == null;
+        }
+    }
+
+    static class PropertySlot {
+        static final int PRIMITIVE_NONE = 0;
+        static final int PRIMITIVE_INT = 1;
+        static final int PRIMITIVE_LONG = 2;
+        static final int PRIMITIVE_DOUBLE = 3;
+
+        //在计划中的序号
+        final int index;
+        final PropertyAccessor accessor;
+        final boolean direct;
+        //原始类型（int、long、double；否则为 PRIMITIVE_NONE）
+        final int primitive;
+
+        PropertySlot(int index, PropertyAccessor accessor, boolean direct) {
+            this.index = index;
+            this.accessor = accessor;
+            this.direct = direct;
+            this.primitive = primitiveOf(accessor.getProperty().getTypeEggg().getType());
+        }
+
+        private static int primitiveOf(Class<?> type) {
+            if (type == int.class) {
+                return PRIMITIVE_INT;
+            } else if (type == long.class) {
+                return PRIMITIVE_LONG;
+            } else if (type == double.class) {
+                return PRIMITIVE_DOUBLE;
+            } else {
+                return PRIMITIVE_NONE;
+            }
+        }
+    }
+
+    /**
+     * 流式解码的属性值（读完对象后再设置）
+     */
+    static class PendingValue {
+        //新值，直接设置
+        static final int SET = 0;
+        //深度填充：添加到原来的集合
+        static final int ADD_ALL = 1;
+        //深度填充：放入原来的 Map
+        static final int PUT_ALL = 2;
+
+        final int kind;
+        final Object value;
+
+        PendingValue(int kind, Object value) {
+            this.kind = kind;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.codec;
+
+import org.noear.eggg.ClassEggg;
+import org.noear.eggg.Property;
+import org.noear.eggg.PropertyEggg;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.annotation.ONodeAttrHolder;
+import org.noear.snack4.codec.util.BeanAccessor;
+import org.noear.snack4.codec.util.EgggUtil;
+import org.noear.snack4.codec.util.PropertyAccessor;
+import org.noear.snack4.json.JsonWriter;
+import org.noear.snack4.json.util.NameFragment;
+import org.noear.snack4.util.Asserts;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象流式编码器（直接驱动 JsonWriter，不构建完整的 ONode 树）
+ *
+ * <p>对象、集合、Map、数组边遍历边书写；标量值仍由编码器生成单个节点再书写（转换规则保持一致）。
+ * 自定义编码器生成的 ONode 片段直接内联书写；有 flat 属性等不能流式编码的对象，交给 BeanEncoder 生成子树</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class BeanStreamEncoder {
+    /**
+     * Java Object 编码并书写
+     *
+     * @param writer 书写器
+     * @param value  值
+     * @param opts   选项
+     */
+    public static void encode(JsonWriter writer, Object value, Options opts) throws IOException {
+        BeanStreamEncoder encoder = new BeanStreamEncoder(writer, opts);
+
+        try {
+            encoder.encodeRoot(value);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CodecException("Failed to encode bean to json", e);
+        }
+    }
+
+    private static final Map<Class<?>, BeanPlan[]> planCached = new ConcurrentHashMap<>();
+
+    private final JsonWriter writer;
+    private final Options opts;
+    private final Map<Object, Object> visited;
+    private final BeanEncoder delegate;
+    private final String typePropertyName;
+
+    private final int planMode;
+    private final boolean Write_Nulls;
+    private final boolean Write_ClassName;
+    private final boolean Write_NotRootClassName;
+    //影响键名书写的特性值（键名片段缓存校验）
+    private final long nameFeatures;
+    //int、long、double 是否使用默认编码器（按需确定；0 未确定，1 是，2 否）
+    private final byte[] numberDirect = new byte[4];
+
+    private BeanStreamEncoder(JsonWriter writer, Options opts) {
+        this.writer = writer;
+        this.opts = opts == null ? Options.DEF_OPTIONS : opts;
+        this.visited = new IdentityHashMap<>();
+        this.delegate = new BeanEncoder(this.opts, visited);
+        this.typePropertyName = this.opts.getTypePropertyName();
+
+        //与 BeanEncoder 的属性选择规则保持一致
+        if (this.opts.hasFeature(Feature.Encode_OnlyUseGetter) || this.opts.hasFeature(Feature.Read_OnlyUseGetter)) {
+            this.planMode = BeanPlan.MODE_ONLY_GETTER;
+        } else if (this.opts.hasFeature(Feature.Encode_AllowUseGetter) || this.opts.hasFeature(Feature.Read_AllowUseGetter)) {
+            this.planMode = BeanPlan.MODE_ALLOW_GETTER;
+        } else {
+            this.planMode = BeanPlan.MODE_FIELD;
+        }
+
+        this.Write_Nulls = this.opts.hasFeature(Feature.Write_Nulls);
+        this.Write_ClassName = this.opts.hasFeature(Feature.Write_ClassName);
+        this.Write_NotRootClassName = this.opts.hasFeature(Feature.Write_NotRootClassName);
+        this.nameFeatures = this.opts.getFeaturePlan().Write_NameFeatures;
+    }
+
+    private void encodeRoot(Object value) throws Throwable {
+        if (value == null) {
+            writer.write(new ONode(opts, null));
+            return;
+        }
+
+        Object tmp = resolveValue(value, null);
+
+        if (tmp instanceof ONode) {
+            ONode oNode = (ONode) tmp;
+
+            if (oNode.isObject() && Write_NotRootClassName) {
+                oNode.remove(typePropertyName);
+            }
+        }
+
+        encodeResolved(tmp, true);
+    }
+
+    /**
+     * 分析值
+     *
+     * @return ONode（编码器生成的，或不能流式编码时的子树）；值本身（可以流式编码）；null（循环引用，不输出）
+     */
+    private Object resolveValue(Object value, ONodeAttrHolder attr) throws Throwable {
+        if (value instanceof ONode) {
+            return value;
+        }
+
+        if (value instanceof ObjectEncoder) {
+            return ((ObjectEncoder) value).encode(new EncodeContext(opts, attr, value), value, new ONode(opts));
+        }
+
+        // 优先使用自定义编解码器
+        ObjectEncoder codec = opts.getEncoder(value);
+        if (codec != null) {
+            return codec.encode(new EncodeContext(opts, attr, value), value, new ONode(opts));
+        }
+
+        if (value instanceof Map) {
+            if (visited.containsKey(value)) {
+                return null;
+            }
+
+            if (isStreamableMap((Map<?, ?>) value)) {
+                return value;
+            } else {
+                return delegate.encodeValue(value, attr);
+            }
+        }
+
+        if (value instanceof Iterable || value.getClass().isArray()) {
+            return value;
+        }
+
+        if (visited.containsKey(value)) {
+            return null;
+        }
+
+        //有生成的编解码器的，也用自己的计划（属性访问器已生成，行为一致），不回退为节点
+        BeanPlan plan = getPlan(value.getClass());
+        if (plan.streamable == false || (Write_ClassName && plan.aliases.contains(typePropertyName))) {
+            return delegate.encodeValue(value, attr);
+        }
+
+        return value;
+    }
+
+    private void encodeResolved(Object value, boolean isRoot) throws Throwable {
+        if (value instanceof ONode) {
+            writer.write((ONode) value);
+        } else if (value instanceof Map) {
+            encodeMap((Map<?, ?>) value, isRoot);
+        } else if (value instanceof Iterable) {
+            encodeIterable((Iterable<?>) value);
+        } else if (value.getClass().isArray()) {
+            encodeArray(value);
+        } else {
+            encodeBean(value, getPlan(value.getClass()), isRoot);
+        }
+    }
+
+    /**
+     * 书写对象成员
+     *
+     * @return 是否有书写（跳过的返回 false）
+     */
+    private boolean encodeMember(String name, Object resolved, boolean first) throws Throwable {
+        if (isSkipped(resolved)) {
+            return false;
+        }
+
+        writer.writeName(name, first);
+        encodeResolved(resolved, false);
+        return true;
+    }
+
+    /**
+     * 书写对象属性（键名使用缓存的片段）
+     *
+     * @return 是否有书写（跳过的返回 false）
+     */
+    private boolean encodeMember(PropertySlot slot, Object resolved, boolean first) throws Throwable {
+        if (isSkipped(resolved)) {
+            return false;
+        }
+
+        writeName(slot, first);
+        encodeResolved(resolved, false);
+        return true;
+    }
+
+    private void writeName(PropertySlot slot, boolean first) throws IOException {
+        NameFragment fragment = slot.nameFragment;
+        if (fragment == null || fragment.features != nameFeatures) {
+            fragment = writer.encodeName(slot.property.getAlias());
+            slot.nameFragment = fragment;
+        }
+
+        writer.writeName(fragment, first);
+    }
+
+    /**
+     * 数字类型是否使用默认编码器（是的话，原始类型属性可直接书写）
+     */
+    private boolean isNumberDirect(int primitive) {
+        byte state = numberDirect[primitive];
+
+        if (state == 0) {
+            Object sample;
+            if (primitive == PropertySlot.PRIMITIVE_INT) {
+                sample = 0;
+            } else if (primitive == PropertySlot.PRIMITIVE_LONG) {
+                sample = 0L;
+            } else {
+                sample = 0D;
+            }
+
+            state = (opts.hasDefaultEncoder(sample) ? (byte) 1 : (byte) 2);
+            numberDirect[primitive] = state;
+        }
+
+        return state == 1;
+    }
+
+    private boolean isSkipped(Object resolved) {
+        if (resolved == null) {
+            return true;
+        }
+
+        return resolved instanceof ONode && ((ONode) resolved).isNull() && Write_Nulls == false;
+    }
+
+    private void encodeElement(Object item, boolean first) throws Throwable {
+        writer.beginElement(first);
+
+        Object resolved = (item == null ? null : resolveValue(item, null));
+
+        if (resolved == null) {
+            writer.write(new ONode(opts, null));
+        } else {
+            encodeResolved(resolved, false);
+        }
+    }
+
+    private void encodeBean(Object bean, BeanPlan plan, boolean isRoot) throws Throwable {
+        visited.put(bean, null);
+
+        try {
+            writer.beginObject();
+            boolean first = true;
+
+            if (Write_ClassName && (isRoot && Write_NotRootClassName) == false) {
+                writer.writeName(typePropertyName, true);
+                writer.write(new ONode(opts, bean.getClass().getName()));
+                first = false;
+            }
+
+            for (PropertySlot slot : plan.properties) {
+                if (slot.primitive != PropertySlot.PRIMITIVE_NONE && isNumberDirect(slot.primitive)) {
+                    //原始类型，直接书写（不装箱）
+                    writeName(slot, first);
+                    first = false;
+
+                    if (slot.primitive == PropertySlot.PRIMITIVE_INT) {
+                        writer.writeIntValue(slot.accessor.getInt(bean));
+                    } else if (slot.primitive == PropertySlot.PRIMITIVE_LONG) {
+                        writer.writeLongValue(slot.accessor.getLong(bean));
+                    } else {
+                        writer.writeDoubleValue(slot.accessor.getDouble(bean));
+                    }
+                    continue;
+                }
+
+                Property property = slot.property;
+                Object propValue = slot.accessor.getValue(bean);
+                Object resolved;
+
+                if (propValue == null || slot.direct == false || (slot.dateFormat && propValue instanceof Date)) {
+                    //空值替代、属性编码器、日期格式化等，保持与 BeanEncoder 一致
+                    resolved = delegate.encodePropertyValue(propValue, property);
+                } else {
+                    resolved = resolveValue(propValue, slot.attr);
+                }
+
+                if (encodeMember(slot, resolved, first)) {
+                    first = false;
+                }
+            }
+
+            writer.endObject();
+        } finally {
+            visited.remove(bean);
+        }
+    }
+
+    private void encodeMap(Map<?, ?> map, boolean isRoot) throws Throwable {
+        visited.put(map, null);
+
+        try {
+            writer.beginObject();
+            boolean first = true;
+
+            if (BeanEncoder.isWriteClassName(opts, map) && (isRoot && Write_NotRootClassName) == false) {
+                writer.writeName(typePropertyName, true);
+                writer.write(new ONode(opts, map.getClass().getName()));
+                first = false;
+            }
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object value = entry.getValue();
+                Object resolved;
+
+                if (value == null) {
+                    resolved = (Write_Nulls ? new ONode(opts, null) : null);
+                } else {
+                    resolved = resolveValue(value, null);
+                }
+
+                if (encodeMember(String.valueOf(entry.getKey()), resolved, first)) {
+                    first = false;
+                }
+            }
+
+            writer.endObject();
+        } finally {
+            visited.remove(map);
+        }
+    }
+
+    private void encodeIterable(Iterable<?> iterable) throws Throwable {
+        writer.beginArray();
+        boolean first = true;
+        for (Object item : iterable) {
+            encodeElement(item, first);
+            first = false;
+        }
+        writer.endArray();
+    }
+
+    private void encodeArray(Object array) throws Throwable {
+        writer.beginArray();
+        int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            encodeElement(Array.get(array, i), i == 0);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * 是否可以流式编码（键名转为字符串后有重复的，需要按覆盖处理，则不能）
+     */
+    private boolean isStreamableMap(Map<?, ?> map) {
+        if (BeanEncoder.isWriteClassName(opts, map) && map.containsKey(typePropertyName)) {
+            return false;
+        }
+
+        Set<String> keys = null;
+        for (Object key : map.keySet()) {
+            if (key instanceof String) {
+                continue;
+            }
+
+            if (keys == null) {
+                keys = new HashSet<>();
+                for (Object k1 : map.keySet()) {
+                    if (k1 instanceof String) {
+                        keys.add((String) k1);
+                    }
+                }
+            }
+
+            if (keys.add(String.valueOf(key)) == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private BeanPlan getPlan(Class<?> clz) {
+        BeanPlan[] plans = planCached.computeIfAbsent(clz, k -> new BeanPlan[3]);
+        BeanPlan plan = plans[planMode];
+
+        if (plan == null) {
+            plan = new BeanPlan(EgggUtil.getTypeEggg(clz).getClassEggg(), planMode);
+            plans[planMode] = plan;
+        }
+
+        return plan;
+    }
+
+    /**
+     * 对象编码计划（按类及属性选择方式缓存）
+     */
+    static class BeanPlan {
+        static final int MODE_FIELD = 0;
+        static final int MODE_ALLOW_GETTER = 1;
+        static final int MODE_ONLY_GETTER = 2;
+
+        //是否可以流式编码（有 flat 属性或别名重复的，则不能）
+        final boolean streamable;
+        final List<PropertySlot> properties = new ArrayList<>();
+        final Set<String> aliases = new HashSet<>();
+
+        BeanPlan(ClassEggg classEggg, int mode) {
+            BeanAccessor accessor = BeanAccessor.from(classEggg);
+            boolean streamable = true;
+
+            for (PropertyEggg pw : classEggg.getPropertyEgggs()) {
+                final Property property;
+                if (mode == MODE_ONLY_GETTER) {
+                    property = pw.getGetterEggg();
+                } else if (mode == MODE_ALLOW_GETTER && pw.getGetterEggg() != null) {
+                    property = pw.getGetterEggg();
+                } else {
+                    property = pw.getFieldEggg();
+                }
+
+                if (property == null) {
+                    continue;
+                }
+
+                ONodeAttrHolder attr = property.getDigest();
+                if (property.isTransient() || attr.isEncode() == false) {
+                    continue;
+                }
+
+                if (attr.isFlat() || aliases.add(property.getAlias()) == false) {
+                    streamable = false;
+                    break;
+                }
+
+                properties.add(new PropertySlot(accessor.get(property), attr));
+            }
+
+            this.streamable = streamable;
+        }
+    }
+
+    static class PropertySlot {
+        static final int PRIMITIVE_NONE = 0;
+        static final int PRIMITIVE_INT = 1;
+        static final int PRIMITIVE_LONG = 2;
+        static final int PRIMITIVE_DOUBLE = 3;
+
+        final Property property;
+        final PropertyAccessor accessor;
+        final ONodeAttrHolder attr;
+        //没有属性编码器（可以直接流式编码）
+        final boolean direct;
+        //有日期格式
+        final boolean dateFormat;
+        //原始类型（int、long、double，且没有属性编码器与数字书写特性；否则为 PRIMITIVE_NONE）
+        final int primitive;
+        //键名片段（按影响键名书写的特性值缓存最近的一个）
+        volatile NameFragment nameFragment;
+
+        PropertySlot(PropertyAccessor accessor, ONodeAttrHolder attr) {
+            this.property = accessor.getProperty();
+            this.accessor = accessor;
+            this.attr = attr;
+            this.direct = attr.getEncoder() == null;
+            this.dateFormat = Asserts.isNotEmpty(attr.getFormat());
+            this.primitive = (direct ? primitiveOf(property.getTypeEggg().getType(), attr) : PRIMITIVE_NONE);
+        }
+
+        private static int primitiveOf(Class<?> type, ONodeAttrHolder attr) {
+            if (attr.hasFeature(Feature.Write_NumbersAsString)) {
+                return PRIMITIVE_NONE;
+            }
+
+            if (type == int.class) {
+                return PRIMITIVE_INT;
+            } else if (type == long.class) {
+                return attr.hasFeature(Feature.Write_LongAsString) ? PRIMITIVE_NONE : PRIMITIVE_LONG;
+            } else if (type == double.class) {
+                return attr.hasFeature(Feature.Write_DoubleAsString) ? PRIMITIVE_NONE : PRIMITIVE_DOUBLE;
+            } else {
+                return PRIMITIVE_NONE;
+            }
+        }
+    }
+}
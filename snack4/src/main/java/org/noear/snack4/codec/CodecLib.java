@@ -18,6 +18,7 @@ package org.noear.snack4.codec;
 import org.noear.snack4.codec.decode.*;
 import org.noear.snack4.codec.encode.*;
 import org.noear.snack4.codec.create.*;
+import org.noear.snack4.codec.util.EgggUtil;
 
 import java.io.File;
 import java.math.BigDecimal;
@@ -51,6 +52,22 @@ public class CodecLib {
     private final Map<Class<?>, ObjectEncoder<?>> encoders = new HashMap<>();
     private final Map<Class<?>, ObjectPatternEncoder<?>> patternEncoders = new LinkedHashMap<>();
 
+    private final Map<Class<?>, BeanCodec<?>> beanCodecs = new HashMap<>();
+
+    //解析结果缓存（按类型；含父级与模式匹配的结果，没有的也缓存）。用 ClassValue 不妨碍类的卸载；添加时整体替换
+    private volatile ClassValue<AtomicReference<Object>> resolvedCreators = newResolved();
+    private volatile ClassValue<AtomicReference<Object>> resolvedDecoders = newResolved();
+    private volatile ClassValue<AtomicReference<Object>> resolvedEncoders = newResolved();
+
+    //是否使用默认的编解码器（按类型缓存）。添加时整体替换
+    private volatile ClassValue<AtomicReference<Object>> defaultDecoders = newResolved();
+    private volatile ClassValue<AtomicReference<Object>> defaultEncoders = newResolved();
+
+    //模式编码器是否都只按类型判断（否则，模式匹配的编码器不缓存）
+    private volatile boolean typeBasedEncoders = true;
+
+    private static final Object NONE = new Object();
+
     private final CodecLib parent;
 
     private CodecLib(CodecLib parent) {
@@ -71,6 +88,39 @@ public class CodecLib {
 
         this.encoders.putAll(source.encoders);
         this.patternEncoders.putAll(source.patternEncoders);
+
+        this.beanCodecs.putAll(source.beanCodecs);
+
+        this.resetResolved();
+    }
+
+    /**
+     * 重置解析结果缓存（先修改，后替换；替换前的并发解析结果，只会进入旧的缓存）
+     */
+    private void resetResolved() {
+        boolean typeBased = true;
+        for (ObjectPatternEncoder encoder1 : patternEncoders.values()) {
+            if (encoder1.isTypeBased() == false) {
+                typeBased = false;
+                break;
+            }
+        }
+
+        typeBasedEncoders = typeBased;
+        resolvedCreators = newResolved();
+        resolvedDecoders = newResolved();
+        resolvedEncoders = newResolved();
+        defaultDecoders = newResolved();
+        defaultEncoders = newResolved();
+    }
+
+    private static ClassValue<AtomicReference<Object>> newResolved() {
+        return new ClassValue<AtomicReference<Object>>() {
+            @Override
+            protected AtomicReference<Object> computeValue(Class<?> type) {
+                return new AtomicReference<>();
+            }
+        };
     }
 
     /**
@@ -78,6 +128,7 @@ public class CodecLib {
      */
     public <T> void addCreator(Class<T> type, ObjectCreator<T> creator) {
         creators.put(type, creator);
+        resetResolved();
     }
 
     /**
@@ -85,6 +136,7 @@ public class CodecLib {
      */
     public void addCreator(ObjectPatternCreator creator) {
         patternCreators.put(creator.getClass(), creator);
+        resetResolved();
     }
 
     /**
@@ -92,6 +144,7 @@ public class CodecLib {
      */
     public void addDecoder(ObjectPatternDecoder decoder) {
         patternDecoders.put(decoder.getClass(), decoder);
+        resetResolved();
     }
 
     /**
@@ -103,6 +156,7 @@ public class CodecLib {
         }
 
         decoders.put(type, decoder);
+        resetResolved();
     }
 
     /**
@@ -110,6 +164,7 @@ public class CodecLib {
      */
     public void addEncoder(ObjectPatternEncoder encoder) {
         patternEncoders.put(encoder.getClass(), encoder);
+        resetResolved();
     }
 
     /**
@@ -121,9 +176,31 @@ public class CodecLib {
         }
 
         encoders.put(type, encoder);
+        resetResolved();
+    }
+
+    /**
+     * 添加对象编解码器（一般由 snack4-apt 生成）
+     *
+     * @since 4.0.54
+     */
+    public <T> void addBeanCodec(BeanCodec<T> codec) {
+        beanCodecs.put(codec.getType(), codec);
     }
 
     public ObjectDecoder getDecoder(Class<?> clazz) {
+        AtomicReference<Object> cached = resolvedDecoders.get(clazz);
+        Object tmp = cached.get();
+
+        if (tmp == null) {
+            tmp = resolveDecoder(clazz);
+            cached.set(tmp == null ? NONE : tmp);
+        }
+
+        return (tmp == NONE ? null : (ObjectDecoder) tmp);
+    }
+
+    private ObjectDecoder resolveDecoder(Class<?> clazz) {
         ObjectDecoder tmp = decoders.get(clazz);
 
         if (tmp == null) {
@@ -142,6 +219,18 @@ public class CodecLib {
     }
 
     public ObjectCreator getCreator(Class<?> clazz) {
+        AtomicReference<Object> cached = resolvedCreators.get(clazz);
+        Object tmp = cached.get();
+
+        if (tmp == null) {
+            tmp = resolveCreator(clazz);
+            cached.set(tmp == null ? NONE : tmp);
+        }
+
+        return (tmp == NONE ? null : (ObjectCreator) tmp);
+    }
+
+    private ObjectCreator resolveCreator(Class<?> clazz) {
         ObjectCreator tmp = creators.get(clazz);
 
         if (tmp == null) {
@@ -159,7 +248,103 @@ public class CodecLib {
         return tmp;
     }
 
+    /**
+     * 是否为默认创建器（默认创建器不使用节点数据）
+     *
+     * @since 4.0.54
+     */
+    static boolean isDefaultCreator(ObjectCreator creator) {
+        return creator != null && DEFAULT.creators.containsValue(creator);
+    }
+
+    /**
+     * 是否使用默认编码器（按值的类型缓存；有不只按类型判断的模式编码器时，一律为否）
+     *
+     * @since 4.0.54
+     */
+    public boolean hasDefaultEncoder(Object value) {
+        AtomicReference<Object> cached = defaultEncoders.get(value.getClass());
+        Object tmp = cached.get();
+
+        if (tmp == null) {
+            ObjectEncoder encoder = getEncoder(value);
+            tmp = (encoder != null && isTypeBasedEncoders()
+                    && (DEFAULT.encoders.containsValue(encoder) || DEFAULT.patternEncoders.containsValue(encoder)));
+            cached.set(tmp);
+        }
+
+        return (Boolean) tmp;
+    }
+
+    /**
+     * 是否使用默认解码器（按类型缓存）
+     *
+     * @since 4.0.54
+     */
+    public boolean hasDefaultDecoder(Class<?> clazz) {
+        AtomicReference<Object> cached = defaultDecoders.get(clazz);
+        Object tmp = cached.get();
+
+        if (tmp == null) {
+            ObjectDecoder decoder = getDecoder(clazz);
+            tmp = (decoder != null
+                    && (DEFAULT.decoders.containsValue(decoder) || DEFAULT.patternDecoders.containsValue(decoder)));
+            cached.set(tmp);
+        }
+
+        return (Boolean) tmp;
+    }
+
+    /**
+     * 获取对象编解码器（有提炼扩展时不使用，生成时不知道扩展的注解）
+     *
+     * @since 4.0.54
+     */
+    public BeanCodec getBeanCodec(Class<?> clazz) {
+        if (EgggUtil.hasDigestAddin()) {
+            return null;
+        }
+
+        return getBeanCodec0(clazz);
+    }
+
+    private BeanCodec getBeanCodec0(Class<?> clazz) {
+        BeanCodec tmp = beanCodecs.get(clazz);
+
+        if (tmp == null && parent != null) {
+            return parent.getBeanCodec0(clazz);
+        }
+
+        return tmp;
+    }
+
+    /**
+     * 获取编码器（按值的类型缓存；有不只按类型判断的模式编码器时，只缓存按类型添加的）
+     */
     public ObjectEncoder getEncoder(Object value) {
+        Class<?> clazz = value.getClass();
+        AtomicReference<Object> cached = resolvedEncoders.get(clazz);
+        Object tmp = cached.get();
+
+        if (tmp == null) {
+            ObjectEncoder encoder = resolveEncoder(value);
+
+            if (encoders.containsKey(clazz) == false && isTypeBasedEncoders() == false) {
+                return encoder;
+            }
+
+            tmp = (encoder == null ? NONE : encoder);
+            cached.set(tmp);
+        }
+
+        return (tmp == NONE ? null : (ObjectEncoder) tmp);
+    }
+
+    private boolean isTypeBasedEncoders() {
+        return typeBasedEncoders && (parent == null || parent.isTypeBasedEncoders());
+    }
+
+    private ObjectEncoder resolveEncoder(Object value) {
         ObjectEncoder encoder = encoders.get(value.getClass());
 
         if (encoder == null) {
@@ -316,10 +501,18 @@ public class CodecLib {
         addEncoder(UUID.class, (ctx, value, target) -> target.setValue(value.toString()));
     }
 
+    private void loadDefaultBeanCodecs() {
+        ServiceLoader<BeanCodec> beanCodecSL = ServiceLoader.load(BeanCodec.class);
+        for (BeanCodec codec : beanCodecSL) {
+            addBeanCodec(codec);
+        }
+    }
+
     private CodecLib loadDefault() {
         loadDefaultCreators();
         loadDefaultDecoders();
         loadDefaultEncoders();
+        loadDefaultBeanCodecs();
         return this;
     }
 }
\ No newline at end of file
@@ -26,4 +26,13 @@ public interface ObjectPatternEncoder<T> extends ObjectEncoder<T> {
      * 可以编码的
      */
     boolean canEncode(Object value);
+
+    /**
+     * 是否只按类型判断（是的，匹配结果会按值的类型缓存）
+     *
+     * @since 4.0.54
+     */
+    default boolean isTypeBased() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -32,6 +32,11 @@ public class _CalendarPatternEncoder implements ObjectPatternEncoder<Calendar> {
         return value instanceof Calendar;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Calendar value, ONode target) {
         return target.setValue(value.getTime());
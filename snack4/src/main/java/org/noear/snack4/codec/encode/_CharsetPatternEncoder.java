@@ -32,6 +32,11 @@ public class _CharsetPatternEncoder implements ObjectPatternEncoder<Charset> {
         return value instanceof Charset;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Charset value, ONode target) {
         return target.setValue(value.name());
@@ -34,6 +34,11 @@ public class _ClobPatternEncoder implements ObjectPatternEncoder<Clob> {
         return value instanceof Clob;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Clob value, ONode target) {
         return target.setValue(clobToString(value));
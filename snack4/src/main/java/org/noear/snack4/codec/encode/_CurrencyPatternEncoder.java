@@ -32,6 +32,11 @@ public class _CurrencyPatternEncoder implements ObjectPatternEncoder<Currency> {
         return value instanceof Currency;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Currency value, ONode target) {
         return target.setValue(value.getCurrencyCode());
@@ -33,6 +33,11 @@ public class _DatePatternEncoder implements ObjectPatternEncoder<Date> {
         return value instanceof Date;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Date value, ONode target) {
         if (ctx.getAttr() != null) {
@@ -36,6 +36,11 @@ public class _EnumPatternEncoder implements ObjectPatternEncoder<Enum> {
         return value instanceof Enum;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Enum value, ONode target) {
         EnumWrap ew = EnumWrap.from(value.getClass());
@@ -33,6 +33,11 @@ public class _NumberPatternEncoder implements ObjectPatternEncoder<Number> {
         return value instanceof Number;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Number value, ONode target) {
         if (ctx.getAttr() != null) {
@@ -32,6 +32,11 @@ public class _PathPatternEncoder implements ObjectPatternEncoder<Path> {
         return value instanceof Path;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Path value, ONode target) {
         return target.setValue(value.toString());
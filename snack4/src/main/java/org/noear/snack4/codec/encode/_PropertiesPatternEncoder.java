@@ -37,6 +37,11 @@ public class _PropertiesPatternEncoder implements ObjectPatternEncoder<Propertie
         return value instanceof Properties;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, Properties props, ONode target) {
         if (props.size() == 0) {
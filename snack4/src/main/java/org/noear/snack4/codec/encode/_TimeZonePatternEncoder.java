@@ -32,6 +32,11 @@ public class _TimeZonePatternEncoder implements ObjectPatternEncoder<TimeZone> {
         return value instanceof TimeZone;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @Override
     public ONode encode(EncodeContext ctx, TimeZone value, ONode target) {
         return target.setValue(value.getID());
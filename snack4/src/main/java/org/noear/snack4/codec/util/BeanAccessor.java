@@ -0,0 +1,495 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.codec.util;
+
+import org.noear.eggg.ClassEggg;
+import org.noear.eggg.ConstrEggg;
+import org.noear.eggg.FieldEggg;
+import org.noear.eggg.Property;
+import org.noear.eggg.PropertyMethodEggg;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象访问器（按 ClassEggg 缓存属性访问器与无参构造器）
+ *
+ * <p>公有的 getter、setter、构造器使用 LambdaMetafactory 生成（可被 JIT 内联）；非公有的使用 MethodHandle；
+ * int、long、double 类型另有原始类型变体（避免装箱）。字段的通用读写仍用反射（JDK 已有优化，实例字段里的 MethodHandle 并不更快），
+ * 只生成原始类型变体。不能生成时（比如模块限制访问），回退为 Property 的反射访问</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class BeanAccessor {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Map<ClassEggg, BeanAccessor> accessorCached = new ConcurrentHashMap<>();
+
+    private static volatile boolean generateEnabled = true;
+
+    /**
+     * 设置是否生成访问器（否则一律使用反射访问；需在首次编解码前设置，已缓存的不受影响）
+     */
+    public static void setGenerateEnabled(boolean enabled) {
+        generateEnabled = enabled;
+    }
+
+    /**
+     * 是否生成访问器
+     */
+    public static boolean isGenerateEnabled() {
+        return generateEnabled;
+    }
+
+    public static BeanAccessor from(ClassEggg classEggg) {
+        BeanAccessor val = accessorCached.get(classEggg);
+        if (val == null) {
+            val = accessorCached.computeIfAbsent(classEggg, BeanAccessor::new);
+        }
+
+        return val;
+    }
+
+    /// ////////////
+
+    private final ClassEggg classEggg;
+    private final boolean generate;
+    private final Map<Property, PropertyAccessor> propertyAccessors = new ConcurrentHashMap<>();
+
+    private volatile boolean instantiatorResolved;
+    private ConstrEggg instantiatorConstr;
+    private Instantiator instantiator;
+
+    private BeanAccessor(ClassEggg classEggg) {
+        this.classEggg = classEggg;
+        this.generate = generateEnabled;
+    }
+
+    /**
+     * 获取属性访问器
+     */
+    public PropertyAccessor get(Property property) {
+        PropertyAccessor val = propertyAccessors.get(property);
+        if (val == null) {
+            val = propertyAccessors.computeIfAbsent(property, this::createAccessor);
+        }
+
+        return val;
+    }
+
+    /**
+     * 新建实例（无参构造器使用生成的方式）
+     *
+     * @param constrEggg 构造器
+     */
+    public Object newInstance(ConstrEggg constrEggg) throws Throwable {
+        if (constrEggg.getParamCount() == 0) {
+            if (instantiatorResolved == false) {
+                instantiatorConstr = classEggg.getCreator();
+                instantiator = createInstantiator(instantiatorConstr);
+                instantiatorResolved = true;
+            }
+
+            if (instantiator != null && constrEggg == instantiatorConstr) {
+                return instantiator.get();
+            }
+        }
+
+        return constrEggg.newInstance();
+    }
+
+    private Instantiator createInstantiator(ConstrEggg constrEggg) {
+        if (generate == false || constrEggg == null || constrEggg.getParamCount() > 0) {
+            return null;
+        }
+
+        if ((constrEggg.getElement() instanceof Constructor) == false) {
+            return null;
+        }
+
+        try {
+            Constructor<?> constr = (Constructor<?>) constrEggg.getElement();
+            Class<?> clz = constr.getDeclaringClass();
+
+            if (Modifier.isAbstract(clz.getModifiers())) {
+                return null;
+            }
+
+            if (isPublic(constr, clz) && isVisible(clz)) {
+                return (Instantiator) metafactory(Instantiator.class, "get",
+                        MethodType.methodType(Object.class),
+                        LOOKUP.unreflectConstructor(constr),
+                        MethodType.methodType(clz));
+            }
+
+            if (constr.isAccessible() == false) {
+                constr.setAccessible(true);
+            }
+
+            MethodHandle mh = LOOKUP.unreflectConstructor(constr).asType(MethodType.methodType(Object.class));
+            return () -> (Object) mh.invokeExact();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private PropertyAccessor createAccessor(Property property) {
+        if (generate) {
+            try {
+                if (property instanceof FieldEggg) {
+                    PropertyAccessor tmp = createFieldAccessor(property, (Field) property.getElement());
+                    if (tmp != null) {
+                        return tmp;
+                    }
+                } else if (property instanceof PropertyMethodEggg) {
+                    PropertyAccessor tmp = createMethodAccessor(property, (Method) property.getElement());
+                    if (tmp != null) {
+                        return tmp;
+                    }
+                }
+            } catch (Throwable e) {
+                //不能生成（比如模块限制访问），回退为反射访问
+            }
+        }
+
+        return new PropertyAccessor.ReflectAccessor(property);
+    }
+
+    /**
+     * 字段（只生成 int、long、double 原始类型变体，供流式编解码使用；final 字段只生成读取）
+     */
+    private PropertyAccessor createFieldAccessor(Property property, Field field) throws Throwable {
+        final Class<?> type = field.getType();
+
+        if (Modifier.isStatic(field.getModifiers())) {
+            return null;
+        }
+
+        if (type != int.class && type != long.class && type != double.class) {
+            return null;
+        }
+
+        if (field.isAccessible() == false) {
+            field.setAccessible(true);
+        }
+
+        GeneratedAccessor accessor = new GeneratedAccessor(property, type);
+
+        MethodHandle getter = LOOKUP.unreflectGetter(field);
+        MethodHandle setter = (Modifier.isFinal(field.getModifiers()) ? null : LOOKUP.unreflectSetter(field));
+
+        if (type == int.class) {
+            MethodHandle mh = getter.asType(MethodType.methodType(int.class, Object.class));
+            accessor.intGetter = bean -> (int) mh.invokeExact(bean);
+
+            if (setter != null) {
+                MethodHandle mh2 = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+                accessor.intSetter = (bean, value) -> {
+                    mh2.invokeExact(bean, value);
+                };
+            }
+        } else if (type == long.class) {
+            MethodHandle mh = getter.asType(MethodType.methodType(long.class, Object.class));
+            accessor.longGetter = bean -> (long) mh.invokeExact(bean);
+
+            if (setter != null) {
+                MethodHandle mh2 = setter.asType(MethodType.methodType(void.class, Object.class, long.class));
+                accessor.longSetter = (bean, value) -> {
+                    mh2.invokeExact(bean, value);
+                };
+            }
+        } else {
+            MethodHandle mh = getter.asType(MethodType.methodType(double.class, Object.class));
+            accessor.doubleGetter = bean -> (double) mh.invokeExact(bean);
+
+            if (setter != null) {
+                MethodHandle mh2 = setter.asType(MethodType.methodType(void.class, Object.class, double.class));
+                accessor.doubleSetter = (bean, value) -> {
+                    mh2.invokeExact(bean, value);
+                };
+            }
+        }
+
+        return accessor;
+    }
+
+    /**
+     * getter 或 setter（公有的使用 LambdaMetafactory，否则使用 MethodHandle）
+     */
+    private PropertyAccessor createMethodAccessor(Property property, Method method) throws Throwable {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+
+        final Class<?> clz = method.getDeclaringClass();
+        final boolean isGetter = (method.getParameterCount() == 0);
+        final Class<?> type;
+
+        if (isGetter) {
+            type = method.getReturnType();
+        } else if (method.getParameterCount() == 1) {
+            type = method.getParameterTypes()[0];
+        } else {
+            return null;
+        }
+
+        if (type == void.class) {
+            return null;
+        }
+
+        GeneratedAccessor accessor = new GeneratedAccessor(property, type);
+
+        if (isPublic(method, clz) && isVisible(clz) && isVisible(type)) {
+            MethodHandle impl = LOOKUP.unreflect(method);
+
+            if (isGetter) {
+                accessor.getter = (Getter) metafactory(Getter.class, "get",
+                        MethodType.methodType(Object.class, Object.class), impl,
+                        MethodType.methodType(box(type), clz));
+
+                if (type == int.class) {
+                    accessor.intGetter = (IntGetter) metafactory(IntGetter.class, "get",
+                            MethodType.methodType(int.class, Object.class), impl,
+                            MethodType.methodType(int.class, clz));
+                } else if (type == long.class) {
+                    accessor.longGetter = (LongGetter) metafactory(LongGetter.class, "get",
+                            MethodType.methodType(long.class, Object.class), impl,
+                            MethodType.methodType(long.class, clz));
+                } else if (type == double.class) {
+                    accessor.doubleGetter = (DoubleGetter) metafactory(DoubleGetter.class, "get",
+                            MethodType.methodType(double.class, Object.class), impl,
+                            MethodType.methodType(double.class, clz));
+                }
+            } else {
+                accessor.setter = (Setter) metafactory(Setter.class, "set",
+                        MethodType.methodType(void.class, Object.class, Object.class), impl,
+                        MethodType.methodType(void.class, clz, box(type)));
+
+                if (type == int.class) {
+                    accessor.intSetter = (IntSetter) metafactory(IntSetter.class, "set",
+                            MethodType.methodType(void.class, Object.class, int.class), impl,
+                            MethodType.methodType(void.class, clz, int.class));
+                } else if (type == long.class) {
+                    accessor.longSetter = (LongSetter) metafactory(LongSetter.class, "set",
+                            MethodType.methodType(void.class, Object.class, long.class), impl,
+                            MethodType.methodType(void.class, clz, long.class));
+                } else if (type == double.class) {
+                    accessor.doubleSetter = (DoubleSetter) metafactory(DoubleSetter.class, "set",
+                            MethodType.methodType(void.class, Object.class, double.class), impl,
+                            MethodType.methodType(void.class, clz, double.class));
+                }
+            }
+        } else {
+            if (method.isAccessible() == false) {
+                method.setAccessible(true);
+            }
+
+            MethodHandle impl = LOOKUP.unreflect(method);
+
+            if (isGetter) {
+                MethodHandle mh = impl.asType(MethodType.methodType(Object.class, Object.class));
+                accessor.getter = bean -> (Object) mh.invokeExact(bean);
+            } else {
+                MethodHandle mh = impl.asType(MethodType.methodType(void.class, Object.class, Object.class));
+                accessor.setter = (bean, value) -> {
+                    mh.invokeExact(bean, value);
+                };
+            }
+        }
+
+        return accessor;
+    }
+
+    private static Object metafactory(Class<?> iface, String name, MethodType samType, MethodHandle impl, MethodType instantiatedType) throws Throwable {
+        return LambdaMetafactory.metafactory(LOOKUP, name, MethodType.methodType(iface), samType, impl, instantiatedType)
+                .getTarget()
+                .invoke();
+    }
+
+    private static boolean isPublic(Member member, Class<?> clz) {
+        return Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(clz.getModifiers());
+    }
+
+    /**
+     * 是否可见（生成的类由当前类加载器链接；子类加载器中的类不可见）
+     */
+    private static boolean isVisible(Class<?> clz) {
+        while (clz.isArray()) {
+            clz = clz.getComponentType();
+        }
+
+        if (clz.isPrimitive()) {
+            return true;
+        }
+
+        try {
+            return Class.forName(clz.getName(), false, BeanAccessor.class.getClassLoader()) == clz;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (type.isPrimitive() == false) {
+            return type;
+        }
+
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    /// ////////////
+
+    interface Instantiator {
+        Object get() throws Throwable;
+    }
+
+    interface Getter {
+        Object get(Object bean) throws Throwable;
+    }
+
+    interface Setter {
+        void set(Object bean, Object value) throws Throwable;
+    }
+
+    interface IntGetter {
+        int get(Object bean) throws Throwable;
+    }
+
+    interface LongGetter {
+        long get(Object bean) throws Throwable;
+    }
+
+    interface DoubleGetter {
+        double get(Object bean) throws Throwable;
+    }
+
+    interface IntSetter {
+        void set(Object bean, int value) throws Throwable;
+    }
+
+    interface LongSetter {
+        void set(Object bean, long value) throws Throwable;
+    }
+
+    interface DoubleSetter {
+        void set(Object bean, double value) throws Throwable;
+    }
+
+    /**
+     * 生成的访问器（没有生成的操作，回退为反射访问）
+     */
+    static class GeneratedAccessor extends PropertyAccessor {
+        //值类型（原始类型为包装类）
+        private final Class<?> valueType;
+
+        Getter getter;
+        Setter setter;
+        IntGetter intGetter;
+        LongGetter longGetter;
+        DoubleGetter doubleGetter;
+        IntSetter intSetter;
+        LongSetter longSetter;
+        DoubleSetter doubleSetter;
+
+        GeneratedAccessor(Property property, Class<?> type) {
+            super(property);
+            this.valueType = box(type);
+        }
+
+        @Override
+        public boolean isGenerated() {
+            return true;
+        }
+
+        @Override
+        public Object getValue(Object bean) throws Throwable {
+            if (getter == null) {
+                return property.getValue(bean);
+            } else {
+                return getter.get(bean);
+            }
+        }
+
+        @Override
+        public void setValue(Object bean, Object value) throws Throwable {
+            //null、需要转换或类型不符的，交给反射处理（保持原有的行为）
+            if (setter == null || valueType.isInstance(value) == false) {
+                property.setValue(bean, value);
+            } else {
+                setter.set(bean, value);
+            }
+        }
+
+        @Override
+        public int getInt(Object bean) throws Throwable {
+            if (intGetter == null) {
+                return super.getInt(bean);
+            } else {
+                return intGetter.get(bean);
+            }
+        }
+
+        @Override
+        public long getLong(Object bean) throws Throwable {
+            if (longGetter == null) {
+                return super.getLong(bean);
+            } else {
+                return longGetter.get(bean);
+            }
+        }
+
+        @Override
+        public double getDouble(Object bean) throws Throwable {
+            if (doubleGetter == null) {
+                return super.getDouble(bean);
+            } else {
+                return doubleGetter.get(bean);
+            }
+        }
+
+        @Override
+        public void setInt(Object bean, int value) throws Throwable {
+            if (intSetter == null) {
+                super.setInt(bean, value);
+            } else {
+                intSetter.set(bean, value);
+            }
+        }
+
+        @Override
+        public void setLong(Object bean, long value) throws Throwable {
+            if (longSetter == null) {
+                super.setLong(bean, value);
+            } else {
+                longSetter.set(bean, value);
+            }
+        }
+
+        @Override
+        public void setDouble(Object bean, double value) throws Throwable {
+            if (doubleSetter == null) {
+                super.setDouble(bean, value);
+            } else {
+                doubleSetter.set(bean, value);
+            }
+        }
+    }
+}
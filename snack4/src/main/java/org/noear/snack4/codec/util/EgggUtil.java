@@ -56,6 +56,15 @@ public class EgggUtil {
         egggDigestAddins.put(annoType, digestAddin);
     }
 
+    /**
+     * 是否有提炼扩展
+     *
+     * @since 4.0.54
+     */
+    public static boolean hasDigestAddin() {
+        return egggDigestAddins.size() > 0;
+    }
+
     private static String doAliasHandle(ClassEggg cw, AnnotatedEggg s, String ref) {
         if (s.getDigest() instanceof ONodeAttrHolder) {
             return ((ONodeAttrHolder) s.getDigest()).getAlias();
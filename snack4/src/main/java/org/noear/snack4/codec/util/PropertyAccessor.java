@@ -0,0 +1,122 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.codec.util;
+
+import org.noear.eggg.Property;
+
+/**
+ * 属性访问器（由 BeanAccessor 生成并缓存；不能生成时，使用 Property 的反射访问）
+ *
+ * <p>原始类型变体（getInt、setLong 等）只用于对应类型的属性，可避免装箱</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public abstract class PropertyAccessor {
+    protected final Property property;
+
+    protected PropertyAccessor(Property property) {
+        this.property = property;
+    }
+
+    /**
+     * 获取属性
+     */
+    public Property getProperty() {
+        return property;
+    }
+
+    /**
+     * 是否有生成的操作（否则全部为反射访问）
+     */
+    public abstract boolean isGenerated();
+
+    /**
+     * 获取值
+     */
+    public abstract Object getValue(Object bean) throws Throwable;
+
+    /**
+     * 设置值
+     */
+    public abstract void setValue(Object bean, Object value) throws Throwable;
+
+    /**
+     * 获取 int 值（仅用于 int 类型属性）
+     */
+    public int getInt(Object bean) throws Throwable {
+        return (Integer) getValue(bean);
+    }
+
+    /**
+     * 获取 long 值（仅用于 long 类型属性）
+     */
+    public long getLong(Object bean) throws Throwable {
+        return (Long) getValue(bean);
+    }
+
+    /**
+     * 获取 double 值（仅用于 double 类型属性）
+     */
+    public double getDouble(Object bean) throws Throwable {
+        return (Double) getValue(bean);
+    }
+
+    /**
+     * 设置 int 值（仅用于 int 类型属性）
+     */
+    public void setInt(Object bean, int value) throws Throwable {
+        setValue(bean, value);
+    }
+
+    /**
+     * 设置 long 值（仅用于 long 类型属性）
+     */
+    public void setLong(Object bean, long value) throws Throwable {
+        setValue(bean, value);
+    }
+
+    /**
+     * 设置 double 值（仅用于 double 类型属性）
+     */
+    public void setDouble(Object bean, double value) throws Throwable {
+        setValue(bean, value);
+    }
+
+    /**
+     * 反射访问（即 Property 自身的访问方式）
+     */
+    static class ReflectAccessor extends PropertyAccessor {
+        ReflectAccessor(Property property) {
+            super(property);
+        }
+
+        @Override
+        public boolean isGenerated() {
+            return false;
+        }
+
+        @Override
+        public Object getValue(Object bean) throws Throwable {
+            return property.getValue(bean);
+        }
+
+        @Override
+        public void setValue(Object bean, Object value) throws Throwable {
+            property.setValue(bean, value);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.util.Utf8Writer;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Json 生成器（逐个书写令牌，不构建 ONode）
+ *
+ * <p>由 JsonWriter 完成书写，转义、美化缩进与书写特性（Write_UseSingleQuotes、Write_BrowserCompatible、
+ * Write_LongAsString、Write_Nulls 等）与 ONode.toJson 一致。直接写入调用方的 Writer 或 OutputStream，
+ * 只持有一个按层级增长的状态栈与书写缓冲。非线程安全</p>
+ *
+ * <pre>{@code
+ * try (JsonGenerator gen = new JsonGenerator(out, opts)) {
+ *     gen.beginArray();
+ *     while (rs.next()) {
+ *         gen.beginObject()
+ *                 .name("id").value(rs.getLong(1))
+ *                 .name("name").value(rs.getString(2))
+ *                 .endObject();
+ *     }
+ *     gen.endArray();
+ * }
+ * }</pre>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class JsonGenerator implements Closeable, Flushable {
+    //层级类型与标记
+    private static final byte CTX_OBJECT = 1;
+    private static final byte CTX_ARRAY = 2;
+    //当前层级已有成员（下个成员前需书写 ','）
+    private static final byte CTX_NOT_EMPTY = 4;
+
+    private final Writer writer;
+    private final JsonWriter jsonWriter;
+    //自己创建的 UTF-8 书写器（关闭时归还缓冲）
+    private final Utf8Writer ownWriter;
+    private final boolean writeNulls;
+
+    //层级栈（0 为根）
+    private byte[] contexts = new byte[16];
+    private int depth;
+    //已设置、还未书写的键名（值到来时才书写，以便按 Write_Nulls 略过 null）
+    private String pendingName;
+    private boolean rootWritten;
+
+    /**
+     * @param writer 书写目标（关闭生成器时不会关闭它）
+     */
+    public JsonGenerator(Writer writer, Options opts) {
+        Options tmp = opts == null ? Options.DEF_OPTIONS : opts;
+
+        this.writer = Objects.requireNonNull(writer, "writer");
+        this.jsonWriter = new JsonWriter(tmp, writer);
+        this.ownWriter = null;
+        this.writeNulls = tmp.getFeaturePlan().Write_Nulls;
+    }
+
+    /**
+     * @param out 输出流（以 UTF-8 书写；关闭生成器时不会关闭它）
+     */
+    public JsonGenerator(OutputStream out, Options opts) {
+        Options tmp = opts == null ? Options.DEF_OPTIONS : opts;
+
+        this.ownWriter = new Utf8Writer(out, tmp.getBufferPool());
+        this.writer = ownWriter;
+        this.jsonWriter = new JsonWriter(tmp, writer);
+        this.writeNulls = tmp.getFeaturePlan().Write_Nulls;
+    }
+
+    /**
+     * 开始书写对象
+     */
+    public JsonGenerator beginObject() throws IOException {
+        beforeValue();
+        jsonWriter.beginObject();
+        push(CTX_OBJECT);
+        return this;
+    }
+
+    /**
+     * 结束书写对象
+     */
+    public JsonGenerator endObject() throws IOException {
+        if (depth == 0 || (contexts[depth] & CTX_OBJECT) == 0 || pendingName != null) {
+            throw new IllegalStateException("Not in an object, or the name has no value");
+        }
+
+        depth--;
+        jsonWriter.endObject();
+        return this;
+    }
+
+    /**
+     * 开始书写数组
+     */
+    public JsonGenerator beginArray() throws IOException {
+        beforeValue();
+        jsonWriter.beginArray();
+        push(CTX_ARRAY);
+        return this;
+    }
+
+    /**
+     * 结束书写数组
+     */
+    public JsonGenerator endArray() throws IOException {
+        if (depth == 0 || (contexts[depth] & CTX_ARRAY) == 0) {
+            throw new IllegalStateException("Not in an array");
+        }
+
+        depth--;
+        jsonWriter.endArray();
+        return this;
+    }
+
+    /**
+     * 设置键名（随后必须书写一个值）
+     */
+    public JsonGenerator name(String name) {
+        Objects.requireNonNull(name, "name");
+
+        if (depth == 0 || (contexts[depth] & CTX_OBJECT) == 0 || pendingName != null) {
+            throw new IllegalStateException("Not in an object, or the previous name has no value");
+        }
+
+        pendingName = name;
+        return this;
+    }
+
+    public JsonGenerator value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        beforeValue();
+        jsonWriter.writeStringValue(value);
+        return this;
+    }
+
+    public JsonGenerator value(int value) throws IOException {
+        beforeValue();
+        jsonWriter.writeIntValue(value);
+        return this;
+    }
+
+    public JsonGenerator value(long value) throws IOException {
+        beforeValue();
+        jsonWriter.writeLongValue(value);
+        return this;
+    }
+
+    public JsonGenerator value(double value) throws IOException {
+        beforeValue();
+        jsonWriter.writeDoubleValue(value);
+        return this;
+    }
+
+    public JsonGenerator value(boolean value) throws IOException {
+        beforeValue();
+        jsonWriter.writeBooleanValue(value);
+        return this;
+    }
+
+    public JsonGenerator value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        beforeValue();
+        jsonWriter.writeNumberValue(value);
+        return this;
+    }
+
+    public JsonGenerator value(Date value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        beforeValue();
+        jsonWriter.writeDateValue(value);
+        return this;
+    }
+
+    /**
+     * 书写节点（对象或数组时，即为子树）
+     */
+    public JsonGenerator value(ONode value) throws IOException {
+        if (value == null || value.isNull()) {
+            return nullValue();
+        }
+
+        beforeValue();
+        jsonWriter.write(value);
+        return this;
+    }
+
+    /**
+     * 书写 null（对象成员且没有 Write_Nulls 特性时，连同键名一起略过）
+     */
+    public JsonGenerator nullValue() throws IOException {
+        if (pendingName != null && writeNulls == false) {
+            pendingName = null;
+            return this;
+        }
+
+        beforeValue();
+        jsonWriter.writeNullValue();
+        return this;
+    }
+
+    /**
+     * 书写原始值（不转义，由调用方保证是有效的 json）
+     */
+    public JsonGenerator rawValue(CharSequence json) throws IOException {
+        beforeValue();
+        jsonWriter.writeRawValue(json);
+        return this;
+    }
+
+    /**
+     * 当前深度（根为 0）
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 书写值之前（书写 ','、缩进与键名）
+     */
+    private void beforeValue() throws IOException {
+        if (depth == 0) {
+            if (rootWritten) {
+                //多个根值时，按行分隔
+                writer.write('\n');
+            }
+            rootWritten = true;
+            return;
+        }
+
+        int ctx = contexts[depth];
+        boolean first = (ctx & CTX_NOT_EMPTY) == 0;
+
+        if ((ctx & CTX_OBJECT) != 0) {
+            if (pendingName == null) {
+                throw new IllegalStateException("The object member has no name");
+            }
+
+            jsonWriter.writeName(pendingName, first);
+            pendingName = null;
+        } else {
+            jsonWriter.beginElement(first);
+        }
+
+        contexts[depth] = (byte) (ctx | CTX_NOT_EMPTY);
+    }
+
+    private void push(byte ctx) {
+        depth++;
+        if (depth == contexts.length) {
+            contexts = Arrays.copyOf(contexts, depth * 2);
+        }
+
+        contexts[depth] = ctx;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * 关闭（刷出内容；不关闭调用方的 Writer 或 OutputStream）
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownWriter != null) {
+            ownWriter.close();
+        } else {
+            writer.flush();
+        }
+    }
+}
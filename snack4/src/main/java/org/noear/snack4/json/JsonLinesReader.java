@@ -0,0 +1,479 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+import org.noear.snack4.codec.BeanStreamDecoder;
+import org.noear.snack4.json.util.Utf8Reader;
+import org.noear.snack4.util.CompactMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Json Lines（NDJSON）并行读取器
+ *
+ * <p>按换行把 UTF-8 输入切成块（块内是完整的行），交给执行器（默认 ForkJoinPool.commonPool）并行解析或解码，
+ * 再按块交付：有序模式按原来的顺序，无序模式按完成的先后。切块在调用方的线程里按需进行，
+ * 同时处理中的块不超过 maxPendingChunks（背压），所以内存占用以 块大小 x 块数 为界</p>
+ *
+ * <p>每行一个值（逐行解析，结果与块大小无关）；空白行略过，BOM 只在输入开头时略过；
+ * 解析出错时抛出 JsonParseException（说明该行的字节偏移），并关闭输入。只能遍历一次</p>
+ *
+ * <pre>{@code
+ * try (JsonLinesReader reader = new JsonLinesReader(in, opts).ordered(false)) {
+ *     for (User user : reader.<User>iterable(User.class)) {
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class JsonLinesReader implements Closeable {
+    /**
+     * 默认块大小（字节）
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final InputStream in;
+    private final Options opts;
+
+    private Executor executor = ForkJoinPool.commonPool();
+    private boolean ordered = true;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxPendingChunks = Runtime.getRuntime().availableProcessors() * 2;
+
+    private boolean started;
+    private volatile boolean closed;
+
+    /**
+     * @param in 输入流（UTF-8；遍历结束或关闭时关闭它）
+     */
+    public JsonLinesReader(InputStream in, Options opts) {
+        this.in = Objects.requireNonNull(in, "in");
+        this.opts = opts == null ? Options.DEF_OPTIONS : opts;
+    }
+
+    /**
+     * @param buffer 字节缓冲（UTF-8；例如文件的内存映射区域，从 position 读到 limit）
+     */
+    public JsonLinesReader(ByteBuffer buffer, Options opts) {
+        this(new ByteBufferInputStream(buffer), opts);
+    }
+
+    /**
+     * @param file 文件（UTF-8）
+     */
+    public JsonLinesReader(Path file, Options opts) throws IOException {
+        this(Files.newInputStream(file), opts);
+    }
+
+    /**
+     * 执行器（默认 ForkJoinPool.commonPool）
+     */
+    public JsonLinesReader executor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        return this;
+    }
+
+    /**
+     * 是否按原来的顺序交付（默认 true；为 false 时按块完成的先后交付，块内保持顺序）
+     */
+    public JsonLinesReader ordered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * 块大小（字节，默认 1M；超长的行会单独成块）
+     */
+    public JsonLinesReader chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * 同时处理中的最大块数（背压，默认为 CPU 核数的 2 倍）
+     */
+    public JsonLinesReader maxPendingChunks(int maxPendingChunks) {
+        if (maxPendingChunks < 1) {
+            throw new IllegalArgumentException("maxPendingChunks must be greater than 0");
+        }
+
+        this.maxPendingChunks = maxPendingChunks;
+        return this;
+    }
+
+    /**
+     * 遍历（读取为 ONode）
+     */
+    public Iterable<ONode> iterable() {
+        return () -> new ChunkIterator<>(null);
+    }
+
+    /**
+     * 遍历（由 BeanStreamDecoder 直接解码为 Java 对象）
+     *
+     * @param type 记录类型
+     */
+    public <T> Iterable<T> iterable(Type type) {
+        Objects.requireNonNull(type, "type");
+        return () -> new ChunkIterator<>(type);
+    }
+
+    /**
+     * 流（读取为 ONode；关闭 Stream 时关闭读取器）
+     */
+    public Stream<ONode> stream() {
+        return StreamSupport.stream(iterable().spliterator(), false)
+                .onClose(this::closeQuietly);
+    }
+
+    /**
+     * 流（解码为 Java 对象；关闭 Stream 时关闭读取器）
+     *
+     * @param type 记录类型
+     */
+    public <T> Stream<T> stream(Type type) {
+        Iterable<T> iterable = iterable(type);
+        return StreamSupport.stream(iterable.spliterator(), false)
+                .onClose(this::closeQuietly);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed == false) {
+            closed = true;
+            in.close();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {
+            //忽略
+        }
+    }
+
+    /**
+     * 解析一个块（在执行器里运行）
+     *
+     * @param offset 块在输入中的字节偏移
+     */
+    private <T> Batch<T> parseChunk(byte[] chunk, int length, long offset, Type type) {
+        Batch<T> batch = new Batch<>();
+        CompactMap.Shape[] shape = new CompactMap.Shape[1];
+
+        int start = 0;
+        while (start < length && closed == false) {
+            int end = start;
+            while (end < length && chunk[end] != '\n') {
+                end++;
+            }
+
+            if (isBlank(chunk, start, end) == false) {
+                try {
+                    parseLine(batch.items, chunk, start, end - start, offset + start, type, shape);
+                } catch (RuntimeException e) {
+                    //先交付出错行之前的值（与块大小无关）
+                    batch.error = e;
+                    break;
+                }
+            }
+
+            start = end + 1;
+        }
+
+        return batch;
+    }
+
+    /**
+     * 解析一行（必须正好是一个值）
+     *
+     * @param lineOffset 行在输入中的字节偏移
+     */
+    private <T> void parseLine(List<T> list, byte[] chunk, int start, int length, long lineOffset, Type type, CompactMap.Shape[] shape) {
+        //BOM 只在输入开头时略过
+        JsonReader reader = new JsonReader(new Utf8Reader(chunk, start, length, lineOffset == 0), opts);
+
+        try {
+            if (reader.peekValue() == 0) {
+                //只有注释的行
+                return;
+            }
+
+            T value;
+            if (type == null) {
+                value = (T) reader.readValue(shape);
+            } else {
+                value = BeanStreamDecoder.decode(reader, type, opts);
+            }
+
+            reader.checkEnd();
+            list.add(value);
+        } catch (JsonParseException e) {
+            throw new JsonParseException("Invalid json line at byte offset " + lineOffset + ": " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new SnackException(e);
+        } finally {
+            try {
+                //归还缓冲
+                reader.close();
+            } catch (IOException ignored) {
+                //忽略
+            }
+        }
+    }
+
+    private static boolean isBlank(byte[] chunk, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = chunk[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private class ChunkIterator<T> implements Iterator<T> {
+        private final Type type;
+        //有序模式：按提交顺序；无序模式：按完成顺序
+        private final Deque<CompletableFuture<Batch<T>>> pending = new ArrayDeque<>();
+        private final BlockingQueue<CompletableFuture<Batch<T>>> completed = new LinkedBlockingQueue<>();
+        private int inFlight;
+
+        private Iterator<T> batch = Collections.emptyIterator();
+        //当前块交付完后要抛出的错误
+        private RuntimeException batchError;
+        private boolean eof;
+        private long offset;
+        //上一块之后剩下的不完整的行
+        private byte[] carry = new byte[0];
+        private int carryLength;
+
+        ChunkIterator(Type type) {
+            if (started) {
+                throw new IllegalStateException("The json lines can only be iterated once");
+            }
+            started = true;
+
+            this.type = type;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (batch.hasNext() == false) {
+                    if (batchError != null) {
+                        throw batchError;
+                    }
+
+                    fill();
+
+                    if (inFlight == 0) {
+                        closeQuietly();
+                        return false;
+                    }
+
+                    CompletableFuture<Batch<T>> future = ordered ? pending.poll() : completed.take();
+                    inFlight--;
+                    Batch<T> tmp = await(future);
+                    batch = tmp.items.iterator();
+                    batchError = tmp.error;
+
+                    //当前块交付期间，让执行器继续处理后面的块
+                    fill();
+                }
+
+                return true;
+            } catch (IOException e) {
+                closeQuietly();
+                throw new SnackException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closeQuietly();
+                throw new SnackException(e);
+            } catch (RuntimeException e) {
+                closeQuietly();
+                throw e;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+
+            return batch.next();
+        }
+
+        private Batch<T> await(CompletableFuture<Batch<T>> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else {
+                    throw new SnackException(e.getCause());
+                }
+            }
+        }
+
+        /**
+         * 切块并提交，直到处理中的块数达到上限
+         */
+        private void fill() throws IOException {
+            while (inFlight < maxPendingChunks && closed == false) {
+                long chunkOffset = offset;
+                byte[] chunk = readChunk();
+                if (chunk == null) {
+                    return;
+                }
+
+                int length = (int) (offset - chunkOffset);
+                CompletableFuture<Batch<T>> future = CompletableFuture.supplyAsync(() -> parseChunk(chunk, length, chunkOffset, type), executor);
+
+                if (ordered) {
+                    pending.add(future);
+                } else {
+                    future.whenComplete((r, e) -> completed.add(future));
+                }
+
+                inFlight++;
+            }
+        }
+
+        /**
+         * 读取一块（以换行结束，或到输入末尾）
+         *
+         * @return 没有更多时返回 null（块长度为 offset 的增量）
+         */
+        private byte[] readChunk() throws IOException {
+            if (eof && carryLength == 0) {
+                return null;
+            }
+
+            byte[] buf = new byte[Math.max(chunkSize, carryLength * 2)];
+            System.arraycopy(carry, 0, buf, 0, carryLength);
+            int length = carryLength;
+            carryLength = 0;
+
+            while (true) {
+                while (eof == false && length < buf.length) {
+                    int n = in.read(buf, length, buf.length - length);
+                    if (n < 0) {
+                        eof = true;
+                    } else {
+                        length += n;
+                    }
+                }
+
+                if (eof) {
+                    if (length == 0) {
+                        return null;
+                    }
+
+                    offset += length;
+                    return buf;
+                }
+
+                int end = length - 1;
+                while (end >= 0 && buf[end] != '\n') {
+                    end--;
+                }
+
+                if (end >= 0) {
+                    carryLength = length - end - 1;
+                    if (carry.length < carryLength) {
+                        carry = new byte[Math.max(carryLength, carry.length * 2)];
+                    }
+                    System.arraycopy(buf, end + 1, carry, 0, carryLength);
+
+                    offset += end + 1;
+                    return buf;
+                }
+
+                //一行超过块大小，扩大后继续读取
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+        }
+    }
+
+    /**
+     * 一块的解析结果
+     */
+    private static class Batch<T> {
+        private final List<T> items = new ArrayList<>();
+        //出错行的错误（之前的值照常交付）
+        private RuntimeException error;
+    }
+
+    /**
+     * 字节缓冲输入流（不复制，按需读取）
+     */
+    static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (buffer.hasRemaining() == false) {
+                return -1;
+            }
+
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.Options;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Json 拉取式解析器（逐个读出令牌，不构建 ONode）
+ *
+ * <p>与 JsonReader 共用扫描逻辑与读取特性（注释、单引号、无引号键名等）。只持有一个按层级增长的状态栈，
+ * 适合从很大的文档（或多个连续的根值）中提取少量字段。非线程安全</p>
+ *
+ * <pre>{@code
+ * try (JsonParser parser = new JsonParser(in, opts)) {
+ *     JsonToken token;
+ *     while ((token = parser.nextToken()) != null) {
+ *         if (token == JsonToken.Name && "id".equals(parser.currentName())) {
+ *             parser.nextToken();
+ *             long id = parser.getLong();
+ *         }
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class JsonParser implements Closeable {
+    //层级类型（低位）与标记
+    private static final byte CTX_OBJECT = 1;
+    private static final byte CTX_ARRAY = 2;
+    //当前层级已读完一个成员（下次需先消费 ','）
+    private static final byte CTX_MEMBER_DONE = 4;
+
+    private final JsonReader reader;
+
+    //层级栈（0 为根）
+    private byte[] contexts = new byte[16];
+    private String[] names = new String[16];
+    private int depth;
+    //对象内已读出键名，下一个是值
+    private boolean expectValue;
+    //跳过中（字符串不生成）
+    private boolean skipping;
+
+    private JsonToken token;
+    private String stringValue;
+    private boolean booleanValue;
+    private int numberType;
+    private long numberBits;
+    private Number numberBoxed;
+
+    public JsonParser(String json) {
+        this(new JsonReader(json));
+    }
+
+    public JsonParser(String json, Options opts) {
+        this(new JsonReader(json, opts));
+    }
+
+    public JsonParser(Reader reader, Options opts) {
+        this(new JsonReader(reader, opts));
+    }
+
+    public JsonParser(InputStream in, Options opts) {
+        this(new JsonReader(in, opts));
+    }
+
+    public JsonParser(JsonReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 读取下一个令牌
+     *
+     * @return 没有更多数据时返回 null（根层级可以有多个连续的值）
+     */
+    public JsonToken nextToken() throws IOException {
+        if (depth == 0) {
+            char c = reader.peekValue();
+            if (c == 0) {
+                return token = null;
+            }
+
+            return token = readValue(c);
+        }
+
+        int ctx = contexts[depth];
+
+        if ((ctx & CTX_OBJECT) != 0) {
+            if (expectValue) {
+                expectValue = false;
+                return token = readValue(reader.peekValue());
+            }
+
+            if ((ctx & CTX_MEMBER_DONE) != 0) {
+                contexts[depth] = CTX_OBJECT;
+                if (reader.endMember('}') == false) {
+                    return token = endContainer(JsonToken.EndObject);
+                }
+            }
+
+            String name = reader.nextName();
+            if (name == null) {
+                return token = endContainer(JsonToken.EndObject);
+            }
+
+            names[depth] = name;
+            expectValue = true;
+            return token = JsonToken.Name;
+        } else {
+            if ((ctx & CTX_MEMBER_DONE) != 0) {
+                contexts[depth] = CTX_ARRAY;
+                if (reader.endMember(']') == false) {
+                    return token = endContainer(JsonToken.EndArray);
+                }
+            }
+
+            if (reader.nextElement() == false) {
+                return token = endContainer(JsonToken.EndArray);
+            }
+
+            return token = readValue(reader.peekValue());
+        }
+    }
+
+    private JsonToken readValue(char c) throws IOException {
+        stringValue = null;
+        numberBoxed = null;
+
+        switch (c) {
+            case '{':
+                reader.beginObject();
+                push(CTX_OBJECT);
+                return JsonToken.StartObject;
+            case '[':
+                reader.beginArray();
+                push(CTX_ARRAY);
+                return JsonToken.StartArray;
+            case '"':
+            case '\'':
+                if (skipping) {
+                    reader.skipStringToken();
+                } else {
+                    stringValue = reader.readStringToken();
+                }
+                return endValue(JsonToken.String);
+            case 't':
+                reader.readKeywordToken("true");
+                booleanValue = true;
+                return endValue(JsonToken.Boolean);
+            case 'f':
+                reader.readKeywordToken("false");
+                booleanValue = false;
+                return endValue(JsonToken.Boolean);
+            case 'n':
+                if (reader.peekChar(1) == 'e') {
+                    Date date = reader.readDateToken();
+                    if (date == null) {
+                        return endValue(JsonToken.Null);
+                    }
+
+                    numberType = JsonReader.NUMBER_LONG;
+                    numberBits = date.getTime();
+                    return endValue(JsonToken.Number);
+                }
+
+                reader.readKeywordToken("null");
+                return endValue(JsonToken.Null);
+            case 'N':
+                reader.readKeywordToken("NaN");
+                return endValue(JsonToken.Null);
+            case 'u':
+                reader.readKeywordToken("undefined");
+                return endValue(JsonToken.Null);
+            default:
+                if (c == '-' || c == '+' || (c >= '0' && c <= '9')) {
+                    numberType = reader.readNumberToken();
+                    numberBits = reader.getNumberBits();
+                    numberBoxed = reader.getNumberBoxed();
+                    return endValue(JsonToken.Number);
+                }
+
+                if (depth == 0) {
+                    if (c == 0 || reader.isAutoRepair()) {
+                        return null;
+                    }
+                } else if (reader.isAutoRepair()) {
+                    //自动修复模式下，当前层级随后结束
+                    return endValue(JsonToken.Null);
+                }
+
+                throw reader.error("Unexpected character: " + c);
+        }
+    }
+
+    private JsonToken endValue(JsonToken t) {
+        if (depth > 0) {
+            contexts[depth] |= CTX_MEMBER_DONE;
+        }
+        return t;
+    }
+
+    private JsonToken endContainer(JsonToken t) {
+        names[depth] = null;
+        depth--;
+        expectValue = false;
+        return endValue(t);
+    }
+
+    private void push(byte ctx) {
+        depth++;
+        if (depth == contexts.length) {
+            contexts = Arrays.copyOf(contexts, depth * 2);
+            names = Arrays.copyOf(names, depth * 2);
+        }
+
+        contexts[depth] = ctx;
+    }
+
+    /**
+     * 跳过当前对象或数组的子令牌（之后当前令牌为 EndObject 或 EndArray；其它令牌时不处理）
+     */
+    public JsonParser skipChildren() throws IOException {
+        if (token != JsonToken.StartObject && token != JsonToken.StartArray) {
+            return this;
+        }
+
+        int target = depth - 1;
+        skipping = true;
+        try {
+            while (depth > target) {
+                if (nextToken() == null) {
+                    break;
+                }
+            }
+        } finally {
+            skipping = false;
+        }
+
+        return this;
+    }
+
+    /**
+     * 当前令牌
+     */
+    public JsonToken currentToken() {
+        return token;
+    }
+
+    /**
+     * 当前键名（Name 令牌及其值的令牌；对象、数组的开始与结束令牌为其所在的键名）
+     */
+    public String currentName() {
+        int d = depth;
+        if (token == JsonToken.StartObject || token == JsonToken.StartArray) {
+            d--;
+        }
+
+        if (d > 0 && (contexts[d] & CTX_OBJECT) != 0) {
+            return names[d];
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * 当前深度（根为 0）
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 获取字符串（String、Name 令牌；数字、布尔值转为文本，Null 为 null）
+     */
+    public String getString() {
+        if (token == null) {
+            return null;
+        }
+
+        switch (token) {
+            case String:
+                return stringValue;
+            case Name:
+                return currentName();
+            case Number:
+                return getNumber().toString();
+            case Boolean:
+                return booleanValue ? "true" : "false";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 获取数字（装箱；Number 令牌）
+     */
+    public Number getNumber() {
+        checkNumber();
+
+        switch (numberType) {
+            case JsonReader.NUMBER_INT:
+                return (int) numberBits;
+            case JsonReader.NUMBER_LONG:
+                return numberBits;
+            case JsonReader.NUMBER_DOUBLE:
+                return Double.longBitsToDouble(numberBits);
+            default:
+                return numberBoxed;
+        }
+    }
+
+    /**
+     * 获取 int（Number 令牌；整数超出 int 范围时抛出 ArithmeticException，小数按 Java 强转截断）
+     */
+    public int getInt() {
+        checkNumber();
+
+        switch (numberType) {
+            case JsonReader.NUMBER_INT:
+                return (int) numberBits;
+            case JsonReader.NUMBER_LONG:
+                return Math.toIntExact(numberBits);
+            case JsonReader.NUMBER_DOUBLE:
+                return (int) Double.longBitsToDouble(numberBits);
+            default:
+                if (numberBoxed instanceof BigInteger) {
+                    return ((BigInteger) numberBoxed).intValueExact();
+                } else {
+                    return numberBoxed.intValue();
+                }
+        }
+    }
+
+    /**
+     * 获取 long（Number 令牌；整数超出 long 范围时抛出 ArithmeticException，小数按 Java 强转截断）
+     */
+    public long getLong() {
+        checkNumber();
+
+        switch (numberType) {
+            case JsonReader.NUMBER_INT:
+            case JsonReader.NUMBER_LONG:
+                return numberBits;
+            case JsonReader.NUMBER_DOUBLE:
+                return (long) Double.longBitsToDouble(numberBits);
+            default:
+                if (numberBoxed instanceof BigInteger) {
+                    return ((BigInteger) numberBoxed).longValueExact();
+                } else {
+                    return numberBoxed.longValue();
+                }
+        }
+    }
+
+    /**
+     * 获取 double（Number 令牌）
+     */
+    public double getDouble() {
+        checkNumber();
+
+        switch (numberType) {
+            case JsonReader.NUMBER_INT:
+            case JsonReader.NUMBER_LONG:
+                return (double) numberBits;
+            case JsonReader.NUMBER_DOUBLE:
+                return Double.longBitsToDouble(numberBits);
+            default:
+                return numberBoxed.doubleValue();
+        }
+    }
+
+    /**
+     * 获取布尔值（Boolean 令牌）
+     */
+    public boolean getBoolean() {
+        if (token != JsonToken.Boolean) {
+            throw new IllegalStateException("The current token is not a boolean: " + token);
+        }
+
+        return booleanValue;
+    }
+
+    private void checkNumber() {
+        if (token != JsonToken.Number) {
+            throw new IllegalStateException("The current token is not a number: " + token);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -18,17 +18,30 @@ package org.noear.snack4.json;
 import org.noear.snack4.Feature;
 import org.noear.snack4.ONode;
 import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+import org.noear.snack4.codec.BeanStreamDecoder;
+import org.noear.snack4.json.util.BufferPool;
+import org.noear.snack4.json.util.FeaturePlan;
 import org.noear.snack4.json.util.IoUtil;
+import org.noear.snack4.json.util.KeyTable;
+import org.noear.snack4.json.util.MappedUtf8Reader;
 import org.noear.snack4.json.util.NameUtil;
+import org.noear.snack4.json.util.NumberUtil;
+import org.noear.snack4.json.util.Utf8Reader;
+import org.noear.snack4.util.CompactMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Json 读取器
@@ -39,12 +52,36 @@ import java.util.*;
 public class JsonReader {
     private static final Logger LOG = LoggerFactory.getLogger(JsonReader.class);
 
+    //数字类型（scanNumber 的返回）
+    static final int NUMBER_BOXED = 0;
+    static final int NUMBER_INT = 1;
+    static final int NUMBER_LONG = 2;
+    static final int NUMBER_DOUBLE = 3;
+
     public static ONode read(String json) throws IOException {
         return read(json, null);
     }
 
     public static ONode read(String json, Options opts) throws IOException {
-        return new JsonReader(new StringReader(json), opts).read();
+        return new JsonReader(json, opts).read();
+    }
+
+    /**
+     * 读取字符序列（直接在内存中扫描，无缓冲填充）
+     *
+     * @since 4.0.54
+     */
+    public static ONode read(CharSequence json, Options opts) throws IOException {
+        return new JsonReader(json, opts).read();
+    }
+
+    /**
+     * 读取字符数组片段（直接在原数组上扫描，不复制）
+     *
+     * @since 4.0.54
+     */
+    public static ONode read(char[] chars, int offset, int length, Options opts) throws IOException {
+        return new JsonReader(chars, offset, length, opts).read();
     }
 
     public static ONode read(Reader reader) throws IOException {
@@ -55,12 +92,55 @@ public class JsonReader {
         return new JsonReader(reader, opts).read();
     }
 
+    /**
+     * 读取 UTF-8 字节
+     *
+     * @since 4.0.54
+     */
+    public static ONode read(byte[] bytes, Options opts) throws IOException {
+        return read(bytes, 0, bytes.length, opts);
+    }
+
+    /**
+     * 读取 UTF-8 字节（片段）
+     *
+     * @since 4.0.54
+     */
+    public static ONode read(byte[] bytes, int offset, int length, Options opts) throws IOException {
+        return new JsonReader(new Utf8Reader(bytes, offset, length), opts).read();
+    }
+
+    /**
+     * 读取 UTF-8 输入流
+     *
+     * @since 4.0.54
+     */
+    public static ONode read(InputStream in, Options opts) throws IOException {
+        return new JsonReader(new Utf8Reader(in, getBufferPool(opts)), opts).read();
+    }
+
+    /**
+     * 读取 UTF-8 文件（内存映射）
+     *
+     * @since 4.0.54
+     */
+    public static ONode read(Path file, Options opts) throws IOException {
+        return new JsonReader(file, opts).read();
+    }
+
     /// ///////////////
 
     private final Options opts;
     private final ParserState state;
 
     private final StringBuilder stringBuilder;
+    private KeyTable keyTable;
+
+    //最近一次扫描的数字（scanNumber 的结果）
+    private long numberBits;
+    private Number numberBoxed;
+    //数组元素对象可共享的形状（由 parseArray 设置，parseObject 取用）
+    private CompactMap.Shape shapeHint;
 
     private final boolean Read_AllowComment;
     private final boolean Read_DisableUnquotedKeys;
@@ -70,59 +150,149 @@ public class JsonReader {
     private final boolean Read_ConvertSnakeToCamel;
     private final boolean Read_ConvertCamelToSnake;
     private final boolean Read_AutoRepair;
+    private final boolean Read_AllowZeroLeadingNumbers;
+    private final boolean Read_UseBigDecimalMode;
+    private final boolean Read_UseBigIntegerMode;
+    private final boolean Read_AllowEmptyKeys;
+    private final boolean Read_AllowInvalidEscapeCharacter;
+    private final boolean Read_AllowBackslashEscapingAnyCharacter;
+    private final boolean Read_AllowUnescapedControlCharacters;
 
     private StringBuilder getStringBuilder() {
         stringBuilder.setLength(0);
         return stringBuilder;
     }
 
+    private KeyTable getKeyTable() {
+        if (keyTable == null) {
+            //没有共享的，则从缓冲池借用（延迟借用，关闭时归还）
+            keyTable = state.borrowKeyTable(getBufferPool(opts));
+        }
+
+        return keyTable;
+    }
+
     public JsonReader(String json) {
         this(json, null);
     }
 
     public JsonReader(String json, Options opts) {
-        this(new StringReader(json), opts);
+        this(json.toCharArray(), opts);
+    }
+
+    /**
+     * @since 4.0.54
+     */
+    public JsonReader(CharSequence json, Options opts) {
+        this(IoUtil.toCharArray(json), opts);
+    }
+
+    /**
+     * @since 4.0.54
+     */
+    public JsonReader(char[] chars, int offset, int length, Options opts) {
+        this(new ParserState(chars, offset, length, isAutoRepair(opts)), opts);
+    }
+
+    private JsonReader(char[] chars, Options opts) {
+        this(new ParserState(chars, 0, chars.length, isAutoRepair(opts)), opts);
     }
 
     public JsonReader(Reader reader) {
         this(reader, null);
     }
 
+    /**
+     * @since 4.0.54
+     */
+    public JsonReader(InputStream in, Options opts) {
+        this(new Utf8Reader(in, getBufferPool(opts)), opts);
+    }
+
+    /**
+     * 文件（UTF-8；按段内存映射，直接从映射内存解码，适合很大的文件）
+     *
+     * @since 4.0.54
+     */
+    public JsonReader(Path file, Options opts) throws IOException {
+        this(new MappedUtf8Reader(file), opts);
+    }
+
     public JsonReader(Reader reader, Options opts) {
-        Objects.requireNonNull(reader, "reader");
+        this(new ParserState(Objects.requireNonNull(reader, "reader"), isAutoRepair(opts), getBufferPool(opts)), opts);
+    }
 
+    private JsonReader(ParserState state, Options opts) {
         this.opts = opts == null ? Options.DEF_OPTIONS : opts;
         this.stringBuilder = new StringBuilder(32);
+        this.keyTable = this.opts.getKeyTable();
+
+        //特性计划（开关已预先展开）
+        FeaturePlan plan = this.opts.getFeaturePlan();
+        this.Read_AllowComment = plan.Read_AllowComment;
+        this.Read_DisableUnquotedKeys = plan.Read_DisableUnquotedKeys;
+        this.Read_DisableSingleQuotes = plan.Read_DisableSingleQuotes;
+        this.Read_UnwrapJsonString = plan.Read_UnwrapJsonString;
+        this.Read_TrimString = plan.Read_TrimString;
+        this.Read_ConvertSnakeToCamel = plan.Read_ConvertSnakeToCamel;
+        this.Read_ConvertCamelToSnake = plan.Read_ConvertCamelToSnake;
+        this.Read_AutoRepair = plan.Read_AutoRepair;
+        this.Read_AllowZeroLeadingNumbers = plan.Read_AllowZeroLeadingNumbers;
+        this.Read_UseBigDecimalMode = plan.Read_UseBigDecimalMode;
+        this.Read_UseBigIntegerMode = plan.Read_UseBigIntegerMode;
+        this.Read_AllowEmptyKeys = plan.Read_AllowEmptyKeys;
+        this.Read_AllowInvalidEscapeCharacter = plan.Read_AllowInvalidEscapeCharacter;
+        this.Read_AllowBackslashEscapingAnyCharacter = plan.Read_AllowBackslashEscapingAnyCharacter;
+        this.Read_AllowUnescapedControlCharacters = plan.Read_AllowUnescapedControlCharacters;
+
+        this.state = state;
+    }
 
-        this.Read_AllowComment = this.opts.hasFeature(Feature.Read_AllowComment);
-        this.Read_DisableUnquotedKeys = this.opts.hasFeature(Feature.Read_DisableUnquotedKeys);
-        this.Read_DisableSingleQuotes = this.opts.hasFeature(Feature.Read_DisableSingleQuotes);
-        this.Read_UnwrapJsonString = this.opts.hasFeature(Feature.Read_UnwrapJsonString);
-        this.Read_TrimString = this.opts.hasFeature(Feature.Read_TrimString);
-        this.Read_ConvertSnakeToCamel = this.opts.hasFeature(Feature.Read_ConvertSnakeToSmlCamel);
-        this.Read_ConvertCamelToSnake = this.opts.hasFeature(Feature.Read_ConvertCamelToSmlSnake);
-        this.Read_AutoRepair = this.opts.hasFeature(Feature.Read_AutoRepair);
-
+    private static boolean isAutoRepair(Options opts) {
+        return opts != null && opts.hasFeature(Feature.Read_AutoRepair);
+    }
 
-        this.state = new ParserState(reader, Read_AutoRepair);
+    private static BufferPool getBufferPool(Options opts) {
+        return (opts == null ? Options.DEF_OPTIONS : opts).getBufferPool();
     }
 
     public ONode read() throws IOException {
         try {
             state.fillBuffer();
             ONode node = parseValue();
-            state.skipWhitespace();
-
-            if (Read_AllowComment) {
-                state.skipComments();
-            }
-
-            if (!Read_AutoRepair && state.bufferPosition < state.bufferLimit) {
-                throw state.error("Unexpected data after json root");
-            }
+            checkEnd();
             return node;
         } finally {
-            state.reader.close();
+            state.close();
+        }
+    }
+
+    /**
+     * 读取为 Java 对象（由 BeanStreamDecoder 直接驱动读取器，不构建完整的 ONode 树）
+     *
+     * @param type 类型
+     * @since 4.0.54
+     */
+    public <T> T readBean(Type type) throws IOException {
+        try {
+            state.fillBuffer();
+            T bean = BeanStreamDecoder.decode(this, type, opts);
+            checkEnd();
+            return bean;
+        } finally {
+            state.close();
+        }
+    }
+
+    void checkEnd() throws IOException {
+        state.skipWhitespace();
+
+        if (Read_AllowComment) {
+            state.skipComments();
+        }
+
+        if (!Read_AutoRepair && state.bufferPosition < state.bufferLimit) {
+            throw state.error("Unexpected data after json root");
         }
     }
 
@@ -153,63 +323,580 @@ public class JsonReader {
                 LOG.debug("ReadNext finished with partial content: {}", e.getMessage());
             }
 
-            return null;
-        }
+            return null;
+        }
+    }
+
+    /**
+     * 流式读取：跳过中间节点，直接读出当前流中最后一个完整的 json 节点
+     *
+     * @return 如果没有有效数据，则返回 null
+     * @since 4.0.32
+     */
+    public ONode readLast() {
+        ONode last = null, next;
+        while ((next = readNext()) != null) {
+            last = next;
+        }
+        return last;
+    }
+
+    /**
+     * 获取迭代器，以便使用 for-each 遍历 JSON 流
+     *
+     * @since 4.0.32
+     */
+    public Iterable<ONode> iterableNext() {
+        return () -> new Iterator<ONode>() {
+            private ONode nextNode;
+            private boolean searched = false;
+
+            @Override
+            public boolean hasNext() {
+                if (!searched) {
+                    nextNode = readNext();
+                    searched = true;
+                }
+                return nextNode != null;
+            }
+
+            @Override
+            public ONode next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                searched = false;
+                return nextNode;
+            }
+        };
+    }
+
+    /**
+     * 流式读取：不断读出一段完整的 json 并返回 ONode
+     *
+     * @return 如果没有更多数据，则返回 null
+     * @deprecated 4.0.32
+     */
+    @Deprecated
+    public ONode streamRead() throws IOException {
+        return readNext();
+    }
+
+    /**
+     * 流式遍历数组元素：下行到路径所指的数组，逐个读出元素（不构建整个数组）
+     *
+     * <p>路径为 "$"（根数组）或 "$.data.items"、"data.list[0]['rows']" 这样的键名与下标路径。
+     * 路径不存在或为 null 时没有元素；类型不符或解析出错时抛出异常（不像 readNext 那样返回 null）。
+     * 只能遍历一次，遍历结束或出错时关闭读取器</p>
+     *
+     * @param path 数组路径
+     * @since 4.0.54
+     */
+    public Iterable<ONode> iterateArray(String path) {
+        CompactMap.Shape[] shape = new CompactMap.Shape[1];
+        return iterateArray(path, () -> readValue(shape));
+    }
+
+    /**
+     * 流式遍历数组元素，并逐个读取为 Java 对象（由 BeanStreamDecoder 直接驱动读取器）
+     *
+     * @param path 数组路径（见 iterateArray(String)）
+     * @param type 元素类型
+     * @since 4.0.54
+     */
+    public <T> Iterable<T> iterateArray(String path, Type type) {
+        return iterateArray(path, () -> BeanStreamDecoder.decode(this, type, opts));
+    }
+
+    /**
+     * 流式遍历数组元素，并逐个读取为 Java 对象（关闭 Stream 时关闭读取器）
+     *
+     * @param path 数组路径（见 iterateArray(String)）
+     * @param type 元素类型
+     * @since 4.0.54
+     */
+    public <T> Stream<T> streamArray(String path, Type type) {
+        Iterable<T> iterable = iterateArray(path, type);
+        return StreamSupport.stream(iterable.spliterator(), false)
+                .onClose(this::closeQuietly);
+    }
+
+    private interface ElementReader<T> {
+        T read() throws IOException;
+    }
+
+    private <T> Iterable<T> iterateArray(String path, ElementReader<T> elementReader) {
+        List<Object> segments = parseArrayPath(path);
+
+        return new Iterable<T>() {
+            private boolean iterated;
+
+            @Override
+            public Iterator<T> iterator() {
+                if (iterated) {
+                    throw new IllegalStateException("The array can only be iterated once");
+                }
+                iterated = true;
+
+                return new Iterator<T>() {
+                    //0 待检查，1 有下一个，2 已结束
+                    private int status;
+                    private boolean started;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (status == 0) {
+                            try {
+                                status = advance() ? 1 : 2;
+                            } catch (IOException e) {
+                                closeQuietly();
+                                throw new SnackException(e);
+                            } catch (RuntimeException e) {
+                                closeQuietly();
+                                throw e;
+                            }
+
+                            if (status == 2) {
+                                closeQuietly();
+                            }
+                        }
+
+                        return status == 1;
+                    }
+
+                    private boolean advance() throws IOException {
+                        if (started == false) {
+                            started = true;
+                            return seekArray(path, segments) && nextElement();
+                        } else {
+                            return endMember(']') && nextElement();
+                        }
+                    }
+
+                    @Override
+                    public T next() {
+                        if (hasNext() == false) {
+                            throw new NoSuchElementException();
+                        }
+
+                        try {
+                            T item = elementReader.read();
+                            status = 0;
+                            return item;
+                        } catch (IOException e) {
+                            closeQuietly();
+                            throw new SnackException(e);
+                        } catch (RuntimeException e) {
+                            closeQuietly();
+                            throw e;
+                        }
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * 解析数组路径（键名为 String，下标为 Integer）
+     */
+    private static List<Object> parseArrayPath(String path) {
+        Objects.requireNonNull(path, "path");
+
+        List<Object> segments = new ArrayList<>();
+        int i = path.startsWith("$") ? 1 : 0;
+        int len = path.length();
+
+        while (i < len) {
+            char c = path.charAt(i);
+
+            if (c == '.') {
+                i++;
+                continue;
+            }
+
+            if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Invalid array path: " + path);
+                }
+
+                String seg = path.substring(i + 1, end).trim();
+                if (seg.length() > 1 && (seg.charAt(0) == '\'' || seg.charAt(0) == '"')) {
+                    segments.add(seg.substring(1, seg.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.parseInt(seg));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid array path: " + path);
+                    }
+                }
+
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < len && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+
+                segments.add(path.substring(i, end));
+                i = end;
+            }
+        }
+
+        return segments;
+    }
+
+    /**
+     * 下行到路径所指的数组（并消费 '['）
+     *
+     * @return 路径不存在或为 null 时返回 false
+     */
+    private boolean seekArray(String path, List<Object> segments) throws IOException {
+        state.fillBuffer();
+
+        for (Object seg : segments) {
+            char c = peekValue();
+
+            if (seg instanceof String) {
+                if (c != '{') {
+                    return checkMissing(c, path);
+                }
+
+                beginObject();
+                String key;
+                while (true) {
+                    if ((key = nextName()) == null) {
+                        return false;
+                    }
+
+                    if (key.equals(seg)) {
+                        break;
+                    }
+
+                    skipValue();
+                    if (endMember('}') == false) {
+                        return false;
+                    }
+                }
+            } else {
+                if (c != '[') {
+                    return checkMissing(c, path);
+                }
+
+                beginArray();
+                int index = (Integer) seg;
+                for (int i = 0; ; i++) {
+                    if (nextElement() == false) {
+                        return false;
+                    }
+
+                    if (i == index) {
+                        break;
+                    }
+
+                    skipValue();
+                    if (endMember(']') == false) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        char c = peekValue();
+        if (c != '[') {
+            return checkMissing(c, path);
+        }
+
+        beginArray();
+        return true;
+    }
+
+    private boolean checkMissing(char c, String path) throws IOException {
+        if (c == 0 || (c == 'n' && state.peekChar(1) == 'u')) {
+            //流末尾或 null
+            return false;
+        } else {
+            throw state.error("Unexpected value at path '" + path + "': " + c);
+        }
+    }
+
+    /**
+     * 跳过一个值（字符串不生成，对象、数组不构建）
+     */
+    private void skipValue() throws IOException {
+        char c = peekValue();
+
+        if (c == '{') {
+            beginObject();
+            while (nextName() != null) {
+                skipValue();
+                if (endMember('}') == false) {
+                    break;
+                }
+            }
+        } else if (c == '[') {
+            beginArray();
+            while (nextElement()) {
+                skipValue();
+                if (endMember(']') == false) {
+                    break;
+                }
+            }
+        } else if (c == '"' || c == '\'') {
+            skipStringToken();
+        } else {
+            parseValue();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            state.close();
+        } catch (IOException ignored) {
+            //忽略
+        }
+    }
+
+    /// ///////////////
+    /// 逐步读取（供流式解码使用，调用方式与 parseObject、parseArray 相同）
+
+    /**
+     * 预览下一个值的首字符（会跳过空白和注释）
+     *
+     * @return 流末尾时返回 0
+     * @since 4.0.54
+     */
+    public char peekValue() throws IOException {
+        state.skipWhitespace();
+
+        if (Read_AllowComment) {
+            state.skipComments();
+        }
+
+        return state.peekChar();
+    }
+
+    /**
+     * 读取一个完整的值（对象或数组时，即为子树）
+     *
+     * @since 4.0.54
+     */
+    public ONode readValue() throws IOException {
+        return parseValue();
+    }
+
+    /**
+     * 读取一个完整的值（连续读取时，结构相同的对象共享形状，同 parseArray）
+     *
+     * @param shape 形状（长度为 1 的数组；读取后更新为该值的形状）
+     */
+    ONode readValue(CompactMap.Shape[] shape) throws IOException {
+        shapeHint = shape[0];
+        ONode tmp = parseValue();
+        shapeHint = null;
+
+        if (tmp.isObject()) {
+            Map<String, ONode> map = tmp.getObjectUnsafe();
+            if (map instanceof CompactMap && map.isEmpty() == false) {
+                shape[0] = ((CompactMap<String, ONode>) map).toShape();
+            }
+        }
+
+        return tmp;
+    }
+
+    /**
+     * 开始读取对象（消费 '{'）
+     *
+     * @since 4.0.54
+     */
+    public void beginObject() throws IOException {
+        state.expect('{');
+    }
+
+    /**
+     * 读取下一个键名（同时消费 ':'）
+     *
+     * @return 对象结束时返回 null
+     * @since 4.0.54
+     */
+    public String nextName() throws IOException {
+        state.skipWhitespace();
+        char c = state.peekChar();
+        if (c == 0) {
+            // 增加对 EOF 的支持
+            return null;
+        }
+
+        if (c == '}') {
+            state.bufferPosition++;
+            return null;
+        }
+
+        String key = parseKey();
+
+        if (key.isEmpty() && Read_AllowEmptyKeys == false) {
+            throw new JsonParseException("Empty key is not allowed");
+        }
+
+        state.skipWhitespace();
+
+        if (!state.expect(':')) {
+            return null;
+        }
+
+        return key;
+    }
+
+    /**
+     * 开始读取数组（消费 '['）
+     *
+     * @since 4.0.54
+     */
+    public void beginArray() throws IOException {
+        state.expect('[');
+    }
+
+    /**
+     * 是否还有下一个元素
+     *
+     * @return 数组结束时（同时消费 ']'）返回 false
+     * @since 4.0.54
+     */
+    public boolean nextElement() throws IOException {
+        state.skipWhitespace();
+        if (state.peekChar() == ']') {
+            state.bufferPosition++;
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * 结束一个成员（对象的键值对或数组的元素），并消费之后的 ','
+     *
+     * @param closeChar 结束符（'}' 或 ']'）
+     * @return 不能继续时（自动修复模式下）返回 false
+     * @since 4.0.54
+     */
+    public boolean endMember(char closeChar) throws IOException {
+        state.skipWhitespace();
+        if (state.peekChar() == ',') {
+            state.bufferPosition++;
+            state.skipWhitespace();
+            if (state.peekChar() == closeChar) {
+                if (Read_AutoRepair) {
+                    return false;
+                } else {
+                    throw state.error(closeChar == '}' ? "Trailing comma in object" : "Trailing comma in array");
+                }
+            }
+        } else if (state.peekChar() == closeChar) {
+            // Continue to closing
+        } else {
+            if (Read_AutoRepair) {
+                return false;
+            } else {
+                throw state.error("Expected ',' or '" + closeChar + "'");
+            }
+        }
+
+        return true;
+    }
+
+    /// ///////////////
+    /// 令牌读取（供 JsonParser 使用，不构建 ONode）
+
+    boolean isAutoRepair() {
+        return Read_AutoRepair;
+    }
+
+    char peekChar(int offset) throws IOException {
+        return state.peekChar(offset);
     }
 
     /**
-     * 流式读取：跳过中间节点，直接读出当前流中最后一个完整的 json 节点
-     *
-     * @return 如果没有有效数据，则返回 null
-     * @since 4.0.32
+     * 读取字符串值
      */
-    public ONode readLast() {
-        ONode last = null, next;
-        while ((next = readNext()) != null) {
-            last = next;
+    String readStringToken() throws IOException {
+        String str = parseString(false);
+
+        if (Read_TrimString) {
+            if (str.length() > 1) {
+                str = str.trim();
+            }
         }
-        return last;
+
+        return str;
     }
 
     /**
-     * 获取迭代器，以便使用 for-each 遍历 JSON 流
-     *
-     * @since 4.0.32
+     * 跳过字符串值（不生成字符串，也不校验转义）
      */
-    public Iterable<ONode> iterableNext() {
-        return () -> new Iterator<ONode>() {
-            private ONode nextNode;
-            private boolean searched = false;
+    void skipStringToken() throws IOException {
+        char quoteChar = state.nextChar();
+        if (quoteChar != '"' && !(Read_DisableSingleQuotes == false && quoteChar == '\'')) {
+            throw state.error("Expected string to start with a quote");
+        }
 
-            @Override
-            public boolean hasNext() {
-                if (!searched) {
-                    nextNode = readNext();
-                    searched = true;
+        while (true) {
+            if (state.bufferPosition >= state.bufferLimit) {
+                if (!state.fillBuffer()) {
+                    if (Read_AutoRepair) {
+                        return;
+                    } else {
+                        throw state.error("Unclosed string");
+                    }
                 }
-                return nextNode != null;
             }
 
-            @Override
-            public ONode next() {
-                if (!hasNext()) {
-                    throw new NoSuchElementException();
-                }
-                searched = false;
-                return nextNode;
+            char c = state.buffer[state.bufferPosition++];
+            if (c == quoteChar) {
+                return;
+            } else if (c == '\\') {
+                state.nextChar();
             }
-        };
+        }
     }
 
     /**
-     * 流式读取：不断读出一段完整的 json 并返回 ONode
+     * 读取数字值（结果通过 getNumberBits、getNumberBoxed 获取）
      *
-     * @return 如果没有更多数据，则返回 null
-     * @deprecated 4.0.32
+     * @return 数字类型（NUMBER_*）
      */
-    @Deprecated
-    public ONode streamRead() throws IOException {
-        return readNext();
+    int readNumberToken() throws IOException {
+        return scanNumber();
+    }
+
+    long getNumberBits() {
+        return numberBits;
+    }
+
+    Number getNumberBoxed() {
+        return numberBoxed;
+    }
+
+    /**
+     * 读取关键字（true、false、null 等）
+     */
+    void readKeywordToken(String expect) throws IOException {
+        scanKeyword(expect);
+    }
+
+    /**
+     * 读取 JavaScript Date 对象: new Date(long)
+     */
+    Date readDateToken() throws IOException {
+        return scanDate();
+    }
+
+    JsonParseException error(String message) {
+        return state.error(message);
+    }
+
+    void close() throws IOException {
+        state.close();
     }
 
     private ONode parseValue() throws IOException {
@@ -224,7 +911,7 @@ public class JsonReader {
         if (c == '{') return parseObject();
         if (c == '[') return parseArray();
         if (c == '"' || (Read_DisableSingleQuotes == false && c == '\'')) {
-            String str = parseString();
+            String str = parseString(false);
 
             if (Read_UnwrapJsonString) {
                 if (str.length() > 1) {
@@ -249,7 +936,7 @@ public class JsonReader {
             return parseDate();
         }
 
-        if (c == '-' || c == '+' || (c >= '0' && c <= '9')) return new ONode(opts, parseNumber());
+        if (c == '-' || c == '+' || (c >= '0' && c <= '9')) return parseNumberNode();
         if (c == 't') return parseKeyword("true", true);
         if (c == 'f') return parseKeyword("false", false);
         if (c == 'n') return parseKeyword("null", null);
@@ -270,6 +957,21 @@ public class JsonReader {
      * @throws IOException
      */
     private ONode parseDate() throws IOException {
+        Date date = scanDate();
+
+        if (date == null) {
+            return new ONode(opts);
+        }
+
+        return new ONode(opts, date);
+    }
+
+    /**
+     * 扫描 JavaScript Date 对象: new Date(long)
+     *
+     * @return 没有时间戳时返回 null
+     */
+    private Date scanDate() throws IOException {
         // 期望 "new Date("
         state.expect('n');
         state.expect('e');
@@ -286,7 +988,7 @@ public class JsonReader {
         Number number = parseNumber();
 
         if (number == null) {
-            return new ONode(opts);
+            return null;
         }
 
         // 确保数字是 Long 类型或可以安全转换为 Long
@@ -301,58 +1003,27 @@ public class JsonReader {
         state.skipWhitespace();
         state.expect(')'); // 期望 ')'
 
-        return new ONode(opts, new Date(timestamp));
+        return new Date(timestamp);
     }
 
     private ONode parseObject() throws IOException {
         Map<String, ONode> map = opts.createMap();
-        state.expect('{');
-        while (true) {
-            state.skipWhitespace();
-            char c = state.peekChar();
-            if (c == 0) {
-                // 增加对 EOF 的支持
-                break;
-            }
-            if (c == '}') {
-                state.bufferPosition++;
-                break;
-            }
-
-            String key = parseKey();
-
-            if (key.isEmpty() && opts.hasFeature(Feature.Read_AllowEmptyKeys) == false) {
-                throw new JsonParseException("Empty key is not allowed");
+        if (shapeHint != null) {
+            if (map instanceof CompactMap) {
+                ((CompactMap<String, ONode>) map).useShape(shapeHint);
             }
+            shapeHint = null;
+        }
 
-            state.skipWhitespace();
-
-            if (!state.expect(':')) {
-                break;
-            }
+        beginObject();
 
+        String key;
+        while ((key = nextName()) != null) {
             ONode value = parseValue();
             map.put(key, value);
 
-            state.skipWhitespace();
-            if (state.peekChar() == ',') {
-                state.bufferPosition++;
-                state.skipWhitespace();
-                if (state.peekChar() == '}') {
-                    if (Read_AutoRepair) {
-                        break;
-                    } else {
-                        throw state.error("Trailing comma in object");
-                    }
-                }
-            } else if (state.peekChar() == '}') {
-                // Continue to closing
-            } else {
-                if (Read_AutoRepair) {
-                    break;
-                } else {
-                    throw state.error("Expected ',' or '}'");
-                }
+            if (endMember('}') == false) {
+                break;
             }
         }
 
@@ -366,10 +1037,10 @@ public class JsonReader {
             if (c != '"' && c != '\'') {
                 key = parseUnquotedString();
             } else {
-                key = parseString();
+                key = parseString(true);
             }
         } else {
-            key = parseString();
+            key = parseString(true);
         }
 
         // 如果启用了蛇形转驼峰特性，则进行转换
@@ -383,6 +1054,24 @@ public class JsonReader {
     }
 
     private String parseUnquotedString() throws IOException {
+        // 在当前缓冲区内能找到结尾的（最常见），直接从键名表获取
+        if (state.fillBuffer()) {
+            int start = state.bufferPosition;
+            int end = start;
+            while (end < state.bufferLimit) {
+                char c = state.buffer[end];
+                if (c == ':' || c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                    break;
+                }
+                end++;
+            }
+
+            if (end < state.bufferLimit) {
+                state.bufferPosition = end;
+                return getKeyTable().get(state.buffer, start, end - start);
+            }
+        }
+
         StringBuilder sb = getStringBuilder();
         while (true) {
             char c = state.peekChar();
@@ -396,45 +1085,37 @@ public class JsonReader {
 
     private ONode parseArray() throws IOException {
         List<ONode> list = opts.createList();
-        state.expect('[');
-        while (true) {
-            state.skipWhitespace();
-            if (state.peekChar() == ']') {
-                state.bufferPosition++;
-                break;
-            }
+        beginArray();
 
+        //结构相同的元素对象共享形状（键数组）
+        CompactMap.Shape shape = null;
+        while (nextElement()) {
+            shapeHint = shape;
             ONode tmp = parseValue();
+            shapeHint = null;
+
+            if (tmp.isObject()) {
+                Map<String, ONode> map = tmp.getObjectUnsafe();
+                if (map instanceof CompactMap && map.isEmpty() == false) {
+                    shape = ((CompactMap<String, ONode>) map).toShape();
+                }
+            }
 
             if (tmp.isUndefined() == false) {
                 list.add(tmp);
             }
 
-            state.skipWhitespace();
-            if (state.peekChar() == ',') {
-                state.bufferPosition++;
-                state.skipWhitespace();
-                if (state.peekChar() == ']') {
-                    if (Read_AutoRepair) {
-                        break;
-                    } else {
-                        throw state.error("Trailing comma in array");
-                    }
-                }
-            } else if (state.peekChar() == ']') {
-                // Continue to closing
-            } else {
-                if (Read_AutoRepair) {
-                    break;
-                } else {
-                    throw state.error("Expected ',' or ']'");
-                }
+            if (endMember(']') == false) {
+                break;
             }
         }
         return new ONode(opts, list);
     }
 
-    private String parseString() throws IOException {
+    /**
+     * @param isKey 是否为键名（键名通过键名表获取）
+     */
+    private String parseString(boolean isKey) throws IOException {
         char quoteChar = state.nextChar();
         if (quoteChar != '"' && !(Read_DisableSingleQuotes == false && quoteChar == '\'')) {
             throw state.error("Expected string to start with a quote");
@@ -470,6 +1151,18 @@ public class JsonReader {
                 end++;
             }
 
+            // 0. 没有转义且在同一缓冲区内结束的（最常见），直接从缓冲区切出字符串
+            if (end < state.bufferLimit && state.buffer[end] == quoteChar && sb.length() == 0) {
+                state.bufferPosition = end;
+                state.nextChar();
+
+                if (isKey) {
+                    return getKeyTable().get(state.buffer, start, end - start);
+                } else {
+                    return new String(state.buffer, start, end - start);
+                }
+            }
+
             // 1. 批量添加字符到 StringBuilder
             if (end > start) {
                 // 使用 StringBuilder 的批量追加方法，性能更高
@@ -546,9 +1239,9 @@ public class JsonReader {
                         if (c >= '0' && c <= '7') {
                             // 假设 IoUtil.CHARS_MARK_REV 存在并能正确映射
                             sb.append(IoUtil.CHARS_MARK_REV[(int) c]);
-                        } else if (opts.hasFeature(Feature.Read_AllowInvalidEscapeCharacter)) {
+                        } else if (Read_AllowInvalidEscapeCharacter) {
                             sb.append(c); // 忽略转义，直接追加字符
-                        } else if (opts.hasFeature(Feature.Read_AllowBackslashEscapingAnyCharacter)) {
+                        } else if (Read_AllowBackslashEscapingAnyCharacter) {
                             // 允许 \X 形式的任意转义，追加 \ 和 X
                             sb.append('\\').append(c);
                         } else {
@@ -563,7 +1256,7 @@ public class JsonReader {
                 }
             } else if (c < 32) { //0x20
                 // 处理未转义的控制字符
-                if (opts.hasFeature(Feature.Read_AllowUnescapedControlCharacters)) {
+                if (Read_AllowUnescapedControlCharacters) {
                     // 允许追加
                     sb.append(c);
                 } else {
@@ -591,6 +1284,41 @@ public class JsonReader {
     }
 
     private Number parseNumber() throws IOException {
+        switch (scanNumber()) {
+            case NUMBER_INT:
+                return (int) numberBits;
+            case NUMBER_LONG:
+                return numberBits;
+            case NUMBER_DOUBLE:
+                return Double.longBitsToDouble(numberBits);
+            default:
+                return numberBoxed;
+        }
+    }
+
+    /**
+     * 解析数字节点（int、long、double 原始存放，不装箱）
+     */
+    private ONode parseNumberNode() throws IOException {
+        switch (scanNumber()) {
+            case NUMBER_INT:
+                return ONode.ofInt(opts, (int) numberBits);
+            case NUMBER_LONG:
+                return ONode.ofLong(opts, numberBits);
+            case NUMBER_DOUBLE:
+                return ONode.ofDouble(opts, Double.longBitsToDouble(numberBits));
+            default:
+                return new ONode(opts, numberBoxed);
+        }
+    }
+
+    /**
+     * 扫描数字（结果放在 numberBits 或 numberBoxed）
+     *
+     * @return 数字类型（NUMBER_*）
+     */
+    private int scanNumber() throws IOException {
+        // 字符仍记录在复用的 sb 中，但只有回退（大数、后缀等）时才转为字符串
         StringBuilder sb = getStringBuilder();
         char c = state.peekChar();
 
@@ -602,14 +1330,25 @@ public class JsonReader {
         }
 
         // 处理负数
+        boolean negative = false;
         if (c == '-') {
+            negative = true;
             sb.append(state.nextChar());
         }
 
+        // 边读边累计：十进制尾数（最多 19 位有效数字，按无符号处理）与指数
+        long mantissa = 0;
+        int digits = 0;
+        int exp10 = 0;
+        boolean hasDigits = false;
+        boolean truncated = false;
+        boolean isDecimal = false;
+
         // 解析整数部分
-        if (opts.hasFeature(Feature.Read_AllowZeroLeadingNumbers) == false) {
+        if (Read_AllowZeroLeadingNumbers == false) {
             if (state.peekChar() == '0') {
                 sb.append(state.nextChar());
+                hasDigits = true;
                 if (isDigit(state.peekChar())) {
                     throw state.error("Leading zeros not allowed");
                 }
@@ -617,12 +1356,24 @@ public class JsonReader {
         }
 
         if (isDigit(state.peekChar())) {
-            while (isDigit(state.peekChar())) {
+            hasDigits = true;
+            while (isDigit(c = state.peekChar())) {
                 sb.append(state.nextChar());
+
+                if (digits < 19) {
+                    if (mantissa != 0 || c != '0') {
+                        mantissa = mantissa * 10 + (c - '0');
+                        digits++;
+                    }
+                } else {
+                    truncated = true;
+                    exp10++;
+                }
             }
         } else if (sb.length() == 0) {
             if (Read_AutoRepair) {
-                return null;
+                numberBoxed = null;
+                return NUMBER_BOXED;
             } else {
                 throw state.error("Invalid number format");
             }
@@ -636,8 +1387,20 @@ public class JsonReader {
                     throw state.error("Invalid decimal format");
                 }
             } else {
-                while (isDigit(state.peekChar())) {
+                hasDigits = true;
+                isDecimal = true;
+                while (isDigit(c = state.peekChar())) {
                     sb.append(state.nextChar());
+
+                    if (digits < 19) {
+                        if (mantissa != 0 || c != '0') {
+                            mantissa = mantissa * 10 + (c - '0');
+                            digits++;
+                        }
+                        exp10--;
+                    } else {
+                        truncated = true;
+                    }
                 }
             }
         }
@@ -646,7 +1409,9 @@ public class JsonReader {
         if (state.peekChar() == 'e' || state.peekChar() == 'E') {
             sb.append(state.nextChar());
 
+            boolean expNegative = false;
             if (state.peekChar() == '+' || state.peekChar() == '-') {
+                expNegative = state.peekChar() == '-';
                 sb.append(state.nextChar());
             }
 
@@ -663,9 +1428,17 @@ public class JsonReader {
                     throw state.error("Invalid exponent format");
                 }
             } else {
-                while (isDigit(state.peekChar())) {
+                isDecimal = true;
+                int expValue = 0;
+                while (isDigit(c = state.peekChar())) {
                     sb.append(state.nextChar());
+
+                    if (expValue < 100000) {
+                        expValue = expValue * 10 + (c - '0');
+                    }
                 }
+
+                exp10 += expNegative ? -expValue : expValue;
             }
         }
 
@@ -675,50 +1448,81 @@ public class JsonReader {
             postfix = state.nextChar(); // 读取后缀但不添加到sb中
         }
 
-        String numStr = sb.toString();
-        if (Read_AutoRepair) {
+        if (Read_AutoRepair && sb.length() > 0) {
             // 如果以小数点或正负号结尾，则清理掉非法末尾
-            if (numStr.endsWith(".") || numStr.endsWith("-") || numStr.endsWith("+")) {
-                numStr = numStr.substring(0, numStr.length() - 1);
+            char c2 = sb.charAt(sb.length() - 1);
+            if (c2 == '.' || c2 == '-' || c2 == '+') {
+                sb.setLength(sb.length() - 1);
             }
         }
-        if (numStr.isEmpty()) {
-            return 0;
+
+        if (sb.length() == 0) {
+            numberBits = 0;
+            return NUMBER_INT;
         }
 
         try {
+            if (hasDigits == false) {
+                throw new NumberFormatException();
+            }
+
             // 根据后缀类型解析数字
             if (postfix == 'D') {
-                return Double.parseDouble(numStr);
+                numberBits = Double.doubleToRawLongBits(toDouble(negative, mantissa, exp10, truncated, sb));
+                return NUMBER_DOUBLE;
             } else if (postfix == 'F') {
-                return Float.parseFloat(numStr);
+                numberBoxed = Float.parseFloat(sb.toString());
+                return NUMBER_BOXED;
             } else if (postfix == 'L') {
-                return Long.parseLong(numStr);
+                numberBits = Long.parseLong(sb.toString());
+                return NUMBER_LONG;
             } else {
-                if (numStr.indexOf('.') >= 0 || numStr.indexOf('e') >= 0 || numStr.indexOf('E') >= 0) {
-                    if (numStr.length() > 19 || opts.hasFeature(Feature.Read_UseBigDecimalMode)) {
-                        return new BigDecimal(numStr);
+                if (isDecimal) {
+                    if (sb.length() > 19 || Read_UseBigDecimalMode) {
+                        numberBoxed = new BigDecimal(sb.toString());
+                        return NUMBER_BOXED;
                     } else {
-                        return Double.parseDouble(numStr);
+                        numberBits = Double.doubleToRawLongBits(toDouble(negative, mantissa, exp10, truncated, sb));
+                        return NUMBER_DOUBLE;
                     }
                 } else {
-                    if (numStr.length() > 19 || opts.hasFeature(Feature.Read_UseBigIntegerMode)) {
-                        return new BigInteger(numStr);
+                    if (sb.length() > 19 || Read_UseBigIntegerMode || mantissa < 0) {
+                        //超长或超出 long 范围（19 位数字时）
+                        numberBoxed = new BigInteger(sb.toString());
+                        return NUMBER_BOXED;
                     } else {
-                        long longVal = Long.parseLong(numStr);
+                        long longVal = negative ? -mantissa : mantissa;
+                        numberBits = longVal;
                         if (longVal <= Integer.MAX_VALUE && longVal >= Integer.MIN_VALUE) {
-                            return (int) longVal;
+                            return NUMBER_INT;
                         }
-                        return longVal;
+                        return NUMBER_LONG;
                     }
                 }
             }
         } catch (NumberFormatException e) {
-            throw state.error("Invalid number: " + numStr);
+            throw state.error("Invalid number: " + sb);
+        }
+    }
+
+    private static double toDouble(boolean negative, long mantissa, int exp10, boolean truncated, StringBuilder sb) {
+        if (truncated == false) {
+            double d = NumberUtil.toDouble(negative, mantissa, exp10);
+            if (Double.isNaN(d) == false) {
+                return d;
+            }
         }
+
+        //有效数字超长或无法快速确定舍入的，回退到标准解析
+        return Double.parseDouble(sb.toString());
     }
 
     private ONode parseKeyword(String expect, Object value) throws IOException {
+        scanKeyword(expect);
+        return new ONode(opts, value);
+    }
+
+    private void scanKeyword(String expect) throws IOException {
         // 逐个字符验证，避免数组越界
         for (int i = 0; i < expect.length(); i++) {
             char expectedChar = expect.charAt(i);
@@ -732,8 +1536,6 @@ public class JsonReader {
                 }
             }
         }
-
-        return new ONode(opts, value);
     }
 
     private boolean isDigit(char c) {
@@ -742,68 +1544,163 @@ public class JsonReader {
 
     static class ParserState {
         private static final int BUFFER_SIZE = 8192;
+        private static final int KEY_TABLE_SIZE = 256;
+        private static final char[] EMPTY = new char[0];
         private final Reader reader;
         private final boolean autoRepair;
-
-        private long line = 1;
-        private long column = 0;
-
-        private final char[] buffer = new char[BUFFER_SIZE];
+        //缓冲池（close 时归还缓冲）
+        private BufferPool pool;
+        //借用的键名表（close 时归还）
+        private KeyTable keyTable;
+        private BufferPool keyTablePool;
+
+        //行、列只在报错时计算：已丢弃缓冲的行列（填充时累计）+ 当前缓冲从 scanStart 到读取位置重新扫描
+        private long baseLine = 1;
+        private long baseColumn = 0;
+        private boolean baseAfterCR;
+        private int scanStart;
+
+        private char[] buffer;
         private int bufferPosition;
         private int bufferLimit;
 
-        public ParserState(Reader reader, boolean autoRepair) {
+        public ParserState(Reader reader, boolean autoRepair, BufferPool pool) {
+            char[] pooled = pool.borrowChars();
+
             this.reader = reader;
             this.autoRepair = autoRepair;
+            this.buffer = (pooled == null ? new char[BUFFER_SIZE] : pooled);
+            this.pool = pool;
         }
 
-        private char nextChar() throws IOException {
-            if (bufferPosition >= bufferLimit && !fillBuffer()) {
-                if (autoRepair) {
-                    return 0;
-                } else {
-                    throw error("Unexpected end of input");
-                }
+        /**
+         * 固定缓冲模式（直接扫描源数组，没有 reader，也不会再填充）
+         */
+        public ParserState(char[] chars, int offset, int length, boolean autoRepair) {
+            Objects.requireNonNull(chars, "chars");
+            if (offset < 0 || length < 0 || offset + length > chars.length) {
+                throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", size=" + chars.length);
             }
 
-            char c = buffer[bufferPosition++];
+            this.reader = null;
+            this.autoRepair = autoRepair;
+            this.buffer = chars;
+            this.bufferPosition = offset;
+            this.bufferLimit = offset + length;
+            this.scanStart = offset;
+        }
 
-            // 集中处理行/列计数
-            if (c == '\n') {
-                line++;
-                column = 0;
-            } else if (c == '\r') {
-                // 检查 Windows 换行符 \r\n
-                if (peekChar() == '\n') {
-                    bufferPosition++; // 跳过下一个 \n
-                }
-                line++;
-                column = 0;
-            } else {
-                column++;
+        /**
+         * 借用键名表（借不到时新建；关闭时归还）
+         */
+        private KeyTable borrowKeyTable(BufferPool keyTablePool) {
+            KeyTable pooled = keyTablePool.borrowKeyTable();
+
+            this.keyTable = (pooled == null ? new KeyTable(KEY_TABLE_SIZE) : pooled);
+            this.keyTablePool = keyTablePool;
+            return keyTable;
+        }
+
+        private void close() throws IOException {
+            if (keyTablePool != null) {
+                //归还键名表（之后不能再使用）
+                BufferPool tmp = keyTablePool;
+                keyTablePool = null;
+                tmp.releaseKeyTable(keyTable);
+                keyTable = null;
+            }
+
+            if (pool != null) {
+                //归还缓冲（之后不能再使用）
+                BufferPool tmp = pool;
+                pool = null;
+                tmp.releaseChars(buffer);
+                buffer = EMPTY;
+                bufferPosition = 0;
+                bufferLimit = 0;
+            }
+
+            if (reader != null) {
+                reader.close();
+            }
+        }
+
+        private char nextChar() throws IOException {
+            if (bufferPosition < bufferLimit || fillBuffer()) {
+                return buffer[bufferPosition++];
             }
 
-            return c;
+            if (autoRepair) {
+                return 0;
+            } else {
+                throw error("Unexpected end of input");
+            }
         }
 
         private char peekChar() throws IOException {
-            return peekChar(0);
+            if (bufferPosition < bufferLimit || fillBuffer()) {
+                return buffer[bufferPosition];
+            }
+            return 0;
         }
 
         private char peekChar(int offset) throws IOException {
-            if (bufferPosition + offset >= bufferLimit && !fillBuffer()) {
+            int p = bufferPosition + offset;
+            if (p < bufferLimit) {
+                return buffer[p];
+            }
+
+            if (!fillBuffer()) {
                 return 0;
             }
-            return (bufferPosition + offset < bufferLimit) ? buffer[bufferPosition + offset] : 0;
+
+            p = bufferPosition + offset;
+            return (p < bufferLimit) ? buffer[p] : 0;
         }
 
         private boolean fillBuffer() throws IOException {
             if (bufferPosition < bufferLimit) return true;
+            if (reader == null) return false;
+            //丢弃前，累计当前缓冲的行列
+            countLines(bufferLimit);
             bufferLimit = reader.read(buffer);
             bufferPosition = 0;
+            scanStart = 0;
             return bufferLimit > 0;
         }
 
+        /**
+         * 累计 scanStart 到 end 的行列（'\r\n'、'\r'、'\n' 都算一次换行）
+         */
+        private void countLines(int end) {
+            long line = baseLine;
+            long column = baseColumn;
+            boolean afterCR = baseAfterCR;
+
+            for (int i = scanStart; i < end; i++) {
+                char c = buffer[i];
+                if (c == '\n') {
+                    if (afterCR == false) {
+                        line++;
+                    }
+                    column = 0;
+                    afterCR = false;
+                } else if (c == '\r') {
+                    line++;
+                    column = 0;
+                    afterCR = true;
+                } else {
+                    column++;
+                    afterCR = false;
+                }
+            }
+
+            baseLine = line;
+            baseColumn = column;
+            baseAfterCR = afterCR;
+            scanStart = Math.max(scanStart, end);
+        }
+
         private boolean expect(char expected) throws IOException {
             char c = nextChar();
             if (c != expected) {
@@ -818,20 +1715,32 @@ public class JsonReader {
         }
 
         private JsonParseException error(String message) {
-            return new JsonParseException(message + " at line " + line + " column " + column);
+            //出错时才计算行列（重新扫描当前缓冲）
+            if (bufferPosition > scanStart && bufferPosition <= bufferLimit) {
+                countLines(bufferPosition);
+            }
+
+            return new JsonParseException(message + " at line " + baseLine + " column " + baseColumn);
         }
 
         private void skipWhitespace() throws IOException {
             while (true) {
-                if (bufferPosition >= bufferLimit && !fillBuffer()) {
-                    return; // 文件结束
+                //在缓冲区内批量跳过
+                final char[] buf = buffer;
+                final int limit = bufferLimit;
+                int pos = bufferPosition;
+                while (pos < limit) {
+                    char c = buf[pos];
+                    if (c <= ' ') { //控制字符与空格（含 \t、\n、\r）
+                        pos++;
+                    } else {
+                        break;
+                    }
                 }
+                bufferPosition = pos;
 
-                char c = buffer[bufferPosition];
-                if ((c < 32 || c == ' ' || c == '\t' || c == '\n' || c == '\r')) {
-                    nextChar(); // 使用 nextChar() 确保行/列计数正确
-                } else {
-                    break;
+                if (pos < limit || !fillBuffer()) {
+                    return; // 遇到非空白，或文件结束
                 }
             }
         }
@@ -852,15 +1761,10 @@ public class JsonReader {
         private void skipLineComment() throws IOException {
             while (true) {
                 if (bufferPosition >= bufferLimit && !fillBuffer()) break;
-                char c = buffer[bufferPosition];
+                char c = buffer[bufferPosition++];
                 if (c == '\n') {
-                    line++;
-                    column = 0;
-                    bufferPosition++;
                     break;
                 }
-                bufferPosition++;
-                column++;
             }
         }
 
@@ -872,16 +1776,6 @@ public class JsonReader {
                     break;
                 }
                 char c = buffer[bufferPosition++];
-                if (c == '\n') {
-                    line++;
-                    column = 0;
-                } else if (c == '\r') {
-                    if (peekChar() == '\n') bufferPosition++;
-                    line++;
-                    column = 0;
-                } else {
-                    column++;
-                }
 
                 if (c == '*' && peekChar() == '/') {
                     bufferPosition++;
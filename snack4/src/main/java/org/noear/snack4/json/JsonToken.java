@@ -0,0 +1,46 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+/**
+ * Json 令牌（JsonParser 逐个读出）
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public enum JsonToken {
+    StartObject,
+    EndObject,
+    StartArray,
+    EndArray,
+    /**
+     * 键名
+     */
+    Name,
+
+    String,
+    Number,
+    Boolean,
+    Null,
+    ;
+
+    /**
+     * 是否为值（非结构令牌）
+     */
+    public boolean isScalar() {
+        return this == String || this == Number || this == Boolean || this == Null;
+    }
+}
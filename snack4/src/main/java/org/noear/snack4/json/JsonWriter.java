@@ -15,17 +15,25 @@
  */
 package org.noear.snack4.json;
 
-import org.noear.snack4.Feature;
 import org.noear.snack4.ONode;
 import org.noear.snack4.Options;
+import org.noear.snack4.codec.BeanStreamEncoder;
 import org.noear.snack4.codec.util.DateUtil;
+import org.noear.snack4.json.util.BufferPool;
+import org.noear.snack4.json.util.FastStringWriter;
+import org.noear.snack4.json.util.FeaturePlan;
 import org.noear.snack4.json.util.IoUtil;
+import org.noear.snack4.json.util.NameFragment;
 import org.noear.snack4.json.util.NameUtil;
+import org.noear.snack4.json.util.NumberFormatUtil;
+import org.noear.snack4.json.util.Utf8Writer;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -38,15 +46,32 @@ import java.util.Objects;
  */
 public class JsonWriter {
     public static String write(ONode node, Options opts) throws IOException {
-        StringWriter writer = new StringWriter();
+        FastStringWriter writer = new FastStringWriter(getBufferPool(opts));
         write(node, opts, writer);
-        return writer.toString();
+        String json = writer.toString();
+        writer.close();
+        return json;
     }
 
     public static void write(ONode node, Options opts, Writer writer) throws IOException {
         new JsonWriter(opts, writer).write(node);
     }
 
+    /**
+     * 以 UTF-8 字节书写到输出流（不关闭输出流）
+     *
+     * @since 4.0.54
+     */
+    public static void write(ONode node, Options opts, OutputStream out) throws IOException {
+        Utf8Writer writer = new Utf8Writer(out, getBufferPool(opts));
+        new JsonWriter(opts, writer).write(node);
+        writer.close();
+    }
+
+    private static BufferPool getBufferPool(Options opts) {
+        return (opts == null ? Options.DEF_OPTIONS : opts).getBufferPool();
+    }
+
     /// ////////////
 
     private final Options opts;
@@ -55,10 +80,18 @@ public class JsonWriter {
 
     private final StringBuilder stringBuilder;
 
+    //特性计划（开关已预先展开）
+    private final FeaturePlan plan;
     private final boolean Write_BrowserCompatible;
-    private final boolean Write_UseRawBackslash;
     private final boolean Write_UseSnakeStyle;
     private final boolean Write_UseCamelStyle;
+    private final boolean Write_PrettyFormat;
+    private final boolean Write_PlainNumber;
+    private final char Write_QuoteChar;
+    //UTF-8 书写器（键名片段直接复制字节）
+    private final Utf8Writer utf8Writer;
+    //数字书写缓冲（按需创建）
+    private char[] numberBuf;
 
     private StringBuilder getStringBuilder() {
         stringBuilder.setLength(0);
@@ -69,12 +102,16 @@ public class JsonWriter {
         Objects.requireNonNull(writer, "writer");
 
         this.writer = writer;
+        this.utf8Writer = (writer instanceof Utf8Writer ? (Utf8Writer) writer : null);
         this.opts = opts == null ? Options.DEF_OPTIONS : opts;
 
-        this.Write_BrowserCompatible = this.opts.hasFeature(Feature.Write_BrowserCompatible);
-        this.Write_UseRawBackslash = this.opts.hasFeature(Feature.Write_UseRawBackslash);
-        this.Write_UseSnakeStyle = this.opts.hasFeature(Feature.Write_UseSmlSnakeStyle);
-        this.Write_UseCamelStyle = this.opts.hasFeature(Feature.Write_UseSmlCamelStyle);
+        this.plan = this.opts.getFeaturePlan();
+        this.Write_BrowserCompatible = plan.Write_BrowserCompatible;
+        this.Write_UseSnakeStyle = plan.Write_UseSnakeStyle;
+        this.Write_UseCamelStyle = plan.Write_UseCamelStyle;
+        this.Write_PrettyFormat = plan.Write_PrettyFormat;
+        this.Write_PlainNumber = plan.Write_PlainNumber;
+        this.Write_QuoteChar = plan.Write_QuoteChar;
 
         if (Write_UseSnakeStyle || Write_UseCamelStyle) {
             this.stringBuilder = new StringBuilder(32);
@@ -95,125 +132,337 @@ public class JsonWriter {
                 writeString(node.getString());
                 break;
             case Number:
-                if (opts.hasFeature(Feature.Write_NumbersAsString)) {
-                    writeString(String.valueOf(node.getValue()));
+                if (plan.Write_NumbersAsString == false && Write_PlainNumber && node.getNumberRawType() != null) {
+                    //原始存放的数字（不装箱）
+                    writeRawNumber(node.getNumberRawType(), node.getNumberRawBits());
                 } else {
-                    writeNumber(node.getNumber());
+                    writeNumberValue(node.getNumber());
                 }
                 break;
             case Date:
-                if (opts.hasFeature(Feature.Write_UseDateFormat)) {
-                    writeString(DateUtil.format(node.getDate(),
-                            opts.getDateFormat(),
-                            opts.getZoneId()));
-                } else {
-                    writeNumber(node.getDate().getTime());
-                }
+                writeDateValue(node.getDate());
                 break;
             case Boolean:
-                if (opts.hasFeature(Feature.Write_BooleanAsNumber)) {
-                    writer.write(node.getBoolean() ? "1" : "0");
-                } else {
-                    writer.write(node.getBoolean() ? "true" : "false");
-                }
+                writeBooleanValue(node.getBoolean());
                 break;
             case Null:
             case Undefined:
-                writer.write("null");
+                writeNullValue();
                 break;
         }
     }
 
     private void writeObject(Map<String, ONode> map) throws IOException {
-        writer.write('{');
-        depth++;
+        beginObject();
         boolean first = true;
         for (Map.Entry<String, ONode> entry : map.entrySet()) {
             if (entry.getValue().isNull()) {
-                if (opts.hasFeature(Feature.Write_Nulls) == false) {
+                if (plan.Write_Nulls == false) {
                     continue;
                 }
             }
 
-            if (!first) {
-                writer.write(',');
-            }
-            writeIndentation();
+            writeName(entry.getKey(), first);
+            write(entry.getValue());
+            first = false;
+        }
+        endObject();
+    }
 
-            final String key;
-            if (Write_UseSnakeStyle) {
-                key = NameUtil.toSmlSnakeStyle(getStringBuilder(), entry.getKey());
-            } else if (Write_UseCamelStyle) {
-                key = NameUtil.toSmlCamelStyle(getStringBuilder(), entry.getKey());
-            } else {
-                key = entry.getKey();
-            }
+    private void writeArray(List<ONode> list) throws IOException {
+        beginArray();
+        boolean first = true;
+        for (ONode item : list) {
+            beginElement(first);
+            write(item);
+            first = false;
+        }
+        endArray();
+    }
 
+    /// ////////////
+    /// 逐步书写（供流式编码使用，调用方式与 writeObject、writeArray 相同）
+
+    /**
+     * 书写 Java 对象（由 BeanStreamEncoder 直接驱动书写器，不构建完整的 ONode 树）
+     *
+     * @since 4.0.54
+     */
+    public void writeBean(Object bean) throws IOException {
+        BeanStreamEncoder.encode(this, bean, opts);
+    }
 
-            writeKey(key);
-            writer.write(':');
-            if (opts.hasFeature(Feature.Write_PrettyFormat)) {
-                writer.write(' ');
-            }
-            write(entry.getValue());
-            first = false;
+    /**
+     * 开始书写对象
+     *
+     * @since 4.0.54
+     */
+    public void beginObject() throws IOException {
+        writer.write('{');
+        depth++;
+    }
+
+    /**
+     * 书写键名（包括之前的 ',' 和缩进，以及之后的 ':'）
+     *
+     * @param first 是否为第一个成员
+     * @since 4.0.54
+     */
+    public void writeName(String name, boolean first) throws IOException {
+        if (!first) {
+            writer.write(',');
         }
+        writeIndentation();
+        writeNameBody(name);
+    }
+
+    /**
+     * 书写键名（使用预先书写好的片段，整段复制）
+     *
+     * @param fragment 键名片段（需与当前的 FeaturePlan.Write_NameFeatures 匹配）
+     * @param first    是否为第一个成员
+     * @since 4.0.54
+     */
+    public void writeName(NameFragment fragment, boolean first) throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        writeIndentation();
+
+        if (utf8Writer != null) {
+            utf8Writer.writeBytes(fragment.utf8, 0, fragment.utf8.length);
+        } else {
+            writer.write(fragment.chars, 0, fragment.chars.length);
+        }
+    }
+
+    /**
+     * 生成键名片段（按当前选项书写好的 `"name":`，供缓存复用）
+     *
+     * @since 4.0.54
+     */
+    public NameFragment encodeName(String name) throws IOException {
+        FastStringWriter tmp = new FastStringWriter(name.length() + 8);
+        new JsonWriter(opts, tmp).writeNameBody(name);
+
+        String str = tmp.toString();
+        return new NameFragment(plan.Write_NameFeatures, str.toCharArray(), str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeNameBody(String name) throws IOException {
+        final String key;
+        if (Write_UseSnakeStyle) {
+            key = NameUtil.toSmlSnakeStyle(getStringBuilder(), name);
+        } else if (Write_UseCamelStyle) {
+            key = NameUtil.toSmlCamelStyle(getStringBuilder(), name);
+        } else {
+            key = name;
+        }
+
+        writeKey(key);
+        writer.write(':');
+        if (Write_PrettyFormat) {
+            writer.write(' ');
+        }
+    }
+
+    /**
+     * 结束书写对象
+     *
+     * @since 4.0.54
+     */
+    public void endObject() throws IOException {
         depth--;
         writeIndentation();
         writer.write('}');
     }
 
-    private void writeArray(List<ONode> list) throws IOException {
+    /**
+     * 开始书写数组
+     *
+     * @since 4.0.54
+     */
+    public void beginArray() throws IOException {
         writer.write('[');
         depth++;
-        boolean first = true;
-        for (ONode item : list) {
-            if (!first) {
-                writer.write(',');
-            }
-            writeIndentation();
-            write(item);
-            first = false;
+    }
+
+    /**
+     * 开始书写数组元素（包括之前的 ',' 和缩进）
+     *
+     * @param first 是否为第一个元素
+     * @since 4.0.54
+     */
+    public void beginElement(boolean first) throws IOException {
+        if (!first) {
+            writer.write(',');
         }
+        writeIndentation();
+    }
+
+    /**
+     * 结束书写数组
+     *
+     * @since 4.0.54
+     */
+    public void endArray() throws IOException {
         depth--;
         writeIndentation();
         writer.write(']');
     }
 
+    /**
+     * 书写字符串值（null 时书写 null）
+     *
+     * @since 4.0.54
+     */
+    public void writeStringValue(String value) throws IOException {
+        if (value == null) {
+            writeNullValue();
+        } else {
+            writeString(value);
+        }
+    }
+
+    /**
+     * 书写数字值（按数字相关的书写特性；null 时书写 null）
+     *
+     * @since 4.0.54
+     */
+    public void writeNumberValue(Number value) throws IOException {
+        if (value == null) {
+            writeNullValue();
+        } else if (plan.Write_NumbersAsString) {
+            writeString(String.valueOf(value));
+        } else {
+            writeNumber(value);
+        }
+    }
+
+    /**
+     * 书写 int 值（默认配置时不装箱）
+     *
+     * @since 4.0.54
+     */
+    public void writeIntValue(int value) throws IOException {
+        if (plan.Write_NumbersAsString == false && Write_PlainNumber) {
+            writeRawNumber(Integer.class, value);
+        } else {
+            writeNumberValue(value);
+        }
+    }
+
+    /**
+     * 书写 long 值（默认配置时不装箱）
+     *
+     * @since 4.0.54
+     */
+    public void writeLongValue(long value) throws IOException {
+        if (plan.Write_NumbersAsString == false && Write_PlainNumber) {
+            writeRawNumber(Long.class, value);
+        } else {
+            writeNumberValue(value);
+        }
+    }
+
+    /**
+     * 书写 double 值（默认配置时不装箱）
+     *
+     * @since 4.0.54
+     */
+    public void writeDoubleValue(double value) throws IOException {
+        if (plan.Write_NumbersAsString == false && Write_PlainNumber) {
+            writeRawNumber(Double.class, Double.doubleToRawLongBits(value));
+        } else {
+            writeNumberValue(value);
+        }
+    }
+
+    /**
+     * 书写布尔值
+     *
+     * @since 4.0.54
+     */
+    public void writeBooleanValue(boolean value) throws IOException {
+        if (plan.Write_BooleanAsNumber) {
+            writer.write(value ? "1" : "0");
+        } else {
+            writer.write(value ? "true" : "false");
+        }
+    }
+
+    /**
+     * 书写日期值（按 Write_UseDateFormat；null 时书写 null）
+     *
+     * @since 4.0.54
+     */
+    public void writeDateValue(Date value) throws IOException {
+        if (value == null) {
+            writeNullValue();
+        } else if (plan.Write_UseDateFormat) {
+            writeString(DateUtil.format(value,
+                    opts.getDateFormat(),
+                    opts.getZoneId()));
+        } else {
+            writeNumber(value.getTime());
+        }
+    }
+
+    /**
+     * 书写 null
+     *
+     * @since 4.0.54
+     */
+    public void writeNullValue() throws IOException {
+        writer.write("null");
+    }
+
+    /**
+     * 书写原始文本（不转义，由调用方保证是有效的 json）
+     *
+     * @since 4.0.54
+     */
+    public void writeRawValue(CharSequence value) throws IOException {
+        writer.write(value.toString());
+    }
+
     private void writeIndentation() throws IOException {
-        if (opts.hasFeature(Feature.Write_PrettyFormat)) {
-            writer.write('\n');
-            for (int i = 0; i < depth; i++) {
-                writer.write(opts.getWriteIndent());
-            }
+        if (Write_PrettyFormat) {
+            writer.write(plan.getIndent(depth));
         }
     }
 
     private void writeNumber(Number num) throws IOException {
-        if (opts.hasFeature(Feature.Write_DoubleAsString) && num instanceof Double) {
+        if (Write_PlainNumber) {
+            //默认配置（没有数字相关的书写特性）
+            writeNumberText(num);
+            return;
+        }
+
+        if (plan.Write_DoubleAsString && num instanceof Double) {
             writer.write('"');
-            writer.write(num.toString());
+            writeNumberText(num);
             writer.write('"');
             return;
         }
 
-        if (opts.hasFeature(Feature.Write_LongAsString) && num instanceof Long) {
+        if (plan.Write_LongAsString && num instanceof Long) {
             writer.write('"');
-            writer.write(num.toString());
+            writeNumberText(num);
             writer.write('"');
             return;
         }
 
-        if (opts.hasFeature(Feature.Write_BigDecimalAsPlain) && num instanceof BigDecimal) {
+        if (plan.Write_BigDecimalAsPlain && num instanceof BigDecimal) {
             writer.write('"');
             writer.write(((BigDecimal) num).toPlainString());
             writer.write('"');
             return;
         }
 
-        writer.write(num.toString());
+        writeNumberText(num);
 
-        if (opts.hasFeature(Feature.Write_NumberTypeSuffix)) {
+        if (plan.Write_NumberTypeSuffix) {
             if (num instanceof Double) {
                 writer.write('D');
             } else if (num instanceof Float) {
@@ -224,8 +473,62 @@ public class JsonWriter {
         }
     }
 
+    /**
+     * 书写数字文本（与 num.toString() 一致；int、long、double 直接书写到缓冲，不生成中间 String）
+     */
+    private void writeNumberText(Number num) throws IOException {
+        Class<?> clz = num.getClass();
+        int end;
+
+        if (clz == Integer.class || clz == Short.class || clz == Byte.class) {
+            end = NumberFormatUtil.writeInt(num.intValue(), getNumberBuf(), 0);
+        } else if (clz == Long.class) {
+            end = NumberFormatUtil.writeLong(num.longValue(), getNumberBuf(), 0);
+        } else if (clz == Double.class) {
+            end = NumberFormatUtil.writeDouble(num.doubleValue(), getNumberBuf(), 0);
+        } else {
+            end = -1;
+        }
+
+        if (end < 0) {
+            writer.write(num.toString());
+        } else {
+            writer.write(numberBuf, 0, end);
+        }
+    }
+
+    /**
+     * 书写原始存放的数字（见 ONode.getNumberRawType）
+     */
+    private void writeRawNumber(Class<?> numType, long numBits) throws IOException {
+        int end;
+
+        if (numType == Double.class) {
+            double d = Double.longBitsToDouble(numBits);
+            end = NumberFormatUtil.writeDouble(d, getNumberBuf(), 0);
+
+            if (end < 0) {
+                writer.write(Double.toString(d));
+                return;
+            }
+        } else if (numType == Long.class) {
+            end = NumberFormatUtil.writeLong(numBits, getNumberBuf(), 0);
+        } else {
+            end = NumberFormatUtil.writeInt((int) numBits, getNumberBuf(), 0);
+        }
+
+        writer.write(numberBuf, 0, end);
+    }
+
+    private char[] getNumberBuf() {
+        if (numberBuf == null) {
+            numberBuf = new char[NumberFormatUtil.MAX_DOUBLE_CHARS];
+        }
+        return numberBuf;
+    }
+
     private void writeKey(String s) throws IOException {
-        if (opts.hasFeature(Feature.Write_UnquotedFieldNames)) {
+        if (plan.Write_UnquotedFieldNames) {
             writeEscapeString(s, '"', opts);
         } else {
             writeString(s);
@@ -233,55 +536,60 @@ public class JsonWriter {
     }
 
     private void writeString(String s) throws IOException {
-        char quoteChar = opts.hasFeature(Feature.Write_UseSingleQuotes) ? '\'' : '"';
+        char quoteChar = Write_QuoteChar;
         writer.write(quoteChar);
         writeEscapeString(s, quoteChar, opts);
         writer.write(quoteChar);
     }
 
     private void writeEscapeString(String s, char quoteChar, Options opts) throws IOException {
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
+        final byte[] escapeTable = plan.getEscapeTable(quoteChar);
+        final boolean escapeNonAscii = Write_BrowserCompatible;
+        final int len = s.length();
+        int start = 0; //未书写片段的开始位置
 
-            //1.对特殊符号转码处理
-            if (c == quoteChar || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == '\b') {
-                writer.write('\\');
-                writer.write(IoUtil.CHARS_MARK[(int) c]);
-                continue;
-            }
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
 
-            //2.对转义符处理
-            if (c == '\\') {
-                if (Write_UseRawBackslash) {
-                    writer.write('\\');
-                } else {
-                    writer.write("\\\\");
+            //0.不需要转义的，留到片段里批量书写（查表，一次判断）
+            final int escape;
+            if (c < 128) {
+                escape = escapeTable[c];
+                if (escape == FeaturePlan.ESCAPE_NONE) {
+                    continue;
                 }
+            } else if (escapeNonAscii) {
+                escape = FeaturePlan.ESCAPE_UNICODE;
+            } else {
                 continue;
             }
 
-            //3.对不可见ASC码，进行编码处理
-            if (c < 32) { //0x20
-                writer.append('\\');
-                writer.append('u');
-                writer.append('0');
-                writer.append('0');
-                writer.append(IoUtil.DIGITS[(c >>> 4) & 15]);
-                writer.append(IoUtil.DIGITS[c & 15]);
-                continue;
+            if (i > start) {
+                writer.write(s, start, i - start);
             }
+            start = i + 1;
 
-            if (c == 127) { //0x7F
-                writeEscapeChar(c);
-                continue;
+            switch (escape) {
+                case FeaturePlan.ESCAPE_MARK:
+                    //1.对特殊符号转码处理
+                    writer.write('\\');
+                    writer.write(IoUtil.CHARS_MARK[(int) c]);
+                    break;
+                case FeaturePlan.ESCAPE_BACKSLASH:
+                    //2.对转义符处理
+                    writer.write("\\\\");
+                    break;
+                default:
+                    //3.对不可见ASC码、非 asc 码（Write_BrowserCompatible）进行编码处理
+                    writeEscapeChar(c);
+                    break;
             }
+        }
 
-            //4.对非 asc 码处理
-            if (c > 127 && Write_BrowserCompatible) {
-                writeEscapeChar(c);
-            } else {
-                writer.write(c);
-            }
+        if (start == 0) {
+            writer.write(s);
+        } else if (start < len) {
+            writer.write(s, start, len - start);
         }
     }
 
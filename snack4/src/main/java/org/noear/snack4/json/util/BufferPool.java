@@ -0,0 +1,230 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓冲池（复用读取器、书写器的 char[]、byte[] 缓冲，及读取器的键名表）
+ *
+ * <p>固定容量（有界）的槽位数组，按线程 id 的哈希定位起始槽位，向后探测几个槽位，用 CAS 借出与归还。
+ * 无锁，也不依赖 ThreadLocal（虚拟线程很多、生命周期很短，ThreadLocal 缓存几乎不会命中）。
+ * 借不到时由调用方自己创建，归还时槽位满了就丢弃，所以池的内存占用以容量为界</p>
+ *
+ * <p>只接收长度在 [MIN_BUFFER_SIZE, MAX_BUFFER_SIZE] 之间的缓冲（太小的没有复用价值，太大的不宜长期持有）</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class BufferPool {
+    /**
+     * 最小缓冲长度（借出的缓冲不小于它）
+     */
+    public static final int MIN_BUFFER_SIZE = 8192;
+    /**
+     * 最大缓冲长度（更大的不回收）
+     */
+    public static final int MAX_BUFFER_SIZE = 32 * 1024;
+
+    /**
+     * 共享实例（Options 默认使用）
+     */
+    public static final BufferPool SHARED = new BufferPool(Math.min(64, Runtime.getRuntime().availableProcessors() * 4));
+    /**
+     * 不复用（每次都新建缓冲）
+     */
+    public static final BufferPool NONE = new BufferPool(0);
+
+    //探测的槽位数
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<char[]> charSlots;
+    private final AtomicReferenceArray<byte[]> byteSlots;
+    private final AtomicReferenceArray<KeyTable> keyTableSlots;
+    private final int mask;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param capacity 容量（每种缓冲的槽位数，会向上取为 2 的幂；为 0 时不复用）
+     */
+    public BufferPool(int capacity) {
+        int size = 0;
+        if (capacity > 0) {
+            size = 1;
+            while (size < capacity) {
+                size <<= 1;
+            }
+        }
+
+        this.charSlots = new AtomicReferenceArray<>(size);
+        this.byteSlots = new AtomicReferenceArray<>(size);
+        this.keyTableSlots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 容量（每种缓冲的槽位数）
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 借出 char[]（长度不小于 MIN_BUFFER_SIZE）
+     *
+     * @return 没有可用的时返回 null（由调用方自己创建）
+     */
+    public char[] borrowChars() {
+        if (mask >= 0) {
+            int start = probeStart();
+            for (int i = 0; i < PROBES; i++) {
+                int idx = (start + i) & mask;
+                char[] buf = charSlots.get(idx);
+                if (buf != null && charSlots.compareAndSet(idx, buf, null)) {
+                    hitCount.increment();
+                    return buf;
+                }
+            }
+        }
+
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 归还 char[]（归还后调用方不能再使用）
+     */
+    public void releaseChars(char[] buf) {
+        if (mask < 0 || buf == null || buf.length < MIN_BUFFER_SIZE || buf.length > MAX_BUFFER_SIZE) {
+            return;
+        }
+
+        int start = probeStart();
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (start + i) & mask;
+            if (charSlots.get(idx) == null && charSlots.compareAndSet(idx, null, buf)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 借出 byte[]（长度不小于 MIN_BUFFER_SIZE）
+     *
+     * @return 没有可用的时返回 null（由调用方自己创建）
+     */
+    public byte[] borrowBytes() {
+        if (mask >= 0) {
+            int start = probeStart();
+            for (int i = 0; i < PROBES; i++) {
+                int idx = (start + i) & mask;
+                byte[] buf = byteSlots.get(idx);
+                if (buf != null && byteSlots.compareAndSet(idx, buf, null)) {
+                    hitCount.increment();
+                    return buf;
+                }
+            }
+        }
+
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 归还 byte[]（归还后调用方不能再使用）
+     */
+    public void releaseBytes(byte[] buf) {
+        if (mask < 0 || buf == null || buf.length < MIN_BUFFER_SIZE || buf.length > MAX_BUFFER_SIZE) {
+            return;
+        }
+
+        int start = probeStart();
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (start + i) & mask;
+            if (byteSlots.get(idx) == null && byteSlots.compareAndSet(idx, null, buf)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 借出键名表（读取器没有共享的键名表时使用；不计入命中次数）
+     *
+     * @return 没有可用的时返回 null（由调用方自己创建）
+     */
+    public KeyTable borrowKeyTable() {
+        if (mask >= 0) {
+            int start = probeStart();
+            for (int i = 0; i < PROBES; i++) {
+                int idx = (start + i) & mask;
+                KeyTable table = keyTableSlots.get(idx);
+                if (table != null && keyTableSlots.compareAndSet(idx, table, null)) {
+                    return table;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 归还键名表（归还后调用方不能再使用）
+     */
+    public void releaseKeyTable(KeyTable table) {
+        if (mask < 0 || table == null) {
+            return;
+        }
+
+        int start = probeStart();
+        for (int i = 0; i < PROBES; i++) {
+            int idx = (start + i) & mask;
+            if (keyTableSlots.get(idx) == null && keyTableSlots.compareAndSet(idx, null, table)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 命中次数（借到了池里的缓冲）
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 未命中次数（由调用方新建缓冲）
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 重置计数
+     */
+    public void resetCount() {
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    private static int probeStart() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
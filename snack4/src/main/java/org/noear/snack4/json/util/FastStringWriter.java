@@ -0,0 +1,171 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * 快速字符串书写器（非同步，直接追加到可增长的 char[]；替代 StringWriter）
+ *
+ * <p>StringWriter 基于同步的 StringBuffer，且 Writer 的默认 write(String...) 实现会加锁并经过临时缓冲。
+ * 这里覆盖全部书写方法，字符串使用 String.getChars 批量复制，toString 只复制一次。非线程安全</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public final class FastStringWriter extends Writer {
+    private static final char[] EMPTY = new char[0];
+
+    private char[] buf;
+    private int count;
+    //缓冲池（close 时归还缓冲）
+    private BufferPool pool;
+
+    public FastStringWriter() {
+        this(256);
+    }
+
+    public FastStringWriter(int initialCapacity) {
+        this.buf = new char[initialCapacity > 0 ? initialCapacity : 16];
+    }
+
+    /**
+     * 从缓冲池借用缓冲（close 时归还，之后不能再使用）
+     *
+     * @since 4.0.54
+     */
+    public FastStringWriter(BufferPool pool) {
+        char[] pooled = pool.borrowChars();
+        this.buf = (pooled == null ? new char[256] : pooled);
+        this.pool = pool;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            int newCapacity = buf.length << 1;
+            if (newCapacity < minCapacity) {
+                newCapacity = minCapacity;
+            }
+
+            if (newCapacity < 0) {
+                throw new OutOfMemoryError("Required length exceeds implementation limit");
+            }
+
+            buf = Arrays.copyOf(buf, newCapacity);
+        }
+    }
+
+    @Override
+    public void write(int c) {
+        if (count == buf.length) {
+            ensureCapacity(count + 1);
+        }
+        buf[count++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] cbuf) {
+        write(cbuf, 0, cbuf.length);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(cbuf, off, buf, count, len);
+        count += len;
+    }
+
+    @Override
+    public void write(String str) {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        ensureCapacity(count + len);
+        str.getChars(off, off + len, buf, count);
+        count += len;
+    }
+
+    @Override
+    public FastStringWriter append(CharSequence csq) {
+        String str = String.valueOf(csq);
+        write(str, 0, str.length());
+        return this;
+    }
+
+    @Override
+    public FastStringWriter append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            csq = "null";
+        }
+
+        if (csq instanceof String) {
+            write((String) csq, start, end - start);
+        } else {
+            ensureCapacity(count + (end - start));
+            for (int i = start; i < end; i++) {
+                buf[count++] = csq.charAt(i);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public FastStringWriter append(char c) {
+        write(c);
+        return this;
+    }
+
+    /**
+     * 已书写的长度
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 重置（保留缓冲，便于复用）
+     */
+    public void reset() {
+        count = 0;
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, count);
+    }
+
+    @Override
+    public void flush() {
+
+    }
+
+    /**
+     * 关闭（有缓冲池时归还缓冲，之后不能再使用）
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            BufferPool tmp = pool;
+            pool = null;
+            tmp.releaseChars(buf);
+            buf = EMPTY;
+            count = 0;
+        }
+    }
+}
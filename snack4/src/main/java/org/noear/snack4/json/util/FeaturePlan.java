@@ -0,0 +1,230 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+import org.noear.snack4.Feature;
+
+/**
+ * 特性计划（由特性位值预先展开的读写开关，不可变；由 Options 按特性值缓存）
+ *
+ * <p>读写器构建时直接取用，不再逐个 hasFeature；并预先合成组合开关（如 Write_PlainNumber），
+ * 使默认配置下的内循环只需判断一个开关</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public final class FeaturePlan {
+    //预先生成的缩进层级
+    private static final int INDENT_CACHE_DEPTH = 16;
+    //影响键名书写的特性
+    private static final long NAME_FEATURES_MASK = Feature.addFeatures(0L,
+            Feature.Write_UseSmlSnakeStyle,
+            Feature.Write_UseSmlCamelStyle,
+            Feature.Write_UnquotedFieldNames,
+            Feature.Write_UseSingleQuotes,
+            Feature.Write_BrowserCompatible,
+            Feature.Write_UseRawBackslash,
+            Feature.Write_PrettyFormat);
+
+    /**
+     * 转义类型：不需要转义
+     */
+    public static final byte ESCAPE_NONE = 0;
+    /**
+     * 转义类型：反斜杠加标记字符（如 \n、\"）
+     */
+    public static final byte ESCAPE_MARK = 1;
+    /**
+     * 转义类型：\\uXXXX
+     */
+    public static final byte ESCAPE_UNICODE = 2;
+    /**
+     * 转义类型：反斜杠（书写为 \\）
+     */
+    public static final byte ESCAPE_BACKSLASH = 3;
+
+    //ASCII 转义表（按引号与 Write_UseRawBackslash 组合，共 4 个，所有计划共享）
+    private static final byte[] ESCAPE_DOUBLE_QUOTE = buildEscapeTable('"', false);
+    private static final byte[] ESCAPE_DOUBLE_QUOTE_RAW = buildEscapeTable('"', true);
+    private static final byte[] ESCAPE_SINGLE_QUOTE = buildEscapeTable('\'', false);
+    private static final byte[] ESCAPE_SINGLE_QUOTE_RAW = buildEscapeTable('\'', true);
+
+    private static byte[] buildEscapeTable(char quoteChar, boolean rawBackslash) {
+        byte[] table = new byte[128];
+        for (int c = 0; c < 32; c++) {
+            table[c] = ESCAPE_UNICODE;
+        }
+
+        table['\n'] = ESCAPE_MARK;
+        table['\r'] = ESCAPE_MARK;
+        table['\t'] = ESCAPE_MARK;
+        table['\f'] = ESCAPE_MARK;
+        table['\b'] = ESCAPE_MARK;
+        table[quoteChar] = ESCAPE_MARK;
+        table[127] = ESCAPE_UNICODE;
+        //原样书写时，反斜杠不需要转义
+        table['\\'] = rawBackslash ? ESCAPE_NONE : ESCAPE_BACKSLASH;
+        return table;
+    }
+
+    private final long features;
+    private final String writeIndent;
+    private final String[] indents;
+
+    //-- 读取 --//
+    public final boolean Read_AllowComment;
+    public final boolean Read_DisableUnquotedKeys;
+    public final boolean Read_DisableSingleQuotes;
+    public final boolean Read_UnwrapJsonString;
+    public final boolean Read_TrimString;
+    public final boolean Read_ConvertSnakeToCamel;
+    public final boolean Read_ConvertCamelToSnake;
+    public final boolean Read_AutoRepair;
+    public final boolean Read_AllowZeroLeadingNumbers;
+    public final boolean Read_UseBigDecimalMode;
+    public final boolean Read_UseBigIntegerMode;
+    public final boolean Read_AllowEmptyKeys;
+    public final boolean Read_AllowInvalidEscapeCharacter;
+    public final boolean Read_AllowBackslashEscapingAnyCharacter;
+    public final boolean Read_AllowUnescapedControlCharacters;
+
+    //-- 书写 --//
+    public final boolean Write_PrettyFormat;
+    public final boolean Write_Nulls;
+    public final boolean Write_NumbersAsString;
+    public final boolean Write_UseDateFormat;
+    public final boolean Write_BooleanAsNumber;
+    public final boolean Write_DoubleAsString;
+    public final boolean Write_LongAsString;
+    public final boolean Write_BigDecimalAsPlain;
+    public final boolean Write_NumberTypeSuffix;
+    public final boolean Write_UnquotedFieldNames;
+    public final boolean Write_BrowserCompatible;
+    public final boolean Write_UseRawBackslash;
+    public final boolean Write_UseSnakeStyle;
+    public final boolean Write_UseCamelStyle;
+    /**
+     * 数字原样书写（没有任何数字相关的书写特性）
+     */
+    public final boolean Write_PlainNumber;
+    /**
+     * 字符串引号
+     */
+    public final char Write_QuoteChar;
+    /**
+     * 影响键名书写的特性值（用于键名片段缓存校验）
+     */
+    public final long Write_NameFeatures;
+
+    //字符串值的转义表（Write_QuoteChar）
+    private final byte[] escapeTable;
+    //双引号的转义表（不加引号的键名）
+    private final byte[] escapeTableDoubleQuote;
+
+    public FeaturePlan(long features, String writeIndent) {
+        this.features = features;
+        this.writeIndent = writeIndent;
+
+        this.Read_AllowComment = Feature.hasFeature(features, Feature.Read_AllowComment);
+        this.Read_DisableUnquotedKeys = Feature.hasFeature(features, Feature.Read_DisableUnquotedKeys);
+        this.Read_DisableSingleQuotes = Feature.hasFeature(features, Feature.Read_DisableSingleQuotes);
+        this.Read_UnwrapJsonString = Feature.hasFeature(features, Feature.Read_UnwrapJsonString);
+        this.Read_TrimString = Feature.hasFeature(features, Feature.Read_TrimString);
+        this.Read_ConvertSnakeToCamel = Feature.hasFeature(features, Feature.Read_ConvertSnakeToSmlCamel);
+        this.Read_ConvertCamelToSnake = Feature.hasFeature(features, Feature.Read_ConvertCamelToSmlSnake);
+        this.Read_AutoRepair = Feature.hasFeature(features, Feature.Read_AutoRepair);
+        this.Read_AllowZeroLeadingNumbers = Feature.hasFeature(features, Feature.Read_AllowZeroLeadingNumbers);
+        this.Read_UseBigDecimalMode = Feature.hasFeature(features, Feature.Read_UseBigDecimalMode);
+        this.Read_UseBigIntegerMode = Feature.hasFeature(features, Feature.Read_UseBigIntegerMode);
+        this.Read_AllowEmptyKeys = Feature.hasFeature(features, Feature.Read_AllowEmptyKeys);
+        this.Read_AllowInvalidEscapeCharacter = Feature.hasFeature(features, Feature.Read_AllowInvalidEscapeCharacter);
+        this.Read_AllowBackslashEscapingAnyCharacter = Feature.hasFeature(features, Feature.Read_AllowBackslashEscapingAnyCharacter);
+        this.Read_AllowUnescapedControlCharacters = Feature.hasFeature(features, Feature.Read_AllowUnescapedControlCharacters);
+
+        this.Write_PrettyFormat = Feature.hasFeature(features, Feature.Write_PrettyFormat);
+        this.Write_Nulls = Feature.hasFeature(features, Feature.Write_Nulls);
+        this.Write_NumbersAsString = Feature.hasFeature(features, Feature.Write_NumbersAsString);
+        this.Write_UseDateFormat = Feature.hasFeature(features, Feature.Write_UseDateFormat);
+        this.Write_BooleanAsNumber = Feature.hasFeature(features, Feature.Write_BooleanAsNumber);
+        this.Write_DoubleAsString = Feature.hasFeature(features, Feature.Write_DoubleAsString);
+        this.Write_LongAsString = Feature.hasFeature(features, Feature.Write_LongAsString);
+        this.Write_BigDecimalAsPlain = Feature.hasFeature(features, Feature.Write_BigDecimalAsPlain);
+        this.Write_NumberTypeSuffix = Feature.hasFeature(features, Feature.Write_NumberTypeSuffix);
+        this.Write_UnquotedFieldNames = Feature.hasFeature(features, Feature.Write_UnquotedFieldNames);
+        this.Write_BrowserCompatible = Feature.hasFeature(features, Feature.Write_BrowserCompatible);
+        this.Write_UseRawBackslash = Feature.hasFeature(features, Feature.Write_UseRawBackslash);
+        this.Write_UseSnakeStyle = Feature.hasFeature(features, Feature.Write_UseSmlSnakeStyle);
+        this.Write_UseCamelStyle = Feature.hasFeature(features, Feature.Write_UseSmlCamelStyle);
+
+        this.Write_PlainNumber = (Write_DoubleAsString || Write_LongAsString || Write_BigDecimalAsPlain || Write_NumberTypeSuffix) == false;
+        this.Write_QuoteChar = Feature.hasFeature(features, Feature.Write_UseSingleQuotes) ? '\'' : '"';
+        this.Write_NameFeatures = features & NAME_FEATURES_MASK;
+
+        this.escapeTableDoubleQuote = Write_UseRawBackslash ? ESCAPE_DOUBLE_QUOTE_RAW : ESCAPE_DOUBLE_QUOTE;
+        if (Write_QuoteChar == '"') {
+            this.escapeTable = escapeTableDoubleQuote;
+        } else {
+            this.escapeTable = Write_UseRawBackslash ? ESCAPE_SINGLE_QUOTE_RAW : ESCAPE_SINGLE_QUOTE;
+        }
+
+        if (Write_PrettyFormat) {
+            this.indents = new String[INDENT_CACHE_DEPTH];
+            StringBuilder buf = new StringBuilder();
+            buf.append('\n');
+            for (int i = 0; i < INDENT_CACHE_DEPTH; i++) {
+                indents[i] = buf.toString();
+                buf.append(writeIndent);
+            }
+        } else {
+            this.indents = null;
+        }
+    }
+
+    /**
+     * 是否与指定的特性、缩进匹配（用于缓存校验）
+     */
+    public boolean matches(long features, String writeIndent) {
+        return this.features == features && this.writeIndent == writeIndent;
+    }
+
+    /**
+     * 获取换行与缩进（仅 Write_PrettyFormat 时有效）
+     *
+     * @param depth 层级
+     */
+    public String getIndent(int depth) {
+        if (depth < INDENT_CACHE_DEPTH) {
+            return indents[depth];
+        }
+
+        StringBuilder buf = new StringBuilder(indents[INDENT_CACHE_DEPTH - 1]);
+        for (int i = INDENT_CACHE_DEPTH - 1; i < depth; i++) {
+            buf.append(writeIndent);
+        }
+        return buf.toString();
+    }
+
+    /**
+     * 获取 ASCII 转义表（下标为字符，值为 ESCAPE_* 转义类型；只读，不要修改）
+     *
+     * <p>非 ASCII 字符只在 Write_BrowserCompatible 时转义为 \\uXXXX，不在表内</p>
+     *
+     * @param quoteChar 引号（'"' 或 Write_QuoteChar）
+     */
+    public byte[] getEscapeTable(char quoteChar) {
+        return quoteChar == '"' ? escapeTableDoubleQuote : escapeTable;
+    }
+}
@@ -76,4 +76,28 @@ public class IoUtil {
         CHARS_MARK_REV['/'] = '/'; // 47
         CHARS_MARK_REV['\\'] = '\\'; // 92
     }
+
+    /**
+     * 转为字符数组（批量复制）
+     */
+    public static char[] toCharArray(CharSequence cs) {
+        if (cs instanceof String) {
+            return ((String) cs).toCharArray();
+        }
+
+        int len = cs.length();
+        char[] chars = new char[len];
+
+        if (cs instanceof StringBuilder) {
+            ((StringBuilder) cs).getChars(0, len, chars, 0);
+        } else if (cs instanceof StringBuffer) {
+            ((StringBuffer) cs).getChars(0, len, chars, 0);
+        } else {
+            for (int i = 0; i < len; i++) {
+                chars[i] = cs.charAt(i);
+            }
+        }
+
+        return chars;
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+/**
+ * 键名表（对象键名规范化，相同的键名复用同一个 String 实例）
+ *
+ * <p>固定容量（有界），按原始字符的哈希定位槽位，冲突时直接覆盖。
+ * 槽位里只放不可变的 String，并发读写最多造成一次未命中，所以无锁也是线程安全的</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class KeyTable {
+    /**
+     * 共享实例（可通过 Options.keyTable(KeyTable.SHARED) 启用）
+     */
+    public static final KeyTable SHARED = new KeyTable(4096);
+
+    //超长的键名不缓存（一般不是字段名）
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final String[] slots;
+    private final int mask;
+
+    /**
+     * @param capacity 容量（会向上取为 2 的幂）
+     */
+    public KeyTable(int capacity) {
+        int size = 16;
+        while (size < capacity) {
+            size <<= 1;
+        }
+
+        this.slots = new String[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * 获取键名（命中则返回已有实例，否则创建并登记）
+     */
+    public String get(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return "";
+        }
+
+        if (length > MAX_KEY_LENGTH) {
+            return new String(chars, offset, length);
+        }
+
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        int idx = (hash ^ (hash >>> 16)) & mask;
+
+        String key = slots[idx];
+        if (key != null && matches(key, hash, chars, offset, length)) {
+            return key;
+        }
+
+        //相邻槽位作为第二选择（减少两个常用键名互相挤占）
+        int idx2 = (idx + 1) & mask;
+        String key2 = slots[idx2];
+        if (key2 != null && matches(key2, hash, chars, offset, length)) {
+            return key2;
+        }
+
+        String tmp = new String(chars, offset, length);
+
+        if (key == null || key2 != null) {
+            slots[idx] = tmp;
+        } else {
+            slots[idx2] = tmp;
+        }
+
+        return tmp;
+    }
+
+    private static boolean matches(String key, int hash, char[] chars, int offset, int length) {
+        if (key.length() != length || key.hashCode() != hash) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 内存映射的 UTF-8 文件读取器（非线程安全）
+ *
+ * <p>按段映射文件（FileChannel.map，单段不超过 segmentSize，所以支持超过 2G 的文件），
+ * 直接从映射内存解码进调用方的 char 缓冲区：不经过 read 系统调用，也没有中间 byte[] 复制，文件内容由系统页缓存承载。
+ * 段按读取进度依次映射（之前的段不再引用）；多字节序列跨段时，从该序列的起始字节重新映射</p>
+ *
+ * <p>注意：JDK 没有公开的解除映射方法，不再引用的段要等 GC 回收后才释放地址空间（关闭时也一样）。
+ * 所以段不能太小（不小于 MIN_SEGMENT_SIZE），否则大文件的映射数会在 GC 前超出系统上限</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class MappedUtf8Reader extends Reader {
+    /**
+     * 默认段大小（1G）
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+    /**
+     * 最小段大小（64M）
+     */
+    public static final int MIN_SEGMENT_SIZE = 1 << 26;
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+    private final FileChannel channel;
+    private final long size;
+    private final int segmentSize;
+
+    private MappedByteBuffer segment;
+    //当前段在文件中的起始位置
+    private long segmentStart;
+    private int pos;
+    private int limit;
+    private boolean started;
+    private boolean closed;
+    //代理对的低位（输出缓冲区只剩一个位置时暂存）
+    private char pendingLow;
+
+    public MappedUtf8Reader(Path file) throws IOException {
+        this(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segmentSize 段大小（字节，不小于 MIN_SEGMENT_SIZE）
+     */
+    public MappedUtf8Reader(Path file, int segmentSize) throws IOException {
+        this(file, segmentSize, MIN_SEGMENT_SIZE);
+    }
+
+    /**
+     * 测试段边界用（允许很小的段；只适合小文件，否则映射数会在 GC 前超出系统上限）
+     *
+     * @param segmentSize    段大小（字节，不小于 minSegmentSize）
+     * @param minSegmentSize 最小段大小（不小于 4，即一个完整的多字节序列）
+     */
+    protected MappedUtf8Reader(Path file, int segmentSize, int minSegmentSize) throws IOException {
+        if (minSegmentSize < 4) {
+            throw new IllegalArgumentException("minSegmentSize must be at least 4");
+        }
+
+        if (segmentSize < minSegmentSize) {
+            throw new IllegalArgumentException("segmentSize must be at least " + minSegmentSize);
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * 文件大小（字节）
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 从文件位置 start 开始映射一段
+     */
+    private boolean map(long start) throws IOException {
+        if (start >= size) {
+            segment = null;
+            segmentStart = size;
+            pos = 0;
+            limit = 0;
+            return false;
+        }
+
+        int len = (int) Math.min(segmentSize, size - start);
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, start, len);
+        segmentStart = start;
+        pos = 0;
+        limit = len;
+        return true;
+    }
+
+    /**
+     * 确保至少有 min 个可用字节（文件末尾时可能不足）
+     */
+    private boolean ensure(int min) throws IOException {
+        if (limit - pos >= min) {
+            return true;
+        }
+
+        if (segmentStart + limit >= size) {
+            return false;
+        }
+
+        map(segmentStart + pos);
+        return limit - pos >= min;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        if (closed) {
+            return -1;
+        }
+
+        if (started == false) {
+            started = true;
+            map(0);
+            skipBom();
+        }
+
+        final int end = off + len;
+        int n = off;
+
+        if (pendingLow != 0) {
+            cbuf[n++] = pendingLow;
+            pendingLow = 0;
+        }
+
+        while (n < end) {
+            if (pos >= limit && ensure(1) == false) {
+                break;
+            }
+
+            final MappedByteBuffer seg = segment;
+
+            // ASCII 快速路径
+            int stop = Math.min(limit, pos + (end - n));
+            while (pos < stop) {
+                byte b = seg.get(pos);
+                if (b < 0) {
+                    break;
+                }
+                cbuf[n++] = (char) b;
+                pos++;
+            }
+
+            if (n >= end || pos >= limit) {
+                continue;
+            }
+
+            // 多字节序列
+            int b0 = seg.get(pos) & 0xFF;
+            int need;
+            int cp;
+            if (b0 >= 0xC2 && b0 <= 0xDF) {
+                need = 2;
+                cp = b0 & 0x1F;
+            } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+                need = 3;
+                cp = b0 & 0x0F;
+            } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+                need = 4;
+                cp = b0 & 0x07;
+            } else {
+                //非法的起始字节
+                cbuf[n++] = REPLACEMENT_CHAR;
+                pos++;
+                continue;
+            }
+
+            if (limit - pos < need) {
+                //跨段（从起始字节重新映射）
+                ensure(need);
+            }
+
+            int i = 1;
+            for (; i < need && pos + i < limit; i++) {
+                int bx = segment.get(pos + i) & 0xFF;
+                if (bx < (i == 1 ? Utf8Reader.secondMin(b0) : 0x80) || bx > (i == 1 ? Utf8Reader.secondMax(b0) : 0xBF)) {
+                    break;
+                }
+                cp = (cp << 6) | (bx & 0x3F);
+            }
+
+            if (i < need) {
+                //截断或非法的序列（替换有效的最长前缀，之后的字节重新解码）
+                cbuf[n++] = REPLACEMENT_CHAR;
+                pos += i;
+                continue;
+            }
+
+            if (need == 3 && cp >= 0xD800 && cp <= 0xDFFF) {
+                //代理区（整个序列替换为一个，同 JDK）
+                cbuf[n++] = REPLACEMENT_CHAR;
+                pos += need;
+                continue;
+            }
+
+            pos += need;
+
+            if (cp < 0x10000) {
+                cbuf[n++] = (char) cp;
+            } else {
+                char high = Character.highSurrogate(cp);
+                char low = Character.lowSurrogate(cp);
+
+                cbuf[n++] = high;
+                if (n < end) {
+                    cbuf[n++] = low;
+                } else {
+                    pendingLow = low;
+                }
+            }
+        }
+
+        int count = n - off;
+        return count == 0 ? -1 : count;
+    }
+
+    private void skipBom() throws IOException {
+        if (ensure(3)
+                && segment.get(pos) == (byte) 0xEF
+                && segment.get(pos + 1) == (byte) 0xBB
+                && segment.get(pos + 2) == (byte) 0xBF) {
+            pos += 3;
+        }
+    }
+
+    /**
+     * 关闭（之后读取为结束；当前段的地址空间要等 GC 回收后才释放）
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed == false) {
+            closed = true;
+            segment = null;
+            pos = 0;
+            limit = 0;
+            pendingLow = 0;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+/**
+ * 键名片段（预先书写好的 `"alias":`，包括命名风格转换、转义、引号与冒号；不可变）
+ *
+ * <p>由 JsonWriter.encodeName 生成，按影响键名书写的特性值（FeaturePlan.Write_NameFeatures）区分，
+ * 书写时整段复制（字符书写器用 chars，UTF-8 书写器用 utf8）</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public final class NameFragment {
+    /**
+     * 影响键名书写的特性值
+     */
+    public final long features;
+    public final char[] chars;
+    public final byte[] utf8;
+
+    public NameFragment(long features, char[] chars, byte[] utf8) {
+        this.features = features;
+        this.chars = chars;
+        this.utf8 = utf8;
+    }
+}
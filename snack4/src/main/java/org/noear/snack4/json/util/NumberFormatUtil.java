@@ -0,0 +1,426 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+import java.math.BigInteger;
+
+/**
+ * 数字格式化工具（直接把数字书写到 char[]，不生成中间 String）
+ *
+ * <p>int、long 按两位一组查表书写。double 使用 Schubfach 最短往返算法（与 Java 19+ 的 Double.toString 相同），
+ * 输出格式与 Double.toString 一致。更早的 Java 中 Double.toString 并不总是最短的，
+ * 为了保持逐字节一致，此时只有整数值走快速路径（见 {@link #isShortestDoubleEnabled()}）</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class NumberFormatUtil {
+    /**
+     * 书写 int 需要的最大字符数
+     */
+    public static final int MAX_INT_CHARS = 11;
+    /**
+     * 书写 long 需要的最大字符数
+     */
+    public static final int MAX_LONG_CHARS = 20;
+    /**
+     * 书写 double 需要的最大字符数（如 -2.2250738585072014E-308）
+     */
+    public static final int MAX_DOUBLE_CHARS = 24;
+
+    private static final char[] DIGIT_TENS = new char[100];
+    private static final char[] DIGIT_ONES = new char[100];
+
+    private static final long[] POW10 = new long[19];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (char) ('0' + i / 10);
+            DIGIT_ONES[i] = (char) ('0' + i % 10);
+        }
+
+        long p = 1;
+        for (int i = 0; i < POW10.length; i++) {
+            POW10[i] = p;
+            p *= 10;
+        }
+    }
+
+    //运行时的 Double.toString 是否为最短算法（Java 19+）；1.0E23 在之前的版本中输出为 9.999999999999999E22
+    private static final boolean SHORTEST_DOUBLE = "1.0E23".equals(Double.toString(1.0E23));
+
+    /**
+     * 是否启用 double 最短往返算法（与运行时的 Double.toString 一致时）
+     */
+    public static boolean isShortestDoubleEnabled() {
+        return SHORTEST_DOUBLE;
+    }
+
+    /// ////////////
+
+    /**
+     * 书写 int
+     *
+     * @return 书写后的位置
+     */
+    public static int writeInt(int value, char[] buf, int pos) {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                return writeChars("-2147483648", buf, pos);
+            }
+
+            buf[pos++] = '-';
+            value = -value;
+        }
+
+        int end = pos + digitCount(value);
+        writeDigits(value, buf, end);
+        return end;
+    }
+
+    /**
+     * 书写 long
+     *
+     * @return 书写后的位置
+     */
+    public static int writeLong(long value, char[] buf, int pos) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                return writeChars("-9223372036854775808", buf, pos);
+            }
+
+            buf[pos++] = '-';
+            value = -value;
+        }
+
+        if (value <= Integer.MAX_VALUE) {
+            int end = pos + digitCount((int) value);
+            writeDigits((int) value, buf, end);
+            return end;
+        }
+
+        int end = pos + digitCount(value);
+        writeDigits(value, buf, end);
+        return end;
+    }
+
+    /**
+     * 书写 double（格式与 Double.toString 一致）
+     *
+     * @return 书写后的位置；不能快速书写时返回 -1（由调用方使用 Double.toString）
+     */
+    public static int writeDouble(double value, char[] buf, int pos) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+
+        if (bq == BQ_MASK) {
+            //NaN、Infinity
+            return -1;
+        }
+
+        if (bits < 0) {
+            buf[pos++] = '-';
+        }
+
+        if (bq != 0) {
+            //正规数
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+
+            //整数值（所有版本的 Double.toString 结果都相同）
+            if (0 < mq & mq < P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return writeDecimal(f, 0, buf, pos);
+                }
+            }
+
+            if (SHORTEST_DOUBLE == false) {
+                return -1;
+            }
+
+            return toDecimal(-mq, c, 0, buf, pos);
+        }
+
+        if (t != 0) {
+            //非正规数
+            if (SHORTEST_DOUBLE == false) {
+                return -1;
+            }
+
+            return t < C_TINY
+                    ? toDecimal(Q_MIN, 10 * t, -1, buf, pos)
+                    : toDecimal(Q_MIN, t, 0, buf, pos);
+        }
+
+        //0.0、-0.0
+        buf[pos++] = '0';
+        buf[pos++] = '.';
+        buf[pos++] = '0';
+        return pos;
+    }
+
+    /// ////////////
+    /// Schubfach（Raffaello Giulietti, "The Schubfach way to render doubles"）
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long C_TINY = 3;
+    private static final int BQ_MASK = 0x7FF;
+    private static final long T_MASK = (1L << (P - 1)) - 1;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final int H = 17;
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    private static int toDecimal(int q, long c, int dk, char[] buf, int pos) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+
+        int h = q + flog2pow10(-k) + 2;
+
+        long[] g = G.TABLE;
+        int gi = (k - K_MIN) << 1;
+        long g1 = g[gi];
+        long g0 = g[gi + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return writeDecimal(upin ? sp10 : tp10, k, buf, pos);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return writeDecimal(uin ? s : t, k + dk, buf, pos);
+        }
+
+        long cmp = vb - (s + t << 1);
+        return writeDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, pos);
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int flog10pow2(int q) {
+        return (int) (q * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int q) {
+        return (int) (q * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * 高 64 位乘积（Math.multiplyHigh 需要 Java 9+）
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * 10 的幂的 126 位近似值表（按需初始化）：10^-k = β·2^r（2^125 ≤ β < 2^126），g = ⌊β⌋ + 1，拆为高 63 位与低 63 位
+     */
+    private static class G {
+        static final long[] TABLE = build();
+
+        private static long[] build() {
+            long[] table = new long[(K_MAX - K_MIN + 1) << 1];
+            BigInteger mask63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+
+            for (int k = K_MIN; k <= K_MAX; k++) {
+                BigInteger beta;
+                if (k <= 0) {
+                    //10^-k 为整数
+                    BigInteger n = BigInteger.TEN.pow(-k);
+                    int shift = 126 - n.bitLength();
+                    beta = shift >= 0 ? n.shiftLeft(shift) : n.shiftRight(-shift);
+                } else {
+                    //10^-k = 1 / 10^k
+                    BigInteger d = BigInteger.TEN.pow(k);
+                    beta = BigInteger.ONE.shiftLeft(125 + d.bitLength()).divide(d);
+                }
+
+                BigInteger g = beta.add(BigInteger.ONE);
+                int i = (k - K_MIN) << 1;
+                table[i] = g.shiftRight(63).longValue();
+                table[i + 1] = g.and(mask63).longValue();
+            }
+
+            return table;
+        }
+    }
+
+    /// ////////////
+
+    /**
+     * 书写十进制数 f·10^e（f > 0，不超过 17 位），格式与 Double.toString 一致
+     */
+    private static int writeDecimal(long f, int e, char[] buf, int pos) {
+        //去掉末尾的 0
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+
+        int n = digitCount(f);
+        //科学计数的指数（d.ddd × 10^exp）
+        int exp = e + n - 1;
+
+        if (exp >= 0 && exp < 7) {
+            if (n <= exp + 1) {
+                //整数：ddd000.0
+                int end = pos + n;
+                writeDigits(f, buf, end);
+                pos = end;
+                for (int i = n; i <= exp; i++) {
+                    buf[pos++] = '0';
+                }
+                buf[pos++] = '.';
+                buf[pos++] = '0';
+                return pos;
+            } else {
+                //dd.ddd（先书写全部数字，再把小数部分后移一位）
+                int intLen = exp + 1;
+                int end = pos + n + 1;
+                writeDigits(f, buf, end);
+                System.arraycopy(buf, pos + 1, buf, pos, intLen);
+                buf[pos + intLen] = '.';
+                return end;
+            }
+        }
+
+        if (exp < 0 && exp >= -3) {
+            //0.00ddd
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            for (int i = -1; i > exp; i--) {
+                buf[pos++] = '0';
+            }
+            int end = pos + n;
+            writeDigits(f, buf, end);
+            return end;
+        }
+
+        //d.dddE±x
+        int end = pos + n + 1;
+        writeDigits(f, buf, end);
+        buf[pos] = buf[pos + 1];
+        buf[pos + 1] = '.';
+        if (n == 1) {
+            buf[end++] = '0';
+        }
+        buf[end++] = 'E';
+        return writeInt(exp, buf, end);
+    }
+
+    /**
+     * 从 end 向前书写 value 的数字（value >= 0）
+     */
+    private static void writeDigits(int value, char[] buf, int end) {
+        while (value >= 100) {
+            int q = value / 100;
+            int r = value - q * 100;
+            value = q;
+            buf[--end] = DIGIT_ONES[r];
+            buf[--end] = DIGIT_TENS[r];
+        }
+
+        if (value >= 10) {
+            buf[--end] = DIGIT_ONES[value];
+            buf[--end] = DIGIT_TENS[value];
+        } else {
+            buf[--end] = (char) ('0' + value);
+        }
+    }
+
+    private static void writeDigits(long value, char[] buf, int end) {
+        while (value > Integer.MAX_VALUE) {
+            long q = value / 100;
+            int r = (int) (value - q * 100);
+            value = q;
+            buf[--end] = DIGIT_ONES[r];
+            buf[--end] = DIGIT_TENS[r];
+        }
+
+        writeDigits((int) value, buf, end);
+    }
+
+    private static int digitCount(int value) {
+        int n = 1;
+        while (n < 10 && value >= POW10[n]) {
+            n++;
+        }
+        return n;
+    }
+
+    private static int digitCount(long value) {
+        int n = 1;
+        while (n < 19 && value >= POW10[n]) {
+            n++;
+        }
+        return n;
+    }
+
+    private static int writeChars(String str, char[] buf, int pos) {
+        str.getChars(0, str.length(), buf, pos);
+        return pos + str.length();
+    }
+}
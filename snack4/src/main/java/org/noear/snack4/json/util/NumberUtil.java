@@ -0,0 +1,206 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+import java.math.BigInteger;
+
+/**
+ * 数字工具
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class NumberUtil {
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private static final int MIN_POW10 = -342;
+    private static final int MAX_POW10 = 308;
+
+    /**
+     * 由十进制尾数和指数构建 double（正确舍入，与 Double.parseDouble 结果一致）
+     *
+     * <p>先走 Clinger 快速路径（精确的尾数与 10 的幂），再走 Eisel-Lemire 算法。
+     * 少数无法确定舍入方向（或次正规数）的情况返回 NaN，由调用方回退到 Double.parseDouble</p>
+     *
+     * @param negative 是否为负数
+     * @param mantissa 十进制尾数（按无符号处理，最多 19 位数字）
+     * @param exp10    十进制指数
+     * @return 结果；无法确定时返回 NaN
+     */
+    public static double toDouble(boolean negative, long mantissa, int exp10) {
+        if (mantissa == 0 || exp10 < MIN_POW10) {
+            return negative ? -0.0D : 0.0D;
+        }
+
+        if (exp10 > MAX_POW10) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        // Clinger 快速路径（尾数和 10 的幂都可以精确表示）
+        if (exp10 >= -22 && exp10 <= 22 && mantissa > 0 && mantissa <= (1L << 53)) {
+            double d = (double) mantissa;
+            if (exp10 < 0) {
+                d = d / POW10[-exp10];
+            } else {
+                d = d * POW10[exp10];
+            }
+
+            return negative ? -d : d;
+        }
+
+        long bits = eiselLemire(mantissa, exp10);
+        if (bits < 0) {
+            return Double.NaN;
+        }
+
+        double d = Double.longBitsToDouble(bits);
+        return negative ? -d : d;
+    }
+
+    /**
+     * Eisel-Lemire 算法
+     *
+     * @return double 的位（正数）；无法确定时返回 -1
+     */
+    private static long eiselLemire(long w, int q) {
+        final int idx = q - MIN_POW10;
+        final long factorHi = Pow5.HI[idx];
+
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        long lower = w * factorHi;
+        long upper = multiplyHigh(w, factorHi);
+
+        if ((upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + w, lower) < 0) {
+            //截断的误差可能影响结果，再乘上低 64 位
+            long factorLo = Pow5.LO[idx];
+            long productLow = w * factorLo;
+            long productMiddle = lower + multiplyHigh(w, factorLo);
+            long productHigh = upper;
+
+            if (Long.compareUnsigned(productMiddle, lower) < 0) {
+                productHigh++;
+            }
+
+            if (productMiddle + 1 == 0
+                    && (productHigh & 0x1FF) == 0x1FF
+                    && Long.compareUnsigned(productLow + w, productLow) < 0) {
+                return -1;
+            }
+
+            upper = productHigh;
+            lower = productMiddle;
+        }
+
+        int upperBit = (int) (upper >>> 63);
+        long mantissa = upper >>> (upperBit + 9);
+        lz += 1 ^ upperBit;
+
+        //正好在两个 double 中间（需要按偶数舍入，交给回退处理）
+        if (lower == 0 && (upper & 0x1FF) == 0 && (mantissa & 3) == 1) {
+            return -1;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+
+        if (mantissa >= (1L << 53)) {
+            mantissa = (1L << 52);
+            lz--;
+        }
+
+        mantissa &= ~(1L << 52);
+
+        //floor(q * log2(10)) + 1024 + 63
+        long exponent = ((217706L * q) >> 16) + 1024 + 63;
+        long realExponent = exponent - lz;
+
+        if (realExponent < 1 || realExponent > 2046) {
+            return -1;
+        }
+
+        return mantissa | (realExponent << 52);
+    }
+
+    /**
+     * 无符号 64 位乘法的高 64 位
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+
+        long p00 = x0 * y0;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long p11 = x1 * y1;
+
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return p11 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    /**
+     * 5 的幂（128 位截断近似值，首次使用时计算）
+     */
+    private static class Pow5 {
+        static final long[] HI = new long[MAX_POW10 - MIN_POW10 + 1];
+        static final long[] LO = new long[MAX_POW10 - MIN_POW10 + 1];
+
+        static {
+            BigInteger five = BigInteger.valueOf(5);
+
+            BigInteger p5 = BigInteger.ONE;
+            for (int q = 0; q <= MAX_POW10; q++) {
+                int bits = p5.bitLength();
+                if (bits <= 128) {
+                    set(q, p5.shiftLeft(128 - bits));
+                } else {
+                    set(q, p5.shiftRight(bits - 128));
+                }
+
+                p5 = p5.multiply(five);
+            }
+
+            p5 = BigInteger.ONE;
+            for (int q = -1; q >= MIN_POW10; q--) {
+                p5 = p5.multiply(five);
+                int z = p5.bitLength();
+
+                BigInteger c;
+                if (q >= -27) {
+                    c = BigInteger.ONE.shiftLeft(z + 127).divide(p5).add(BigInteger.ONE);
+                } else {
+                    c = BigInteger.ONE.shiftLeft(2 * z + 128).divide(p5).add(BigInteger.ONE);
+                    int bits = c.bitLength();
+                    if (bits > 128) {
+                        c = c.shiftRight(bits - 128);
+                    }
+                }
+
+                set(q, c);
+            }
+        }
+
+        private static void set(int q, BigInteger c) {
+            HI[q - MIN_POW10] = c.shiftRight(64).longValue();
+            LO[q - MIN_POW10] = c.longValue();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * UTF-8 字节读取器（非线程安全）
+ *
+ * <p>直接把 UTF-8 字节解码进调用方的 char 缓冲区：ASCII 走单字节快速路径，只有多字节序列才做解码。
+ * 用于替代 InputStreamReader（不经过 CharsetDecoder，也没有额外的中间 char 缓冲）</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class Utf8Reader extends Reader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+    private static final byte[] EMPTY = new byte[0];
+
+    private final InputStream in;
+    private byte[] buf;
+    //缓冲池（close 时归还缓冲）
+    private BufferPool pool;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean started;
+    private boolean skipBom = true;
+    //代理对的低位（输出缓冲区只剩一个位置时暂存）
+    private char pendingLow;
+
+    /**
+     * 基于字节数组（直接在原数组上解码，不复制）
+     */
+    public Utf8Reader(byte[] bytes, int offset, int length) {
+        this(bytes, offset, length, true);
+    }
+
+    /**
+     * 基于字节数组（直接在原数组上解码，不复制）
+     *
+     * @param skipBom 是否跳过开头的 BOM（从输入中间开始解码时应为 false）
+     * @since 4.0.54
+     */
+    public Utf8Reader(byte[] bytes, int offset, int length, boolean skipBom) {
+        Objects.requireNonNull(bytes, "bytes");
+
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", size=" + bytes.length);
+        }
+
+        this.in = null;
+        this.buf = bytes;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.eof = true;
+        this.skipBom = skipBom;
+    }
+
+    /**
+     * 基于输入流
+     */
+    public Utf8Reader(InputStream in) {
+        Objects.requireNonNull(in, "in");
+
+        this.in = in;
+        this.buf = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * 基于输入流（从缓冲池借用缓冲，close 时归还）
+     *
+     * @since 4.0.54
+     */
+    public Utf8Reader(InputStream in, BufferPool pool) {
+        Objects.requireNonNull(in, "in");
+
+        byte[] pooled = pool.borrowBytes();
+        this.in = in;
+        this.buf = (pooled == null ? new byte[BUFFER_SIZE] : pooled);
+        this.pool = pool;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        if (started == false) {
+            started = true;
+            fill(3);
+            if (skipBom) {
+                skipBom();
+            }
+        }
+
+        final int end = off + len;
+        int n = off;
+
+        if (pendingLow != 0) {
+            cbuf[n++] = pendingLow;
+            pendingLow = 0;
+        }
+
+        while (n < end) {
+            if (pos >= limit && fill(1) == false) {
+                break;
+            }
+
+            // ASCII 快速路径
+            int stop = Math.min(limit, pos + (end - n));
+            while (pos < stop) {
+                byte b = buf[pos];
+                if (b < 0) {
+                    break;
+                }
+                cbuf[n++] = (char) b;
+                pos++;
+            }
+
+            if (n >= end || pos >= limit) {
+                continue;
+            }
+
+            // 多字节序列
+            int b0 = buf[pos] & 0xFF;
+            int need;
+            int cp;
+            if (b0 >= 0xC2 && b0 <= 0xDF) {
+                need = 2;
+                cp = b0 & 0x1F;
+            } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+                need = 3;
+                cp = b0 & 0x0F;
+            } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+                need = 4;
+                cp = b0 & 0x07;
+            } else {
+                //非法的起始字节
+                cbuf[n++] = REPLACEMENT_CHAR;
+                pos++;
+                continue;
+            }
+
+            if (limit - pos < need) {
+                fill(need);
+            }
+
+            int i = 1;
+            for (; i < need && pos + i < limit; i++) {
+                int bx = buf[pos + i] & 0xFF;
+                if (bx < (i == 1 ? secondMin(b0) : 0x80) || bx > (i == 1 ? secondMax(b0) : 0xBF)) {
+                    break;
+                }
+                cp = (cp << 6) | (bx & 0x3F);
+            }
+
+            if (i < need) {
+                //截断或非法的序列（替换有效的最长前缀，之后的字节重新解码）
+                cbuf[n++] = REPLACEMENT_CHAR;
+                pos += i;
+                continue;
+            }
+
+            if (need == 3 && cp >= 0xD800 && cp <= 0xDFFF) {
+                //代理区（整个序列替换为一个，同 JDK）
+                cbuf[n++] = REPLACEMENT_CHAR;
+                pos += need;
+                continue;
+            }
+
+            pos += need;
+
+            if (cp < 0x10000) {
+                cbuf[n++] = (char) cp;
+            } else {
+                char high = Character.highSurrogate(cp);
+                char low = Character.lowSurrogate(cp);
+
+                cbuf[n++] = high;
+                if (n < end) {
+                    cbuf[n++] = low;
+                } else {
+                    pendingLow = low;
+                }
+            }
+        }
+
+        int count = n - off;
+        return count == 0 ? -1 : count;
+    }
+
+    /**
+     * 第二个字节的下限（按起始字节排除超长编码；与 JDK 解码器一致，非法时按"最长有效前缀"替换）
+     */
+    static int secondMin(int b0) {
+        return b0 == 0xE0 ? 0xA0 : (b0 == 0xF0 ? 0x90 : 0x80);
+    }
+
+    /**
+     * 第二个字节的上限（按起始字节排除超出 U+10FFFF 的码点；代理区由调用方整体替换，同 JDK）
+     */
+    static int secondMax(int b0) {
+        return b0 == 0xF4 ? 0x8F : 0xBF;
+    }
+
+    /**
+     * 确保至少有 min 个可用字节（流末尾时可能不足）
+     */
+    private boolean fill(int min) throws IOException {
+        if (eof) {
+            return limit - pos >= min;
+        }
+
+        // 压缩未处理的字节
+        int remaining = limit - pos;
+        if (remaining > 0 && pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, remaining);
+        }
+        pos = 0;
+        limit = remaining;
+
+        while (limit < min) {
+            int len = in.read(buf, limit, buf.length - limit);
+            if (len < 0) {
+                eof = true;
+                break;
+            }
+            limit += len;
+        }
+
+        return limit - pos >= min;
+    }
+
+    private void skipBom() {
+        if (limit - pos >= 3
+                && buf[pos] == (byte) 0xEF
+                && buf[pos + 1] == (byte) 0xBB
+                && buf[pos + 2] == (byte) 0xBF) {
+            pos += 3;
+        }
+    }
+
+    /**
+     * 关闭（有缓冲池时归还缓冲，之后读取为结束）
+     */
+    @Override
+    public void close() throws IOException {
+        if (pool != null) {
+            BufferPool tmp = pool;
+            pool = null;
+            tmp.releaseBytes(buf);
+            buf = EMPTY;
+            pos = 0;
+            limit = 0;
+            eof = true;
+            started = true;
+            pendingLow = 0;
+        }
+
+        if (in != null) {
+            in.close();
+        }
+    }
+}
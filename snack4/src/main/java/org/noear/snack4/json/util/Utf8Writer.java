@@ -0,0 +1,376 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * UTF-8 字节书写器（非同步，非线程安全）
+ *
+ * <p>直接把字符编码为 UTF-8 字节，写入可复用的 byte[] 缓冲，满了再输出到目标（OutputStream、WritableByteChannel 或 ByteBuffer）。
+ * 不经过中间 String 和 CharsetEncoder，内存占用以缓冲大小为界。ASCII 走单字节快速路径；
+ * 孤立的代理字符输出为 '?'（与 String.getBytes(UTF_8) 一致）</p>
+ *
+ * <p>flush 只把缓冲输出到目标；close 不关闭目标（由调用方管理）</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class Utf8Writer extends Writer {
+    private static final int BUFFER_SIZE = 8192;
+    //最长的单个字符编码（代理对）
+    private static final int MAX_CHAR_BYTES = 4;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final OutputStream out;
+    private final WritableByteChannel channel;
+    private final ByteBuffer target;
+
+    private byte[] buf;
+    private final ByteBuffer bufWrapper;
+    //缓冲池（close 时归还缓冲）
+    private BufferPool pool;
+    private int count;
+    //代理对的高位（等待低位）
+    private char pendingHigh;
+
+    /**
+     * 基于输出流
+     */
+    public Utf8Writer(OutputStream out) {
+        this(Objects.requireNonNull(out, "out"), null, null, new byte[BUFFER_SIZE]);
+    }
+
+    /**
+     * 基于输出流（使用调用方提供的缓冲，便于复用）
+     */
+    public Utf8Writer(OutputStream out, byte[] buffer) {
+        this(Objects.requireNonNull(out, "out"), null, null, buffer);
+    }
+
+    /**
+     * 基于输出流（从缓冲池借用缓冲，close 时归还）
+     *
+     * @since 4.0.54
+     */
+    public Utf8Writer(OutputStream out, BufferPool pool) {
+        this(Objects.requireNonNull(out, "out"), null, null, borrow(pool));
+        this.pool = pool;
+    }
+
+    /**
+     * 基于字节通道
+     */
+    public Utf8Writer(WritableByteChannel channel) {
+        this(null, Objects.requireNonNull(channel, "channel"), null, new byte[BUFFER_SIZE]);
+    }
+
+    /**
+     * 基于字节通道（从缓冲池借用缓冲，close 时归还）
+     *
+     * @since 4.0.54
+     */
+    public Utf8Writer(WritableByteChannel channel, BufferPool pool) {
+        this(null, Objects.requireNonNull(channel, "channel"), null, borrow(pool));
+        this.pool = pool;
+    }
+
+    /**
+     * 基于字节缓冲（空间不足时，flush 会抛出 BufferOverflowException）
+     */
+    public Utf8Writer(ByteBuffer target) {
+        this(null, null, Objects.requireNonNull(target, "target"), new byte[BUFFER_SIZE]);
+    }
+
+    /**
+     * 基于字节缓冲（从缓冲池借用缓冲，close 时归还）
+     *
+     * @since 4.0.54
+     */
+    public Utf8Writer(ByteBuffer target, BufferPool pool) {
+        this(null, null, Objects.requireNonNull(target, "target"), borrow(pool));
+        this.pool = pool;
+    }
+
+    private static byte[] borrow(BufferPool pool) {
+        byte[] pooled = pool.borrowBytes();
+        return pooled == null ? new byte[BUFFER_SIZE] : pooled;
+    }
+
+    private Utf8Writer(OutputStream out, WritableByteChannel channel, ByteBuffer target, byte[] buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+
+        if (buffer.length < MAX_CHAR_BYTES) {
+            throw new IllegalArgumentException("The buffer is too small: " + buffer.length);
+        }
+
+        this.out = out;
+        this.channel = channel;
+        this.target = target;
+        this.buf = buffer;
+        this.bufWrapper = (channel == null ? null : ByteBuffer.wrap(buffer));
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (count > buf.length - MAX_CHAR_BYTES) {
+            flushBuffer();
+        }
+
+        writeChar((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf) throws IOException {
+        write(cbuf, 0, cbuf.length);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        final byte[] buf = this.buf;
+        final int end = off + len;
+        final int safeLimit = buf.length - MAX_CHAR_BYTES;
+
+        while (off < end) {
+            if (count > safeLimit) {
+                flushBuffer();
+            }
+
+            //ASCII 快速路径（直到缓冲将满或遇到非 ASCII）
+            if (pendingHigh == 0) {
+                int n = Math.min(end - off, buf.length - count);
+                int stop = off + n;
+                int i = off;
+                while (i < stop) {
+                    char c = cbuf[i];
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buf[count++] = (byte) c;
+                    i++;
+                }
+
+                off = i;
+                if (off == end) {
+                    break;
+                }
+
+                if (count > safeLimit) {
+                    continue;
+                }
+            }
+
+            writeChar(cbuf[off++]);
+        }
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        final byte[] buf = this.buf;
+        final int end = off + len;
+        final int safeLimit = buf.length - MAX_CHAR_BYTES;
+
+        while (off < end) {
+            if (count > safeLimit) {
+                flushBuffer();
+            }
+
+            //ASCII 快速路径（直到缓冲将满或遇到非 ASCII）
+            if (pendingHigh == 0) {
+                int n = Math.min(end - off, buf.length - count);
+                int stop = off + n;
+                int i = off;
+                while (i < stop) {
+                    char c = str.charAt(i);
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buf[count++] = (byte) c;
+                    i++;
+                }
+
+                off = i;
+                if (off == end) {
+                    break;
+                }
+
+                if (count > safeLimit) {
+                    continue;
+                }
+            }
+
+            writeChar(str.charAt(off++));
+        }
+    }
+
+    /**
+     * 书写已编码的 UTF-8 字节（如预先编码的键名片段）
+     *
+     * @since 4.0.54
+     */
+    public void writeBytes(byte[] bytes, int off, int len) throws IOException {
+        if (pendingHigh != 0) {
+            //之前孤立的高位
+            pendingHigh = 0;
+            if (count > buf.length - MAX_CHAR_BYTES) {
+                flushBuffer();
+            }
+            buf[count++] = '?';
+        }
+
+        while (len > 0) {
+            if (count == buf.length) {
+                flushBuffer();
+            }
+
+            int n = Math.min(len, buf.length - count);
+            System.arraycopy(bytes, off, buf, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public Utf8Writer append(CharSequence csq) throws IOException {
+        String str = String.valueOf(csq);
+        write(str, 0, str.length());
+        return this;
+    }
+
+    @Override
+    public Utf8Writer append(CharSequence csq, int start, int end) throws IOException {
+        if (csq == null) {
+            csq = "null";
+        }
+
+        write(csq.subSequence(start, end).toString());
+        return this;
+    }
+
+    @Override
+    public Utf8Writer append(char c) throws IOException {
+        write(c);
+        return this;
+    }
+
+    /**
+     * 编码单个字符（调用前需确保缓冲至少剩余 MAX_CHAR_BYTES）
+     */
+    private void writeChar(char c) {
+        final byte[] buf = this.buf;
+
+        if (pendingHigh != 0) {
+            char high = pendingHigh;
+            pendingHigh = 0;
+
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                buf[count++] = (byte) (0xF0 | (cp >> 18));
+                buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (cp & 0x3F));
+                return;
+            } else {
+                //孤立的高位（之后的当前字符最多 3 个字节，空间足够）
+                buf[count++] = '?';
+            }
+        }
+
+        if (c < 0x80) {
+            buf[count++] = (byte) c;
+        } else if (c < 0x800) {
+            buf[count++] = (byte) (0xC0 | (c >> 6));
+            buf[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHigh = c;
+        } else if (Character.isLowSurrogate(c)) {
+            //孤立的低位
+            buf[count++] = '?';
+        } else {
+            buf[count++] = (byte) (0xE0 | (c >> 12));
+            buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buf[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    /**
+     * 把缓冲输出到目标
+     */
+    private void flushBuffer() throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        if (out != null) {
+            out.write(buf, 0, count);
+        } else if (channel != null) {
+            bufWrapper.clear().limit(count);
+            while (bufWrapper.hasRemaining()) {
+                channel.write(bufWrapper);
+            }
+        } else {
+            target.put(buf, 0, count);
+        }
+
+        count = 0;
+    }
+
+    /**
+     * 输出缓冲（包括末尾孤立的高位代理）到目标；输出流也会刷新
+     */
+    @Override
+    public void flush() throws IOException {
+        if (pendingHigh != 0) {
+            pendingHigh = 0;
+            if (count > buf.length - MAX_CHAR_BYTES) {
+                flushBuffer();
+            }
+            buf[count++] = '?';
+        }
+
+        flushBuffer();
+
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * 输出剩余内容（不关闭目标）；有缓冲池时归还缓冲，之后不能再使用
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+
+        if (pool != null) {
+            BufferPool tmp = pool;
+            pool = null;
+            tmp.releaseBytes(buf);
+            buf = EMPTY;
+        }
+    }
+}
@@ -0,0 +1,521 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.util;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * 紧凑映射（按插入顺序；ONode 对象的默认存放，替代 LinkedHashMap）
+ *
+ * <p>键、值分别放在两个并行数组里，没有 Entry 对象。键不多时（不超过 LINEAR_LIMIT）线性查找
+ * （键名表复用的 String 实例多数可以直接 == 命中）；超过后再建一个开放寻址的位置索引。
+ * 删除时后面的元素前移（保持顺序），JSON 对象里很少删除。非线程安全</p>
+ *
+ * <p>键数组（及索引）可以作为形状（Shape）在多个映射间共享（类似 V8 的隐藏类）：同一数组里结构相同的对象，
+ * 只各自持有值数组。共享时按形状的键顺序依次放入不需要复制；放入其它键或删除时，才复制出自己的键数组</p>
+ *
+ * @author noear 2026/10/17 created
+ * @since 4.0.54
+ */
+public class CompactMap<K, V> extends AbstractMap<K, V> {
+    //线性查找的最大键数（超过后建索引）
+    private static final int LINEAR_LIMIT = 8;
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] keys;
+    private Object[] vals;
+    private int size;
+    //位置索引（槽位存放 位置+1，0 为空；键多时才有）
+    private int[] index;
+    //键数组、索引是否为共享的形状
+    private Shape shape;
+    private int modCount;
+
+    private transient Set<Entry<K, V>> entrySet;
+
+    public CompactMap() {
+        this.keys = EMPTY;
+        this.vals = EMPTY;
+    }
+
+    public CompactMap(int initialCapacity) {
+        this.keys = initialCapacity > 0 ? new Object[initialCapacity] : EMPTY;
+        this.vals = initialCapacity > 0 ? new Object[initialCapacity] : EMPTY;
+    }
+
+    public CompactMap(Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 查找键的位置（get、containsKey 等，即 ONode.get(String)，都经由这里；共享形状时用的是形状预先建好的索引）
+     *
+     * @return 没有时返回 -1
+     */
+    private int indexOf(Object key) {
+        final Object[] keys = this.keys;
+        final int size = this.size;
+
+        if (index == null || size <= LINEAR_LIMIT) {
+            //先按引用比较（键名表复用的实例）
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+
+            if (key != null) {
+                for (int i = 0; i < size; i++) {
+                    if (key.equals(keys[i])) {
+                        return i;
+                    }
+                }
+            }
+
+            return -1;
+        }
+
+        //共享形状时，位置可能超出自己的大小（形状的键唯一，即不存在）
+        int i = probe(index, keys, key);
+        return i < size ? i : -1;
+    }
+
+    /**
+     * 在位置索引里查找键
+     *
+     * @return 没有时返回 -1
+     */
+    private static int probe(int[] index, Object[] keys, Object key) {
+        final int mask = index.length - 1;
+        int slot = hash(key) & mask;
+        while (true) {
+            int p = index[slot];
+            if (p == 0) {
+                return -1;
+            }
+
+            Object k = keys[p - 1];
+            if (k == key || (key != null && key.equals(k))) {
+                return p - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(value, vals[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        int i = indexOf(key);
+        return i < 0 ? null : (V) vals[i];
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int i = indexOf(key);
+        return i < 0 ? defaultValue : (V) vals[i];
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (shape != null && size < keys.length) {
+            //按形状的键顺序放入（形状的键唯一，前面不会有相同的键）
+            Object k = keys[size];
+            if (k == key || (key != null && key.equals(k))) {
+                vals[size++] = value;
+                modCount++;
+                return null;
+            }
+        }
+
+        int i = indexOf(key);
+        if (i >= 0) {
+            V old = (V) vals[i];
+            vals[i] = value;
+            return old;
+        }
+
+        append(key, value);
+        return null;
+    }
+
+    private void append(Object key, Object value) {
+        if (shape != null) {
+            detach();
+        }
+
+        if (size == vals.length) {
+            int newCapacity = size < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : size + (size >> 1);
+            keys = Arrays.copyOf(keys, newCapacity);
+            vals = Arrays.copyOf(vals, newCapacity);
+        }
+
+        keys[size] = key;
+        vals[size] = value;
+        size++;
+        modCount++;
+
+        if (index != null) {
+            if (size * 2 > index.length) {
+                rebuildIndex();
+            } else {
+                addIndex(index, key, size - 1);
+            }
+        } else if (size > LINEAR_LIMIT) {
+            rebuildIndex();
+        }
+    }
+
+    private static void addIndex(int[] index, Object key, int pos) {
+        final int mask = index.length - 1;
+        int slot = hash(key) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = pos + 1;
+    }
+
+    private static int[] buildIndex(Object[] keys, int size) {
+        if (size <= LINEAR_LIMIT) {
+            return null;
+        }
+
+        int cap = 16;
+        while (cap < size * 3) {
+            cap <<= 1;
+        }
+
+        int[] index = new int[cap];
+        for (int i = 0; i < size; i++) {
+            addIndex(index, keys[i], i);
+        }
+        return index;
+    }
+
+    private void rebuildIndex() {
+        index = buildIndex(keys, size);
+    }
+
+    @Override
+    public V remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+
+        V old = (V) vals[i];
+        removeAt(i);
+        return old;
+    }
+
+    private void removeAt(int i) {
+        if (shape != null) {
+            detach();
+        }
+
+        int moved = size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, i + 1, keys, i, moved);
+            System.arraycopy(vals, i + 1, vals, i, moved);
+        }
+
+        size--;
+        keys[size] = null;
+        vals[size] = null;
+        modCount++;
+
+        if (index != null) {
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (shape != null) {
+            keys = EMPTY;
+            vals = EMPTY;
+            index = null;
+            shape = null;
+            size = 0;
+            modCount++;
+        } else if (size > 0) {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(vals, 0, size, null);
+            size = 0;
+            index = null;
+            modCount++;
+        }
+    }
+
+    /**
+     * 脱离共享的形状（复制出自己的键数组与索引）
+     */
+    private void detach() {
+        Object[] tmp = new Object[vals.length];
+        System.arraycopy(keys, 0, tmp, 0, size);
+        keys = tmp;
+        shape = null;
+        rebuildIndex();
+    }
+
+    /**
+     * 使用形状（仅限空映射；之后按形状的键顺序放入时共享键数组）
+     */
+    public void useShape(Shape shape) {
+        if (size > 0) {
+            throw new IllegalStateException("The map is not empty");
+        }
+
+        this.keys = shape.keys;
+        this.vals = new Object[shape.keys.length];
+        this.index = shape.index;
+        this.shape = shape;
+    }
+
+    /**
+     * 当前共享的形状
+     *
+     * @return 没有共享时返回 null
+     */
+    public Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * 转为形状（没有共享时，以当前的键建立形状并共享；供后续结构相同的映射使用）
+     */
+    public Shape toShape() {
+        if (shape == null) {
+            Object[] tmp = (keys.length == size) ? keys : Arrays.copyOf(keys, size);
+            shape = new Shape(tmp);
+            keys = tmp;
+            index = shape.index;
+        }
+
+        return shape;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        final int expected = modCount;
+        for (int i = 0; i < size; i++) {
+            action.accept((K) keys[i], (V) vals[i]);
+
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> es = entrySet;
+        if (es == null) {
+            es = entrySet = new EntrySet();
+        }
+        return es;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private int cursor;
+        private int last = -1;
+        private int expected = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+
+            last = cursor++;
+            return new Node(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+
+            removeAt(last);
+            cursor = last;
+            last = -1;
+            expected = modCount;
+        }
+    }
+
+    /**
+     * 形状（键数组及其索引，不可变；可在多个映射间共享）
+     */
+    public static final class Shape {
+        private final Object[] keys;
+        private final int[] index;
+
+        private Shape(Object[] keys) {
+            this.keys = keys;
+            this.index = buildIndex(keys, keys.length);
+        }
+
+        /**
+         * 键数
+         */
+        public int size() {
+            return keys.length;
+        }
+
+        /**
+         * 获取键
+         */
+        public Object keyAt(int i) {
+            return keys[i];
+        }
+
+        /**
+         * 查找键的位置（键多时用预先建好的索引）
+         *
+         * @return 没有时返回 -1
+         */
+        public int indexOf(Object key) {
+            if (index == null) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (Objects.equals(key, keys[i])) {
+                        return i;
+                    }
+                }
+
+                return -1;
+            }
+
+            return probe(index, keys, key);
+        }
+    }
+
+    /**
+     * 条目（按位置读写；迭代时创建）
+     */
+    private final class Node implements Entry<K, V> {
+        private final int pos;
+        private final K key;
+
+        Node(int pos) {
+            this.pos = pos;
+            this.key = (K) keys[pos];
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return (V) vals[pos];
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = (V) vals[pos];
+            vals[pos] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof Entry == false) {
+                return false;
+            }
+
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}